@@ -7,7 +7,7 @@ import com.devision.job_manager_auth.entity.AuthProvider;
 import com.devision.job_manager_auth.repository.CompanyAccountRepository;
 import com.devision.job_manager_auth.service.internal.AuthenticationService;
 import com.devision.job_manager_auth.service.internal.SsoRegistrationCacheService;
-import com.devision.job_manager_auth.service.internal.impl.ShardDirectQueryService;
+import com.devision.job_manager_auth.service.internal.impl.ShardRoutingIndexService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -29,7 +29,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     private final SsoRegistrationCacheService ssoRegistrationCacheService;
     private final CompanyAccountRepository companyAccountRepository;
     private final AuthenticationService authenticationService;
-    private final ShardDirectQueryService shardDirectQueryService;
+    private final ShardRoutingIndexService shardRoutingIndexService;
 
     @Value("${app.frontend-url:http://localhost:5173}")
     private String frontendUrl;
@@ -46,8 +46,8 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
         log.info("OAuth2 authentication successful for email: {}", email);
 
-        // Check if user already exists with this SSO provider across all shards
-        boolean existingUser = shardDirectQueryService.ssoProviderIdExistsInAnyShard(AuthProvider.GOOGLE, ssoProviderId);
+        // Check if user already exists with this SSO provider (routing index, scatter-gather on a miss)
+        boolean existingUser = shardRoutingIndexService.ssoProviderIdExists(AuthProvider.GOOGLE, ssoProviderId);
 
         if (existingUser) {
             // Log the user in
@@ -59,11 +59,16 @@ public class SecurityConfig {
                                 "/api/auth/refresh",
                                 "/api/auth/complete",
                                 "/api/auth/diagnostics/**",
+                                // Gateway only: the controller checks the X-Service-Token shared secret
+                                "/api/auth/validate-tokens",
 
                                 // External endpoints
                                 "/api/external/**"
                         ).permitAll()
 
+                        // Shard maintenance (rebalancing, shard map reload) is restricted to admins
+                        .requestMatchers("/api/auth/admin/**", "/actuator/refresh").hasAuthority("ADMIN")
+
                         // Requiring authentication endpoints:
                         .anyRequest().authenticated()
 
@@ -0,0 +1,56 @@
+package com.devision.job_manager_auth.config.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A JWE token that has already been decrypted and checked for expiry.
+ * Carries the claims through revocation, session and type checks so the token is decrypted only once per request.
+ */
+@Getter
+@AllArgsConstructor
+public class ParsedToken {
+
+    /**
+     * Request attribute under which the filter stores the parsed bearer token for later use in the same request
+     */
+    public static final String REQUEST_ATTRIBUTE = ParsedToken.class.getName();
+
+    private final String tokenId;
+    private final String tokenType;
+    private final UUID userId;
+    private final String email;
+    private final String role;
+    private final String countryCode;
+    private final Date expirationTime;
+    private final JWTClaimsSet claims;
+
+    public boolean isAccessToken() {
+        return "ACCESS".equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return "REFRESH".equals(tokenType);
+    }
+
+    /**
+     * @return milliseconds until the token expires (negative once expired)
+     */
+    public long getRemainingMillis() {
+        return expirationTime.getTime() - System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedToken{" +
+                "tokenId='" + tokenId + '\'' +
+                ", tokenType='" + tokenType + '\'' +
+                ", userId=" + userId +
+                ", expirationTime=" + expirationTime +
+                '}';
+    }
+}
@@ -3,8 +3,18 @@ package com.devision.job_manager_auth.config.sharding;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
 /*
  * telling the database layer which shard to query
+ *
+ * The shard is bound for a lexical scope: open(...) returns a Scope that restores the previous binding when
+ * closed, so nested scopes never wipe the caller's shard and nothing outlives the try block on pooled or
+ * virtual threads. Work handed to another thread must be wrapped with wrap(...) to carry the binding over.
+ *
+ * This mirrors ScopedValue.where(...).call(...), which is still a preview API on Java 21;
+ * the ThreadLocal stays an implementation detail of this class.
  * */
 @Slf4j
 public class ShardContext {
@@ -13,9 +23,51 @@ public class ShardContext {
     // Define the default shard for fallback
     public static final String DEFAULT_SHARD = "auth_shard_others";
 
-    public static void setShardKey(String shardKey) {
+    private ShardContext() {
+    }
+
+    /**
+     * Bind the shard until the returned scope is closed; use with try-with-resources
+     */
+    public static Scope open(String shardKey) {
+        String previous = currentShard.get();
         log.debug("Setting shard context to: {}", shardKey);
-        currentShard.set(shardKey);
+        if (shardKey == null) {
+            currentShard.remove();
+        } else {
+            currentShard.set(shardKey);
+        }
+        return new Scope(Thread.currentThread(), previous);
+    }
+
+    public static <T> T callInShard(String shardKey, Supplier<T> action) {
+        try (Scope ignored = open(shardKey)) {
+            return action.get();
+        }
+    }
+
+    public static void runInShard(String shardKey, Runnable action) {
+        try (Scope ignored = open(shardKey)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Capture the caller's shard binding for a task that will run on another thread.
+     * The task runs with exactly that binding (none if the caller had none), whatever the worker thread held before.
+     */
+    public static Runnable wrap(Runnable task) {
+        String captured = currentShard.get();
+        return () -> runInShard(captured, task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        String captured = currentShard.get();
+        return () -> {
+            try (Scope ignored = open(captured)) {
+                return task.call();
+            }
+        };
     }
 
     public static String getShardKey() {
@@ -27,15 +79,6 @@ public class ShardContext {
         return shard;
     }
 
-    /**
-     * Clear the shard context for this thread.
-     * Should be called after request processing is complete to prevent memory leaks.
-     */
-    public static void clear() {
-        log.debug("Clearing shard context");
-        currentShard.remove();
-    }
-
     /**
      *
      * @return true if a shard has been set, false otherwise
@@ -43,4 +86,36 @@ public class ShardContext {
     public static boolean isSet() {
         return currentShard.get() != null;
     }
+
+    /**
+     * Restores the binding that was active when the scope was opened
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Thread owner;
+        private final String previous;
+        private boolean closed;
+
+        private Scope(Thread owner, String previous) {
+            this.owner = owner;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("Shard scope must be closed by the thread that opened it");
+            }
+            closed = true;
+            if (previous == null) {
+                log.debug("Clearing shard context");
+                currentShard.remove();
+            } else {
+                currentShard.set(previous);
+            }
+        }
+    }
 }
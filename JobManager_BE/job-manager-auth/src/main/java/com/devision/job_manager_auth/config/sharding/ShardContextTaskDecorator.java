@@ -0,0 +1,17 @@
+package com.devision.job_manager_auth.config.sharding;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the caller's shard into @Async tasks. Spring Boot applies a single TaskDecorator bean
+ * to the auto-configured application task executor (platform or virtual threads).
+ */
+@Component
+public class ShardContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ShardContext.wrap(runnable);
+    }
+}
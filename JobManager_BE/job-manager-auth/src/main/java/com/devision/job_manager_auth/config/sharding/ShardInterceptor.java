@@ -1,9 +1,10 @@
 package com.devision.job_manager_auth.config.sharding;
 
 
+import com.devision.job_manager_auth.config.security.ParsedToken;
 import com.devision.job_manager_auth.entity.Country;
 import com.devision.job_manager_auth.service.internal.JweTokenService;
-import com.nimbusds.jwt.JWTClaimsSet;
+import com.devision.job_manager_auth.service.internal.impl.ShardRoutingIndexService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -12,14 +13,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 /**
- * Extracts the country from the JWT token and sets a shard before the request reaches the controllers
+ * Resolves the shard of the authenticated account from the JWT token and sets it before the request reaches the controllers
  */
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ShardInterceptor implements HandlerInterceptor {
+    private static final String SCOPE_ATTRIBUTE = ShardInterceptor.class.getName() + ".scope";
+
+    /**
+     * Request attribute holding the shard resolved for the authenticated account
+     */
+    public static final String SHARD_KEY_ATTRIBUTE = ShardInterceptor.class.getName() + ".shardKey";
+
     private final JweTokenService jweTokenService;
+    private final ShardRoutingIndexService shardRoutingIndexService;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
@@ -29,34 +38,33 @@ public class ShardInterceptor implements HandlerInterceptor {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             try {
-                String token = authHeader.substring(7);
-
-                JWTClaimsSet claims = jweTokenService.validateAndDecryptToken(token);
-
-                if (claims != null) {
+                // Reuse the token already decrypted by JwtAuthenticationFilter when available
+                ParsedToken parsedToken = (ParsedToken) request.getAttribute(ParsedToken.REQUEST_ATTRIBUTE);
+                if (parsedToken == null) {
+                    parsedToken = jweTokenService.parseToken(authHeader.substring(7));
+                }
 
-                    // Extract country from JWT claims
-                    String countryCode = jweTokenService.extractCountryCode(claims);
+                if (parsedToken != null) {
+                    // Shard already resolved by JwtAuthenticationFilter for this request, if it ran
+                    String shardKey = (String) request.getAttribute(SHARD_KEY_ATTRIBUTE);
+                    if (shardKey == null && parsedToken.getUserId() != null) {
+                        // Route by the immutable account ID; the email can change and the shard map can be reloaded
+                        shardKey = shardRoutingIndexService.resolveShardKey(
+                                parsedToken.getUserId(), Country.fromCode(parsedToken.getCountryCode()));
+                    }
 
-                    if (countryCode != null) {
-                        Country country = Country.fromCode(countryCode);
-                        if (country != null) {
-                            String shardKey = country.getShardKey();
-                            ShardContext.setShardKey(shardKey);
-                            log.debug("Shard context set to '{}' for country '{}'", shardKey, countryCode);
-                        } else {
-                            log.debug("Unknown country code '{}', using default shard", countryCode);
-                            ShardContext.setShardKey(ShardContext.DEFAULT_SHARD);
-                        }
+                    if (shardKey != null) {
+                        openScope(request, shardKey);
+                        log.debug("Shard context set to '{}' for account '{}'", shardKey, parsedToken.getUserId());
                     } else {
-                        log.debug("No country in JWE claims, using default shard");
-                        ShardContext.setShardKey(ShardContext.DEFAULT_SHARD);
+                        log.debug("No account ID in JWE claims, using default shard");
+                        openScope(request, ShardContext.DEFAULT_SHARD);
                     }
                 }
             } catch (Exception e) {
                 log.debug("Could not extract shard info from token: {}", e.getMessage());
 
-                ShardContext.setShardKey(ShardContext.DEFAULT_SHARD);
+                openScope(request, ShardContext.DEFAULT_SHARD);
             }
         } else {
             // No auth header - this might be a public endpoint (login, register)
@@ -70,6 +78,19 @@ public class ShardInterceptor implements HandlerInterceptor {
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
                                 Object handler, Exception ex) throws Exception {
-        ShardContext.clear();
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope instanceof ShardContext.Scope shardScope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            shardScope.close();
+        }
+    }
+
+    // Closed in afterCompletion, which restores whatever JwtAuthenticationFilter bound for the request
+    private void openScope(HttpServletRequest request, String shardKey) {
+        Object previous = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (previous instanceof ShardContext.Scope previousScope) {
+            previousScope.close();
+        }
+        request.setAttribute(SCOPE_ATTRIBUTE, ShardContext.open(shardKey));
     }
 }
@@ -0,0 +1,169 @@
+package com.devision.job_manager_auth.config.sharding;
+
+import com.devision.job_manager_auth.entity.Country;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Runtime shard map: which shards exist and which shard(s) each country is placed in.
+ *
+ * Loaded from sharding.country-shards and reloaded without a restart when the configuration is refreshed
+ * (POST /actuator/refresh). A reload that references an unknown shard is rejected and the current map stays.
+ * Shards themselves (connection pools) are still created at startup from sharding.shards.
+ *
+ * A country mapped to several shards is split by weighted rendezvous hashing of the account ID, which never changes,
+ * so each account has a stable placement and changing one weight only moves the accounts that have to move.
+ * The map only decides where new accounts are written and where the rebalancer moves accounts to; requests of
+ * existing accounts are routed by the account ID routing index, which follows the row wherever it actually lives.
+ * The routing datasource and the direct JDBC templates both read the shard list from here.
+ */
+@Slf4j
+@Component
+public class ShardMap {
+
+    private final ShardingProperties shardingProperties;
+
+    // Shards with a connection pool, fixed at startup
+    private final Set<String> shardKeys;
+
+    private volatile Map<Country, List<ShardingProperties.WeightedShard>> countryShards;
+
+    public ShardMap(ShardingProperties shardingProperties) {
+        this.shardingProperties = shardingProperties;
+        this.shardKeys = Collections.unmodifiableSet(new TreeSet<>(shardingProperties.getShards().keySet()));
+        this.countryShards = load();
+        log.info("Shard map loaded: {} shards, {} country assignments", shardKeys.size(), countryShards.size());
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reload() {
+        try {
+            countryShards = load();
+            log.info("Shard map reloaded: {}", describe());
+        } catch (IllegalStateException e) {
+            log.error("Shard map reload rejected, keeping the current map: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Shard an account of the given country is placed in
+     */
+    public String shardFor(Country country, UUID accountId) {
+        List<ShardingProperties.WeightedShard> candidates = country != null ? countryShards.get(country) : null;
+        if (candidates == null || candidates.isEmpty()) {
+            return getDefaultShard();
+        }
+        if (candidates.size() == 1 || accountId == null) {
+            return candidates.get(0).getShard();
+        }
+
+        // Weighted rendezvous hashing: highest score wins
+        String routingKey = accountId.toString();
+        String best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (ShardingProperties.WeightedShard candidate : candidates) {
+            double hash = unitHash(candidate.getShard() + ":" + routingKey);
+            double score = -candidate.getWeight() / Math.log(hash);
+            if (score > bestScore) {
+                bestScore = score;
+                best = candidate.getShard();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Shard for a country code taken from a token claim; unknown codes go to the default shard
+     */
+    public String shardFor(String countryCode, UUID accountId) {
+        return shardFor(Country.fromCode(countryCode), accountId);
+    }
+
+    /**
+     * All shards a country's accounts may live in
+     */
+    public List<String> shardsForCountry(Country country) {
+        List<ShardingProperties.WeightedShard> candidates = countryShards.get(country);
+        if (candidates == null || candidates.isEmpty()) {
+            return List.of(getDefaultShard());
+        }
+        return candidates.stream().map(ShardingProperties.WeightedShard::getShard).toList();
+    }
+
+    public List<String> getShardKeys() {
+        return List.copyOf(shardKeys);
+    }
+
+    public boolean hasShard(String shardKey) {
+        return shardKeys.contains(shardKey);
+    }
+
+    public String getDefaultShard() {
+        return shardingProperties.getDefaultShard();
+    }
+
+    /**
+     * Current country -> shards assignment, for diagnostics
+     */
+    public Map<String, List<String>> describe() {
+        Map<String, List<String>> description = new LinkedHashMap<>();
+        countryShards.forEach((country, shards) -> description.put(country.getCode(),
+                shards.stream().map(shard -> shard.getShard() + "(" + shard.getWeight() + ")").toList()));
+        return description;
+    }
+
+    private Map<Country, List<ShardingProperties.WeightedShard>> load() {
+        if (!shardKeys.contains(shardingProperties.getDefaultShard())) {
+            throw new IllegalStateException("Default shard '" + shardingProperties.getDefaultShard() + "' is not configured");
+        }
+
+        Map<Country, List<ShardingProperties.WeightedShard>> loaded = new EnumMap<>(Country.class);
+        shardingProperties.getCountryShards().forEach((countryCode, shards) -> {
+            Country country = Country.fromCode(countryCode);
+            if (country == null) {
+                throw new IllegalStateException("Unknown country code in shard map: " + countryCode);
+            }
+            List<ShardingProperties.WeightedShard> copies = new ArrayList<>();
+            for (ShardingProperties.WeightedShard shard : shards) {
+                if (!shardKeys.contains(shard.getShard())) {
+                    throw new IllegalStateException("Country " + countryCode + " is mapped to unknown shard '" + shard.getShard() + "'");
+                }
+                if (shard.getWeight() <= 0) {
+                    throw new IllegalStateException("Weight of shard '" + shard.getShard() + "' for " + countryCode + " must be positive");
+                }
+                ShardingProperties.WeightedShard copy = new ShardingProperties.WeightedShard();
+                copy.setShard(shard.getShard());
+                copy.setWeight(shard.getWeight());
+                copies.add(copy);
+            }
+            loaded.put(country, List.copyOf(copies));
+        });
+        return Collections.unmodifiableMap(loaded);
+    }
+
+    // Hash mapped into the open interval (0, 1)
+    private static double unitHash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return ((hash >>> 11) + 0.5) / (1L << 53);
+    }
+}
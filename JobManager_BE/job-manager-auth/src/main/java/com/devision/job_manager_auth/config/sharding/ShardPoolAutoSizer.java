@@ -0,0 +1,181 @@
+package com.devision.job_manager_auth.config.sharding;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes each shard's JPA pool (HikariPool-*) within sharding.adaptive-pool bounds, driven by the
+ * hikaricp.connections.acquire timer of that pool:
+ * - grows by grow-step when the average acquire time of the last interval exceeds grow-wait-ms,
+ *   or when threads are waiting for a connection
+ * - shrinks by one after shrink-after-intervals quiet intervals with few active connections
+ *
+ * Hikari applies a smaller maximum by retiring idle connections, so shrinking never interrupts queries.
+ * Current sizes are exported as auth.shard.pool.max-size{shard}, resizes as auth.shard.pool.resize{shard,direction}.
+ */
+@Component
+@Slf4j
+public class ShardPoolAutoSizer {
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final ShardingProperties.AdaptivePoolProperties settings;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PoolState> pools = new ConcurrentHashMap<>();
+
+    public ShardPoolAutoSizer(ShardingProperties shardingProperties, MeterRegistry meterRegistry) {
+        this.settings = shardingProperties.getAdaptivePool();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Put a shard pool under adaptive control; its configured size is clamped into the bounds
+     */
+    public void register(String shardKey, HikariDataSource dataSource) {
+        if (settings.isEnabled()) {
+            int initial = clamp(dataSource.getMaximumPoolSize());
+            dataSource.setMaximumPoolSize(initial);
+            dataSource.setMinimumIdle(Math.min(dataSource.getMinimumIdle(), initial));
+        }
+
+        PoolState state = new PoolState(shardKey, dataSource,
+                counter(shardKey, "grow"), counter(shardKey, "shrink"));
+        pools.put(shardKey, state);
+        Gauge.builder("auth.shard.pool.max-size", dataSource, HikariDataSource::getMaximumPoolSize)
+                .description("Current maximum size of the shard's JPA connection pool")
+                .tag("shard", shardKey)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${sharding.adaptive-pool.interval-ms:15000}",
+            initialDelayString = "${sharding.adaptive-pool.interval-ms:15000}")
+    public void adjust() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        pools.values().forEach(this::adjust);
+    }
+
+    /**
+     * Shard -> current pool size and activity, for diagnostics
+     */
+    public Map<String, Map<String, Object>> describe() {
+        Map<String, Map<String, Object>> description = new LinkedHashMap<>();
+        pools.forEach((shardKey, state) -> {
+            HikariPoolMXBean pool = state.dataSource.getHikariPoolMXBean();
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("maxPoolSize", state.dataSource.getMaximumPoolSize());
+            details.put("active", pool != null ? pool.getActiveConnections() : 0);
+            details.put("idle", pool != null ? pool.getIdleConnections() : 0);
+            details.put("pending", pool != null ? pool.getThreadsAwaitingConnection() : 0);
+            details.put("lastAvgAcquireMs", state.lastAvgWaitMs);
+            description.put(shardKey, details);
+        });
+        return description;
+    }
+
+    private void adjust(PoolState state) {
+        HikariPoolMXBean pool = state.dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            // Pool not started yet (no connection requested so far)
+            return;
+        }
+
+        double avgWaitMs = averageAcquireMsSinceLastTick(state);
+        int pending = pool.getThreadsAwaitingConnection();
+        int active = pool.getActiveConnections();
+        HikariConfigMXBean config = state.dataSource.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+
+        if (avgWaitMs > settings.getGrowWaitMs() || pending > 0) {
+            state.quietIntervals = 0;
+            if (current < settings.getMaxPoolSize()) {
+                resize(state, config, current, Math.min(settings.getMaxPoolSize(), current + settings.getGrowStep()),
+                        avgWaitMs, pending);
+                state.growCounter.increment();
+            }
+            return;
+        }
+
+        boolean quiet = avgWaitMs < settings.getGrowWaitMs() / 4.0 && active < current * settings.getShrinkUtilization();
+        state.quietIntervals = quiet ? state.quietIntervals + 1 : 0;
+
+        if (state.quietIntervals >= settings.getShrinkAfterIntervals() && current > settings.getMinPoolSize()) {
+            state.quietIntervals = 0;
+            resize(state, config, current, current - 1, avgWaitMs, pending);
+            state.shrinkCounter.increment();
+        }
+    }
+
+    private double averageAcquireMsSinceLastTick(PoolState state) {
+        Timer acquire = meterRegistry.find(ACQUIRE_TIMER)
+                .tag("pool", state.dataSource.getPoolName())
+                .timer();
+        if (acquire == null) {
+            return 0;
+        }
+
+        long count = acquire.count();
+        double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long deltaCount = count - state.lastAcquireCount;
+        double deltaNanos = totalNanos - state.lastAcquireNanos;
+        state.lastAcquireCount = count;
+        state.lastAcquireNanos = totalNanos;
+
+        state.lastAvgWaitMs = deltaCount > 0 ? deltaNanos / deltaCount / 1_000_000 : 0;
+        return state.lastAvgWaitMs;
+    }
+
+    private void resize(PoolState state, HikariConfigMXBean config, int from, int to, double avgWaitMs, int pending) {
+        config.setMaximumPoolSize(to);
+        if (config.getMinimumIdle() > to) {
+            config.setMinimumIdle(to);
+        }
+        log.info("Resized pool of shard {} from {} to {} (avg acquire {} ms, {} waiting)",
+                state.shardKey, from, to, String.format("%.1f", avgWaitMs), pending);
+    }
+
+    private int clamp(int size) {
+        return Math.max(settings.getMinPoolSize(), Math.min(settings.getMaxPoolSize(), size));
+    }
+
+    private Counter counter(String shardKey, String direction) {
+        return Counter.builder("auth.shard.pool.resize")
+                .tag("shard", shardKey)
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private static final class PoolState {
+        private final String shardKey;
+        private final HikariDataSource dataSource;
+        private final Counter growCounter;
+        private final Counter shrinkCounter;
+
+        // Only touched by the scheduler thread
+        private long lastAcquireCount;
+        private double lastAcquireNanos;
+        private volatile double lastAvgWaitMs;
+        private int quietIntervals;
+
+        private PoolState(String shardKey, HikariDataSource dataSource, Counter growCounter, Counter shrinkCounter) {
+            this.shardKey = shardKey;
+            this.dataSource = dataSource;
+            this.growCounter = growCounter;
+            this.shrinkCounter = shrinkCounter;
+        }
+    }
+}
@@ -7,10 +7,21 @@ import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 @Slf4j
 public class ShardRoutingDataSource extends AbstractRoutingDataSource {
 
-    // This method is called before each database query to determine which shard's datasource should be used
+    private final ShardMap shardMap;
+
+    public ShardRoutingDataSource(ShardMap shardMap) {
+        this.shardMap = shardMap;
+    }
+
+    // This method is called before each database query to determine which shard's datasource should be used.
+    // It reads the binding of the calling thread only; work on other threads must be wrapped with ShardContext.wrap
     @Override
     protected Object determineCurrentLookupKey() {
         String shardKey = ShardContext.getShardKey();
+        if (!shardMap.hasShard(shardKey)) {
+            log.warn("Shard '{}' is not in the shard map, routing to default shard '{}'", shardKey, shardMap.getDefaultShard());
+            return shardMap.getDefaultShard();
+        }
         log.debug("Routing database operation to shard: {}", shardKey);
         return shardKey;
     }
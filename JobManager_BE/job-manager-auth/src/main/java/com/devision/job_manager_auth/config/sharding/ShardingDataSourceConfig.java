@@ -2,6 +2,8 @@ package com.devision.job_manager_auth.config.sharding;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,7 +37,10 @@ import java.util.Map;
 )
 public class ShardingDataSourceConfig {
     private final ShardingProperties shardingProperties;
+    private final ShardMap shardMap;
     private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final ShardPoolAutoSizer shardPoolAutoSizer;
 
     /**
      * Creates the routing datasource that delegates to shard-specific datasources
@@ -52,7 +57,7 @@ public class ShardingDataSourceConfig {
 //        log.info("GOOGLE_CLIENT_ID: {}", environment.getProperty("GOOGLE_CLIENT_ID"));
 //        log.info("=== END SPRING ENV DEBUG ===");
 
-        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shardMap);
 
         Map<Object, Object> targetDataSources = new HashMap<>();
 
@@ -64,6 +69,7 @@ public class ShardingDataSourceConfig {
         shardingProperties.getShards().forEach((shardKey, shardProps) -> {
             log.info("Configuring datasource for shard: {}", shardKey);
             HikariDataSource ds = createHikariDataSource(shardKey, shardProps);
+            shardPoolAutoSizer.register(shardKey, ds);
             log.info("Shard {}: URL = {}", shardKey, shardProps.getUrl());
             targetDataSources.put(shardKey, ds);
         });
@@ -117,6 +123,10 @@ public class ShardingDataSourceConfig {
         // Disable auto-commit for Spring transaction management
         dataSource.setAutoCommit(false);
 
+        // hikaricp.connections.{active,idle,pending,acquire,usage} tagged pool=HikariPool-<shard>.
+        // The routing datasource hides the shard pools from Spring Boot's own pool metrics.
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
         return dataSource;
     }
 
@@ -157,6 +167,7 @@ public class ShardingDataSourceConfig {
     @Qualifier("shardDataSources")
     public Map<String, DataSource> shardDataSources() {
         Map<String, DataSource> dataSources = new HashMap<>();
+        ShardingProperties.ScatterGatherProperties scatterGather = shardingProperties.getScatterGather();
 
         shardingProperties.getShards().forEach((shardKey, shardConfig) -> {
             HikariConfig config = new HikariConfig();
@@ -165,15 +176,19 @@ public class ShardingDataSourceConfig {
             config.setPassword(shardConfig.getPassword());
             config.setDriverClassName("org.postgresql.Driver");
             config.setPoolName("DirectPool-" + shardKey);
-            config.setMaximumPoolSize(3);  // Smaller pool for scatter-gather
-            config.setMinimumIdle(1);
-            config.setConnectionTimeout(30000);
+            // Every parallel scatter-gather lookup holds one connection per shard
+            config.setMaximumPoolSize(scatterGather.getDirectPoolSize());
+            config.setMinimumIdle(scatterGather.getDirectPoolMinimumIdle());
+            // Fail fast instead of queueing behind the per-shard timeout
+            config.setConnectionTimeout(Math.max(250, scatterGather.getShardTimeoutMs()));
             config.setIdleTimeout(600000);
             config.setMaxLifetime(1800000);
 
             // Disable auto-commit for Spring transaction management
             config.setAutoCommit(false);
 
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
             dataSources.put(shardKey, new HikariDataSource(config));
             log.info("Created direct DataSource for shard: {}", shardKey);
         });
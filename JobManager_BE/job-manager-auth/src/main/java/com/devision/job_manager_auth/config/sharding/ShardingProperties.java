@@ -5,6 +5,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -18,6 +19,16 @@ public class ShardingProperties {
     // Map of shard configurations
     private Map<String, ShardProperties> shards = new HashMap<>();
 
+    // Country code -> shards new accounts of that country are placed in (weighted); unlisted countries use the default shard.
+    // Can be changed at runtime and applied with a refresh (see ShardMap)
+    private Map<String, List<WeightedShard>> countryShards = new HashMap<>();
+
+    // Cross-shard (scatter-gather) lookups over the direct JDBC pools
+    private ScatterGatherProperties scatterGather = new ScatterGatherProperties();
+
+    // Runtime resizing of the per-shard JPA pools (see ShardPoolAutoSizer)
+    private AdaptivePoolProperties adaptivePool = new AdaptivePoolProperties();
+
     // Holds connection details for each shard
     @Data
     public static class ShardProperties {
@@ -33,4 +44,40 @@ public class ShardingProperties {
         private long idleTimeout = 600000;
         private long maxLifetime = 1800000;
     }
+
+    @Data
+    public static class WeightedShard {
+        private String shard;
+        // Relative share of new accounts when a country is split across several shards
+        private int weight = 1;
+    }
+
+    @Data
+    public static class ScatterGatherProperties {
+        // Per-shard query timeout; also caps how long a lookup waits for a free connection
+        private long shardTimeoutMs = 3000;
+
+        // Size of each DirectPool-* pool: one connection per shard is used by every concurrent lookup
+        private int directPoolSize = 5;
+        private int directPoolMinimumIdle = 1;
+    }
+
+    @Data
+    public static class AdaptivePoolProperties {
+        private boolean enabled = true;
+
+        // Bounds for every shard's HikariPool-*; maximum-pool-size of a shard is only the starting size
+        private int minPoolSize = 2;
+        private int maxPoolSize = 15;
+
+        private long intervalMs = 15000;
+
+        // Grow when the average connection acquire time over an interval exceeds this, or requests are waiting
+        private long growWaitMs = 20;
+        private int growStep = 2;
+
+        // Shrink by one after this many consecutive intervals without waits and below this share of active connections
+        private int shrinkAfterIntervals = 4;
+        private double shrinkUtilization = 0.5;
+    }
 }
@@ -0,0 +1,47 @@
+package com.devision.job_manager_auth.consumer;
+
+import com.devision.job_manager_auth.config.KafkaTopicConfig;
+import com.devision.job_manager_auth.event.CompanyRegisteredEvent;
+import com.devision.job_manager_auth.service.internal.impl.EmailBloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the email bloom filter of this instance current with registrations made on any auth instance.
+ * Every instance uses its own consumer group, named after app.instance-id so a restarted instance reuses it,
+ * and so each one sees every event; history is covered by the startup rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CompanyRegisteredEventConsumer {
+
+    private final EmailBloomFilter emailBloomFilter;
+
+    @KafkaListener(
+            topics = KafkaTopicConfig.COMPANY_REGISTERED_TOPIC,
+            groupId = "${spring.kafka.consumer.group-id:job-manager-auth}-email-filter-${app.instance-id:local}",
+            containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "${app.email-bloom-filter.enabled:true}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.value.default.type=com.devision.job_manager_auth.event.CompanyRegisteredEvent"
+            }
+    )
+    public void handleCompanyRegistered(
+            @Payload(required = false) CompanyRegisteredEvent event,
+            Acknowledgment acknowledgment) {
+
+        if (event != null && event.getEmail() != null) {
+            emailBloomFilter.put(event.getEmail());
+            log.debug("Added registered email to bloom filter for company ID: {}", event.getCompanyId());
+        }
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+    }
+}
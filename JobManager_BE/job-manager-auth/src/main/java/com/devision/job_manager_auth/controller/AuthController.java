@@ -1,12 +1,15 @@
 package com.devision.job_manager_auth.controller;
 
 import com.devision.job_manager_auth.config.sharding.ShardContext;
+import com.devision.job_manager_auth.config.sharding.ShardMap;
 import com.devision.job_manager_auth.dto.internal.*;
 import com.devision.job_manager_auth.entity.Country;
 import com.devision.job_manager_auth.service.internal.AuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,20 +22,25 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthController {
     private final AuthenticationService authenticationService;
+    private final ShardMap shardMap;
+
+    // Number of proxies in front of this service that append to X-Forwarded-For (the API gateway)
+    @Value("${app.client-ip.trusted-proxies:1}")
+    private int trustedProxies;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<String>> register(@Valid @RequestBody RegisterRequest request) {
 
         log.info("Registration request received for email: {}", request.getEmail());
-        String shardKey = request.getCountry().getShardKey();
-        ShardContext.setShardKey(shardKey);
+        // The new account's ID is fixed up front: it decides the shard and never changes afterwards
+        UUID accountId = UUID.randomUUID();
+        String shardKey = shardMap.shardFor(request.getCountry(), accountId);
         log.info("Shard context set to '{}' for country '{}'", shardKey, request.getCountry().getDisplayName());
 
-        try {
-            ApiResponse<String> response = authenticationService.registerCompany(request);
+        // Bound before the @Transactional service call so its connection comes from the target shard
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
+            ApiResponse<String> response = authenticationService.registerCompany(request, accountId);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } finally {
-            ShardContext.clear();
         }
 
     }
@@ -52,9 +60,11 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                           HttpServletRequest httpRequest) {
         log.info("Login request received for: {}", request.getEmail());
-        ApiResponse<AuthResponse> response = authenticationService.login(request);
+        ApiResponse<AuthResponse> response = authenticationService.login(
+                request, resolveClientIp(httpRequest), httpRequest.getHeader("User-Agent"));
         return ResponseEntity.ok(response);
     }
 
@@ -116,4 +126,17 @@ public class AuthController {
         ApiResponse<String> response = authenticationService.changeEmail(companyId, request);
         return ResponseEntity.ok(response);
     }
+
+    // Requests arrive through the API gateway, which appends the address of its peer to X-Forwarded-For.
+    // Everything before the hops appended by trusted proxies is client-controlled and ignored.
+    private String resolveClientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustedProxies > 0 && forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            if (hops.length >= trustedProxies) {
+                return hops[hops.length - trustedProxies].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
 }
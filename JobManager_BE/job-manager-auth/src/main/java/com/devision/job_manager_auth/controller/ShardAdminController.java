@@ -0,0 +1,71 @@
+package com.devision.job_manager_auth.controller;
+
+import com.devision.job_manager_auth.config.sharding.ShardMap;
+import com.devision.job_manager_auth.config.sharding.ShardPoolAutoSizer;
+import com.devision.job_manager_auth.dto.internal.ApiResponse;
+import com.devision.job_manager_auth.dto.internal.ShardRebalanceProgress;
+import com.devision.job_manager_auth.dto.internal.ShardRebalanceRequest;
+import com.devision.job_manager_auth.service.internal.ShardRebalanceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// Admin-only operations on the auth shards (ADMIN authority, see SecurityConfig)
+@RestController
+@RequestMapping("/api/auth/admin/shards")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardAdminController {
+    private final ShardRebalanceService shardRebalanceService;
+    private final ShardMap shardMap;
+    private final ShardPoolAutoSizer shardPoolAutoSizer;
+
+    @GetMapping("/map")
+    public ResponseEntity<ApiResponse<Map<String, List<String>>>> getShardMap() {
+        return ResponseEntity.ok(ApiResponse.success("Shard map (default: " + shardMap.getDefaultShard() + ")",
+                shardMap.describe()));
+    }
+
+    @GetMapping("/pools")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Object>>>> getPools() {
+        return ResponseEntity.ok(ApiResponse.success("Shard connection pools", shardPoolAutoSizer.describe()));
+    }
+
+    @PostMapping("/rebalance")
+    public ResponseEntity<ApiResponse<ShardRebalanceProgress>> startRebalance(
+            @Valid @RequestBody ShardRebalanceRequest request) {
+        log.info("Rebalance requested: {} -> {} for {}",
+                request.getSourceShard(), request.getTargetShard(), request.getCountries());
+        try {
+            ShardRebalanceProgress progress = shardRebalanceService.startRebalance(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Rebalance started", progress));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rebalance/{jobId}/pause")
+    public ResponseEntity<ApiResponse<ShardRebalanceProgress>> pauseRebalance(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Pause requested", shardRebalanceService.pauseRebalance(jobId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/rebalance/{jobId}")
+    public ResponseEntity<ApiResponse<ShardRebalanceProgress>> getProgress(@PathVariable String jobId) {
+        return shardRebalanceService.getProgress(jobId)
+                .map(progress -> ResponseEntity.ok(ApiResponse.success("Rebalance progress", progress)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Unknown rebalance job: " + jobId)));
+    }
+}
@@ -1,33 +1,65 @@
 package com.devision.job_manager_auth.controller;
 
 
+import com.devision.job_manager_auth.config.security.ParsedToken;
+import com.devision.job_manager_auth.dto.external.BatchTokenValidationRequest;
 import com.devision.job_manager_auth.dto.external.TokenValidationResponse;
 import com.devision.job_manager_auth.service.internal.JweTokenService;
-import com.nimbusds.jwt.JWTClaimsSet;
-import lombok.RequiredArgsConstructor;
+import com.devision.job_manager_auth.service.internal.TokenBatchParsingService;
+import com.devision.job_manager_auth.service.internal.TokenStatusService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
 @RestController
 @RequestMapping("/api/auth")
-@RequiredArgsConstructor
 @Slf4j
 public class TokenValidationController {
 
-    private static final String SESSION_INVALIDATION_PREFIX = "session-invalidated:";
+    /**
+     * Shared secret the gateway sends on batch validation calls (app.token-validation.service-token)
+     */
+    public static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
 
     private final JweTokenService jweTokenService;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenStatusService tokenStatusService;
+    private final TokenBatchParsingService tokenBatchParsingService;
+    private final byte[] serviceToken;
+
+    public TokenValidationController(
+            JweTokenService jweTokenService,
+            TokenStatusService tokenStatusService,
+            TokenBatchParsingService tokenBatchParsingService,
+            @Value("${app.token-validation.service-token:}") String serviceToken
+    ) {
+        this.jweTokenService = jweTokenService;
+        this.tokenStatusService = tokenStatusService;
+        this.tokenBatchParsingService = tokenBatchParsingService;
+        this.serviceToken = serviceToken.getBytes(StandardCharsets.UTF_8);
+        if (serviceToken.isBlank()) {
+            log.warn("app.token-validation.service-token is not set, /api/auth/validate-tokens rejects every call");
+        }
+    }
 
     @PostMapping("/validate-token")
     public ResponseEntity<TokenValidationResponse> validateToken(
-            @RequestHeader("Authorization") String authHeader
+            @RequestHeader("Authorization") String authHeader,
+            HttpServletRequest request
     ) {
 
         try {
@@ -37,56 +69,35 @@ public class TokenValidationController {
                         .body(TokenValidationResponse.invalid());
             }
 
-            String token = authHeader.substring(7);
-
-            // Check if token is revoked
-            if (jweTokenService.isTokenRevoked(token)) {
-                log.warn("Token is revoked");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(TokenValidationResponse.invalid());
+            // Decrypt once: reuse the token parsed by JwtAuthenticationFilter, or parse it here
+            ParsedToken parsedToken = (ParsedToken) request.getAttribute(ParsedToken.REQUEST_ATTRIBUTE);
+            if (parsedToken == null) {
+                parsedToken = jweTokenService.parseToken(authHeader.substring(7));
             }
 
-            // validate and decrypt
-            JWTClaimsSet claims = jweTokenService.validateAndDecryptToken(token);
-
-
-            if (claims == null) {
+            if (parsedToken == null) {
                 log.warn("Token validation failed - invalid or expired token");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(TokenValidationResponse.invalid());
             }
 
             // Check token type
-            String tokenType = jweTokenService.extractTokenType(claims);
-            if (!"ACCESS".equals(tokenType)) {
-                log.warn("Invalid token type: {}", tokenType);
+            if (!parsedToken.isAccessToken()) {
+                log.warn("Invalid token type: {}", parsedToken.getTokenType());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(TokenValidationResponse.invalid());
             }
 
-            // Extract info
-            String userId = jweTokenService.extractUserId(claims).toString();
-            String email = jweTokenService.extractEmail(claims);
-            String role = jweTokenService.extractRole(claims);
-            String countryCode = jweTokenService.extractCountryCode(claims);
+            // Revocation and session invalidation (e.g., due to country change) in one Redis round trip
+            TokenStatusService.TokenStatus status =
+                    tokenStatusService.checkTokenStatus(parsedToken.getTokenId(), parsedToken.getUserId());
 
-            // Check if session has been invalidated (e.g., due to country change)
-            if (isSessionInvalidated(userId)) {
-                log.warn("Session invalidated for user: {} (likely due to country change)", email);
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(TokenValidationResponse.invalid());
+            TokenValidationResponse response = buildResponse(parsedToken, status);
+            if (!response.isValid()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            // Build response
-            TokenValidationResponse response = TokenValidationResponse.builder()
-                    .valid(true)
-                    .userId(userId)
-                    .email(email)
-                    .role(role)
-                    .countryCode(countryCode)
-                    .build();
-
-            log.debug("Token validated successfully for user: {}", email);
+            log.debug("Token validated successfully for user: {}", parsedToken.getEmail());
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -97,11 +108,66 @@ public class TokenValidationController {
     }
 
     /**
-     * Check if the user's session has been invalidated (e.g., due to country change).
-     * Users with invalidated sessions must re-login to get a new JWT.
+     * Validate many access tokens in one call (gateway only: requires the X-Service-Token header).
+     * Tokens are decrypted on a bounded pool and all revocation / session checks share one Redis pipeline.
+     *
+     * @return one response per token, in request order; 403 without a valid service token, 503 when the pool is full
      */
-    private boolean isSessionInvalidated(String userId) {
-        String redisKey = SESSION_INVALIDATION_PREFIX + userId;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(redisKey));
+    @PostMapping("/validate-tokens")
+    public ResponseEntity<List<TokenValidationResponse>> validateTokens(
+            @RequestHeader(value = SERVICE_TOKEN_HEADER, required = false) String callerToken,
+            @Valid @RequestBody BatchTokenValidationRequest request
+    ) {
+        if (!isTrustedCaller(callerToken)) {
+            log.warn("Rejected batch token validation without a valid service token");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        List<String> tokens = request.getTokens();
+
+        // RSA decryption is CPU bound; spread it across the cores of the dedicated pool
+        List<ParsedToken> parsedTokens = tokenBatchParsingService.parseAccessTokens(tokens);
+
+        List<ParsedToken> candidates = parsedTokens.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        Iterator<TokenStatusService.TokenStatus> statuses =
+                tokenStatusService.checkTokenStatuses(candidates).iterator();
+
+        List<TokenValidationResponse> responses = new ArrayList<>(tokens.size());
+        for (ParsedToken parsedToken : parsedTokens) {
+            responses.add(parsedToken == null
+                    ? TokenValidationResponse.invalid()
+                    : buildResponse(parsedToken, statuses.next()));
+        }
+
+        log.debug("Batch validated {} tokens ({} decrypted)", tokens.size(), candidates.size());
+        return ResponseEntity.ok(responses);
+    }
+
+    private boolean isTrustedCaller(String callerToken) {
+        return serviceToken.length > 0
+                && callerToken != null
+                && MessageDigest.isEqual(serviceToken, callerToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TokenValidationResponse buildResponse(ParsedToken parsedToken, TokenStatusService.TokenStatus status) {
+        if (status == TokenStatusService.TokenStatus.REVOKED) {
+            log.warn("Token is revoked");
+            return TokenValidationResponse.invalid();
+        }
+        if (status == TokenStatusService.TokenStatus.SESSION_INVALIDATED) {
+            log.warn("Session invalidated for user: {} (likely due to country change)", parsedToken.getEmail());
+            return TokenValidationResponse.invalid();
+        }
+
+        return TokenValidationResponse.builder()
+                .valid(true)
+                .userId(parsedToken.getUserId().toString())
+                .email(parsedToken.getEmail())
+                .role(parsedToken.getRole())
+                .countryCode(parsedToken.getCountryCode())
+                .expiresAt(parsedToken.getExpirationTime().getTime())
+                .tokenId(parsedToken.getTokenId())
+                .build();
     }
 }
@@ -0,0 +1,23 @@
+package com.devision.job_manager_auth.dto.external;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchTokenValidationRequest {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = MAX_BATCH_SIZE, message = "At most 100 tokens can be validated per request")
+    private List<String> tokens;
+}
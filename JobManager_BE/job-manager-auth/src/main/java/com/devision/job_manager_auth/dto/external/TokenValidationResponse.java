@@ -18,6 +18,16 @@ public class TokenValidationResponse {
     private String role;
     private String countryCode;
 
+    /**
+     * Token expiration time (epoch millis), used to bound how long a validation result may be reused
+     */
+    private Long expiresAt;
+
+    /**
+     * JWT ID of the token, used to drop cached validation results when the token is revoked
+     */
+    private String tokenId;
+
     public static TokenValidationResponse invalid() {
         return TokenValidationResponse.builder()
                 .valid(false)
@@ -0,0 +1,40 @@
+package com.devision.job_manager_auth.dto.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardRebalanceProgress {
+
+    public enum Status {
+        RUNNING,
+        PAUSED,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private Status status;
+    private String sourceShard;
+    private String targetShard;
+    private List<String> countries;
+
+    // Checkpoint: every account up to and including this ID has been processed
+    private UUID lastMovedId;
+    private long copiedRows;
+    private long deletedRows;
+    private double rowsPerSecond;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private String error;
+}
@@ -0,0 +1,36 @@
+package com.devision.job_manager_auth.dto.internal;
+
+import com.devision.job_manager_auth.entity.Country;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardRebalanceRequest {
+
+    @NotBlank(message = "Source shard is required")
+    private String sourceShard;
+
+    @NotBlank(message = "Target shard is required")
+    private String targetShard;
+
+    // Accounts of these countries are moved; every country must already route to the target shard
+    @NotEmpty(message = "At least one country is required")
+    private List<Country> countries;
+
+    @Min(1)
+    @Max(5000)
+    private Integer batchSize;
+
+    // Throttle: upper bound on copied rows per second (0 = unthrottled)
+    @Min(0)
+    private Integer maxRowsPerSecond;
+}
@@ -22,8 +22,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class CompanyAccount {
+    // Assigned before insert: the ID decides the shard a new account is placed in (see ShardMap)
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 255)
@@ -83,4 +83,11 @@ public class CompanyAccount {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    void assignId() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+    }
 }
@@ -5,41 +5,40 @@ import lombok.Getter;
 @Getter
 public enum Country {
     // Southeast Asia
-    VIETNAM("VN", "Vietnam", "auth_shard_vn"),
-    SINGAPORE("SG", "Singapore", "auth_shard_sg"),
-    MALAYSIA("MY", "Malaysia", "auth_shard_asia"),
-    THAILAND("TH", "Thailand", "auth_shard_asia"),
-    PHILIPPINES("PH", "Philippines", "auth_shard_asia"),
-    INDONESIA("ID", "Indonesia", "auth_shard_asia"),
-    JAPAN("JP", "Japan", "auth_shard_asia"),
-    SOUTH_KOREA("KR", "South Korea", "auth_shard_asia"),
-    CHINA("CN", "China", "auth_shard_asia"),
+    VIETNAM("VN", "Vietnam"),
+    SINGAPORE("SG", "Singapore"),
+    MALAYSIA("MY", "Malaysia"),
+    THAILAND("TH", "Thailand"),
+    PHILIPPINES("PH", "Philippines"),
+    INDONESIA("ID", "Indonesia"),
+    JAPAN("JP", "Japan"),
+    SOUTH_KOREA("KR", "South Korea"),
+    CHINA("CN", "China"),
 
     // Oceania
-    AUSTRALIA("AU", "Australia", "auth_shard_oceania"),
-    NEW_ZEALAND("NZ", "New Zealand", "auth_shard_oceania"),
+    AUSTRALIA("AU", "Australia"),
+    NEW_ZEALAND("NZ", "New Zealand"),
 
     // North America
-    UNITED_STATES("US", "United States", "auth_shard_na"),
-    CANADA("CA", "Canada", "auth_shard_na"),
+    UNITED_STATES("US", "United States"),
+    CANADA("CA", "Canada"),
 
     // Europe
-    UNITED_KINGDOM("GB", "United Kingdom", "auth_shard_eu"),
-    GERMANY("DE", "Germany", "auth_shard_eu"),
-    FRANCE("FR", "France", "auth_shard_eu"),
-    NETHERLANDS("NL", "Netherlands", "auth_shard_eu"),
+    UNITED_KINGDOM("GB", "United Kingdom"),
+    GERMANY("DE", "Germany"),
+    FRANCE("FR", "France"),
+    NETHERLANDS("NL", "Netherlands"),
 
     // Other
-    OTHER("XX", "Other", "auth_shard_others");
+    OTHER("XX", "Other");
 
     private final String code; // ISO 3166-1
     private final String displayName;
-    private final String shardKey; // shard identifier
 
-    Country(String code, String displayName, String shardKey) {
+    // Shard placement is configured in sharding.country-shards (see ShardMap)
+    Country(String code, String displayName) {
         this.code = code;
         this.displayName = displayName;
-        this.shardKey = shardKey;
     }
 
     /**
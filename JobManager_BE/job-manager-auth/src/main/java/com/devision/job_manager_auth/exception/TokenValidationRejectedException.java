@@ -0,0 +1,13 @@
+package com.devision.job_manager_auth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when the batch token decryption pool is saturated; the caller should retry later
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TokenValidationRejectedException extends RuntimeException {
+
+    public TokenValidationRejectedException(String message) {
+        super(message);
+    }
+}
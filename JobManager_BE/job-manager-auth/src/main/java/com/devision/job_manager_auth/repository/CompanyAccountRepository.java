@@ -9,7 +9,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -62,28 +61,13 @@ public interface CompanyAccountRepository extends JpaRepository<CompanyAccount,
      * BRUTE-FORCE PROTECTION
      */
 
-    // Increment failed login attempts
-    @Modifying
-    @Transactional
-    @Query("UPDATE CompanyAccount c SET c.failedLoginAttempts = c.failedLoginAttempts + 1, " +
-            "c.lastFailedLoginTime = :failedTime WHERE c.email = :email")
-    void incrementFailedLoginAttempts(
-            @Param("email") String email,
-            @Param("failedTime") LocalDateTime failedTime
-    );
-
-    // Reset failed login attempts on successful login
-    @Modifying
-    @Transactional
-    @Query("UPDATE CompanyAccount c SET c.failedLoginAttempts = 0, c.lastFailedLoginTime = null " +
-            "WHERE c.email = :email")
-    void resetFailedLoginAttempts(@Param("email") String email);
+    // Failure counting lives in Redis (LoginAttemptLimiterService); only lock transitions are persisted
 
-    // Lock account
+    // Lock account; returns 0 if it was already locked
     @Modifying
     @Transactional
-    @Query("UPDATE CompanyAccount c SET c.isLocked = true WHERE c.email = :email")
-    void lockAccount(@Param("email") String email);
+    @Query("UPDATE CompanyAccount c SET c.isLocked = true WHERE c.email = :email AND c.isLocked = false")
+    int lockAccount(@Param("email") String email);
 
     // Unlock account
     @Modifying
@@ -97,4 +81,10 @@ public interface CompanyAccountRepository extends JpaRepository<CompanyAccount,
     @Query("UPDATE CompanyAccount c SET c.isActivated = true, c.activationToken = null, " +
             "c.activationTokenExpiry = null WHERE c.email = :email")
     void activateAccount(@Param("email") String email);
+
+    // Replace password hash (rehash on login after a bcrypt cost change)
+    @Modifying
+    @Transactional
+    @Query("UPDATE CompanyAccount c SET c.passwordHash = :passwordHash WHERE c.email = :email")
+    void updatePasswordHash(@Param("email") String email, @Param("passwordHash") String passwordHash);
 }
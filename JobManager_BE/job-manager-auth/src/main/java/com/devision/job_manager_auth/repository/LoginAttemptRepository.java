@@ -1,7 +1,9 @@
 package com.devision.job_manager_auth.repository;
 
 import com.devision.job_manager_auth.entity.LoginAttempt;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -40,6 +42,9 @@ public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, UUID
             @Param("since") LocalDateTime since
     );
 
-    // Clean up old login attempts
-    void deleteByAttemptedAtBefore(LocalDateTime before);
+    // Clean up old login attempts (single bulk DELETE instead of loading every row)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LoginAttempt la WHERE la.attemptedAt < :before")
+    int deleteByAttemptedAtBefore(@Param("before") LocalDateTime before);
 }
@@ -1,10 +1,12 @@
 package com.devision.job_manager_auth.security;
 
 import com.devision.job_manager_auth.config.security.AuthenticatedUser;
+import com.devision.job_manager_auth.config.security.ParsedToken;
 import com.devision.job_manager_auth.config.sharding.ShardContext;
+import com.devision.job_manager_auth.config.sharding.ShardInterceptor;
 import com.devision.job_manager_auth.entity.Country;
 import com.devision.job_manager_auth.service.internal.JweTokenService;
-import com.nimbusds.jwt.JWTClaimsSet;
+import com.devision.job_manager_auth.service.internal.impl.ShardRoutingIndexService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +32,7 @@ import java.util.UUID;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JweTokenService jweTokenService;
+    private final ShardRoutingIndexService shardRoutingIndexService;
 
     @Override
     protected void doFilterInternal(
@@ -38,23 +41,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        String shardKey = null;
         try {
             // Extract token from Authorization header
             String token = extractTokenFromRequest(request);
 
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Validate and decrypt access token
-                JWTClaimsSet claims = jweTokenService.validateAndDecryptToken(token);
+                // Validate and decrypt access token (once per request, reused downstream)
+                ParsedToken parsedToken = jweTokenService.parseToken(token);
+
+                if (parsedToken != null) {
+                    request.setAttribute(ParsedToken.REQUEST_ATTRIBUTE, parsedToken);
 
-                if (claims != null) {
                     // Get user information
-                    UUID userId = jweTokenService.extractUserId(claims);
-                    String email = jweTokenService.extractEmail(claims);
-                    String role = jweTokenService.extractRole(claims);
-                    String countryCode = jweTokenService.extractCountryCode(claims);
+                    UUID userId = parsedToken.getUserId();
+                    String email = parsedToken.getEmail();
+                    String role = parsedToken.getRole();
+                    String countryCode = parsedToken.getCountryCode();
 
-                    // Set shard context
-                    setShardContext(countryCode);
+                    // Shard for the rest of the request, by the immutable account ID (never the email)
+                    shardKey = resolveShardKey(userId, countryCode);
+                    if (shardKey != null) {
+                        request.setAttribute(ShardInterceptor.SHARD_KEY_ATTRIBUTE, shardKey);
+                    }
 
                     // Create authorities from role
                     List<SimpleGrantedAuthority> authorities = Collections.singletonList(
@@ -82,7 +91,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.error("Authentication error: {}", e.getMessage());
         }
 
-        filterChain.doFilter(request, response);
+        // Scoped to this request only: restored when the chain returns, even on pooled or virtual threads
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
+            filterChain.doFilter(request, response);
+        }
     }
 
     private String extractTokenFromRequest(HttpServletRequest request) {
@@ -95,14 +107,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private void setShardContext(String countryCode) {
-        if (countryCode != null) {
-            Country country = Country.fromCode(countryCode);
-            if (country != null) {
-                ShardContext.setShardKey(country.getShardKey());
-                log.debug("Shard context set to: {}", country.getShardKey());
-
-            }
+    // A routing failure must not cost the request its authentication; ShardInterceptor resolves the shard again
+    private String resolveShardKey(UUID userId, String countryCode) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            String shardKey = shardRoutingIndexService.resolveShardKey(userId, Country.fromCode(countryCode));
+            log.debug("Shard context set to: {}", shardKey);
+            return shardKey;
+        } catch (RuntimeException e) {
+            log.warn("Could not resolve shard for user {}: {}", userId, e.getMessage());
+            return null;
         }
     }
 
@@ -127,7 +143,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 path.startsWith("/api/auth/refresh") ||
                 path.startsWith("/api/auth/complete") ||
                 path.startsWith("/api/auth/diagnostics") ||
-                path.startsWith("/actuator") ||
+                // The shard map reload (/actuator/refresh) is ADMIN-only, so it needs the token authenticated
+                (path.startsWith("/actuator") && !path.startsWith("/actuator/refresh")) ||
                 path.startsWith("/health");
     }
 }
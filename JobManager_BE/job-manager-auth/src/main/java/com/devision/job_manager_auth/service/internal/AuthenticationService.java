@@ -2,15 +2,18 @@ package com.devision.job_manager_auth.service.internal;
 
 import com.devision.job_manager_auth.dto.internal.*;
 
+import java.util.UUID;
+
 public interface AuthenticationService {
 
     /**
      *
      * @param request
+     * @param accountId ID of the new account; the caller has already bound the shard ShardMap places this ID in
      * @return Success message
      * @throws IllegalArgumentException if email is found in database or validation fails
      */
-    ApiResponse<String> registerCompany(RegisterRequest request);
+    ApiResponse<String> registerCompany(RegisterRequest request, UUID accountId);
 
     /**
      * Register a company via SSO provider (e.g., Google).
@@ -32,10 +35,12 @@ public interface AuthenticationService {
     /**
      *
      * @param request
+     * @param clientIp IP address of the caller, used for per-IP brute-force limiting and the login audit (may be null)
+     * @param userAgent User-Agent of the caller, recorded in the login audit (may be null)
      * @return Authentication response with JWT tokens
      * @throws IllegalArgumentException if credentials are invalid or account is locked
      */
-    ApiResponse<AuthResponse> login(LoginRequest request);
+    ApiResponse<AuthResponse> login(LoginRequest request, String clientIp, String userAgent);
 
     /**
      *
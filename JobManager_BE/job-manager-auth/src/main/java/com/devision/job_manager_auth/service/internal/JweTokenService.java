@@ -1,5 +1,6 @@
 package com.devision.job_manager_auth.service.internal;
 
+import com.devision.job_manager_auth.config.security.ParsedToken;
 import com.devision.job_manager_auth.entity.CompanyAccount;
 import com.nimbusds.jwt.JWTClaimsSet;
 
@@ -16,6 +17,7 @@ public interface JweTokenService {
     String generateAccessToken(CompanyAccount account);
     String generateRefreshToken(CompanyAccount account);
     JWTClaimsSet validateAndDecryptToken(String token);
+    ParsedToken parseToken(String token); // decrypts once; null if invalid or expired
     UUID extractUserId(JWTClaimsSet claims);
     String extractEmail(JWTClaimsSet claims);
     String extractRole(JWTClaimsSet claims);
@@ -25,5 +27,7 @@ public interface JweTokenService {
     JWTClaimsSet isValidAccessToken(String token);
     JWTClaimsSet isValidRefreshToken(String token);
     void revokeToken(String token);
+    void revokeToken(ParsedToken token);
     boolean isTokenRevoked(String token);
+    boolean isTokenRevoked(ParsedToken token);
 }
@@ -0,0 +1,26 @@
+package com.devision.job_manager_auth.service.internal;
+
+/**
+ * Sliding-window brute-force protection for password logins, kept in Redis instead of per-row counters
+ * on the shard primaries. Only the lock transition itself is written to the database (by the caller).
+ */
+public interface LoginAttemptLimiterService {
+
+    /**
+     * @return true if the IP address has too many failed logins in the current window and must be refused
+     */
+    boolean isIpBlocked(String ipAddress);
+
+    /**
+     * Record a failed login for the account and the IP address.
+     *
+     * @return true when the account is at or past the failure limit inside the window,
+     *         i.e. when the caller must persist the lock unless the account is already locked
+     */
+    boolean recordFailure(String email, String ipAddress);
+
+    /**
+     * Clear the failure window of the account after a successful login or a password reset
+     */
+    void reset(String email);
+}
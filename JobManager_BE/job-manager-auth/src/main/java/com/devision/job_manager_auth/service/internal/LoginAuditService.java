@@ -0,0 +1,25 @@
+package com.devision.job_manager_auth.service.internal;
+
+import com.devision.job_manager_auth.entity.CompanyAccount;
+
+/**
+ * Security telemetry for password logins. Attempts are buffered in memory and written to the
+ * login_attempt table of the account's shard in batches, never on the login request path.
+ */
+public interface LoginAuditService {
+
+    /**
+     * Enqueue a login attempt; never blocks and never throws. May drop the attempt when the buffer is full.
+     *
+     * @param account       account the attempt was made against
+     * @param shardKey      shard the account lives in
+     * @param failureReason null for a successful login
+     */
+    void recordAttempt(CompanyAccount account, String shardKey, String ipAddress, String userAgent,
+                       boolean success, String failureReason);
+
+    /**
+     * Delete audit rows older than the configured retention from every shard
+     */
+    void purgeExpiredAttempts();
+}
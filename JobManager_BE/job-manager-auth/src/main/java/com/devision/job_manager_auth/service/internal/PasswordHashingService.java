@@ -0,0 +1,24 @@
+package com.devision.job_manager_auth.service.internal;
+
+import java.util.Optional;
+
+/**
+ * Password hashing on a dedicated, bounded pool instead of the request threads.
+ * When the pool and its queue are full, calls fail fast with PasswordHashingRejectedException (HTTP 503).
+ */
+public interface PasswordHashingService {
+
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * @return true if the hash was created with a different cost factor than the configured one
+     */
+    boolean needsRehash(String encodedPassword);
+
+    /**
+     * Best-effort re-encode used for rehash-on-login; empty when the pool is saturated (retried on a later login)
+     */
+    Optional<String> tryEncode(String rawPassword);
+}
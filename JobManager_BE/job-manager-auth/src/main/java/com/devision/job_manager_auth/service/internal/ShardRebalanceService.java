@@ -0,0 +1,25 @@
+package com.devision.job_manager_auth.service.internal;
+
+import com.devision.job_manager_auth.dto.internal.ShardRebalanceProgress;
+import com.devision.job_manager_auth.dto.internal.ShardRebalanceRequest;
+
+import java.util.Optional;
+
+// Bulk, resumable migration of accounts between auth shards (e.g. splitting an overloaded shard)
+public interface ShardRebalanceService {
+
+    /**
+     * Start moving the accounts of the given countries from the source to the target shard in the background.
+     * A job that was paused or failed earlier resumes from its last checkpoint.
+     *
+     * @return the progress right after the job was started
+     */
+    ShardRebalanceProgress startRebalance(ShardRebalanceRequest request);
+
+    /**
+     * Ask a running job to stop after its current batch. It can be resumed later with the same request.
+     */
+    ShardRebalanceProgress pauseRebalance(String jobId);
+
+    Optional<ShardRebalanceProgress> getProgress(String jobId);
+}
@@ -0,0 +1,17 @@
+package com.devision.job_manager_auth.service.internal;
+
+import com.devision.job_manager_auth.config.security.ParsedToken;
+
+import java.util.List;
+
+/**
+ * Decrypts the tokens of a batch validation call on a dedicated, bounded pool instead of the common ForkJoinPool.
+ * When the pool and its queue are full, calls fail fast with TokenValidationRejectedException (HTTP 503).
+ */
+public interface TokenBatchParsingService {
+
+    /**
+     * @return one entry per token, in request order; null where the token is not a valid access token
+     */
+    List<ParsedToken> parseAccessTokens(List<String> tokens);
+}
@@ -0,0 +1,37 @@
+package com.devision.job_manager_auth.service.internal;
+
+import com.devision.job_manager_auth.config.security.ParsedToken;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+// Revocation and session-invalidation state of issued tokens, backed by Redis
+public interface TokenStatusService {
+
+    enum TokenStatus {
+        ACTIVE,
+        REVOKED,
+        SESSION_INVALIDATED
+    }
+
+    /**
+     * Check both the token revocation and the user's session invalidation in a single Redis round trip.
+     *
+     * @param tokenId The token ID (jti)
+     * @param userId The user the token was issued to
+     * @return the status of the token
+     */
+    TokenStatus checkTokenStatus(String tokenId, UUID userId);
+
+    /**
+     * Batch variant of {@link #checkTokenStatus}: all lookups share one Redis pipeline.
+     *
+     * @return statuses in the same order as the given tokens
+     */
+    List<TokenStatus> checkTokenStatuses(List<ParsedToken> tokens);
+
+    void markTokenRevoked(String tokenId, String tokenType, Duration ttl);
+
+    void invalidateSession(UUID userId, String reason, Duration ttl);
+}
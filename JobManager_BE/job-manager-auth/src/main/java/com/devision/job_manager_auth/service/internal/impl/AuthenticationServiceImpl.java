@@ -1,6 +1,7 @@
 package com.devision.job_manager_auth.service.internal.impl;
 
 import com.devision.job_manager_auth.config.sharding.ShardContext;
+import com.devision.job_manager_auth.config.sharding.ShardMap;
 import com.devision.job_manager_auth.dto.internal.*;
 import com.devision.job_manager_auth.entity.AuthProvider;
 import com.devision.job_manager_auth.entity.CompanyAccount;
@@ -16,12 +17,10 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -32,12 +31,16 @@ import org.springframework.data.redis.core.RedisTemplate;
 public class AuthenticationServiceImpl implements AuthenticationService {
 
     private final CompanyAccountRepository companyAccountRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptLimiterService loginAttemptLimiterService;
+    private final LoginAuditService loginAuditService;
     private final JweTokenService jweTokenService;
     private final EventPublisherService eventPublisherService;
     private final EmailService emailService;
     private final ShardLookupService shardLookupService;
-    private final ShardDirectQueryService shardDirectQueryService;
+    private final ShardRoutingIndexService shardRoutingIndexService;
+    private final EmailBloomFilter emailBloomFilter;
+    private final ShardMap shardMap;
     private final RedisTemplate<String, String> redisTemplate;
 
     private static final String SESSION_INVALIDATION_PREFIX = "session-invalidated:";
@@ -50,79 +53,83 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     @Transactional
-    public ApiResponse<String> registerCompany(RegisterRequest request) {
+    public ApiResponse<String> registerCompany(RegisterRequest request, UUID accountId) {
 
-        if (shardDirectQueryService.emailExistsInAnyShard(request.getEmail())) {
+        if (emailAlreadyRegistered(request.getEmail())) {
             log.warn("Registration failed: Email '{}' already exists in another shard", request.getEmail());
             throw new IllegalArgumentException("Email already in use");
         }
 
         Country country = request.getCountry();
-        String shardKey = country.getShardKey();
+        String shardKey = shardMap.shardFor(country, accountId);
 
-        // Set shard context BEFORE saving
-        ShardContext.setShardKey(shardKey);
-
-
-        String activationToken = UUID.randomUUID().toString();
-        LocalDateTime tokenExpiry = LocalDateTime.now().plus(activationTokenExpiration, ChronoUnit.MILLIS);
+        // Normally already bound by AuthController; the scope makes the service correct on its own
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
+            String activationToken = UUID.randomUUID().toString();
+            LocalDateTime tokenExpiry = LocalDateTime.now().plus(activationTokenExpiration, ChronoUnit.MILLIS);
 
-        CompanyAccount account = CompanyAccount.builder()
-                .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
-                .authProvider(AuthProvider.LOCAL)
-                .role(Role.COMPANY)
-                .country(request.getCountry())
-                .isActivated(false)
-                .activationToken(activationToken)
-                .activationTokenExpiry(tokenExpiry)
-                .failedLoginAttempts(0)
-                .isLocked(false)
-                .build();
+            CompanyAccount account = CompanyAccount.builder()
+                    .id(accountId)
+                    .email(request.getEmail())
+                    .passwordHash(passwordHashingService.encode(request.getPassword()))
+                    .authProvider(AuthProvider.LOCAL)
+                    .role(Role.COMPANY)
+                    .country(request.getCountry())
+                    .isActivated(false)
+                    .activationToken(activationToken)
+                    .activationTokenExpiry(tokenExpiry)
+                    .failedLoginAttempts(0)
+                    .isLocked(false)
+                    .build();
 
-        // The account is saved to the correct shard
-        account = companyAccountRepository.save(account);
-        log.info("Company account registered successfully in shard '{}': {}", shardKey, request.getEmail());
+            // The account is saved to the correct shard
+            account = companyAccountRepository.save(account);
+            log.info("Company account registered successfully in shard '{}': {}", shardKey, request.getEmail());
 
-        // Cache the email to shard mapping for fast login
-        shardLookupService.cacheEmailShard(request.getEmail(), shardKey);
+            // Cache the email to shard mapping for fast login
+            shardLookupService.cacheEmailShard(request.getEmail(), shardKey);
+            emailBloomFilter.put(request.getEmail());
 
-        // Publish event for Company Service to create profile and for Email Service to send activation link
-        CompanyRegisteredEvent event = buildCompanyRegisteredEvent(request, account.getId(), activationToken);
-        eventPublisherService.publishCompanyRegistered(event);
+            // Index the account ID and activation token so activation hits exactly one shard
+            shardRoutingIndexService.indexAccount(account, shardKey);
 
-        emailService.sendActivationEmail(account, activationToken);
+            // Publish event for Company Service to create profile and for Email Service to send activation link
+            CompanyRegisteredEvent event = buildCompanyRegisteredEvent(request, account.getId(), activationToken);
+            eventPublisherService.publishCompanyRegistered(event);
 
-        return ApiResponse.success(
-                "Registration successful! Please check your email to activate your account.",
-                null
-        );
+            emailService.sendActivationEmail(account, activationToken);
 
+            return ApiResponse.success(
+                    "Registration successful! Please check your email to activate your account.",
+                    null
+            );
+        }
     }
 
     @Override
     public ApiResponse<String> registerCompanyViaSso(SsoRegisterRequest request) {
 
         // Check if the account already exists
-        if (shardDirectQueryService.emailExistsInAnyShard(request.getEmail())) {
+        if (emailAlreadyRegistered(request.getEmail())) {
             log.warn("SSO registration failed: Account already exists - {}", request.getEmail());
             return ApiResponse.error("SSO account already registered");
         }
 
-        if (ssoProviderIdExistsInAnyShard(request.getProvider(), request.getSsoProviderId())) {
+        if (shardRoutingIndexService.ssoProviderIdExists(request.getProvider(), request.getSsoProviderId())) {
             log.warn("SSO registration failed: SSO account already exists - {}", request.getEmail());
             return ApiResponse.error("SSO account already registered");
         }
 
         Country country = request.getCountry();
-        String shardKey = country.getShardKey();
+        UUID accountId = UUID.randomUUID();
+        String shardKey = shardMap.shardFor(country, accountId);
 
-        // Set shard context BEFORE saving
-        ShardContext.setShardKey(shardKey);
         log.info("Registering SSO company in shard '{}' for country '{}'", shardKey, country.getDisplayName());
 
-        try {
+        // Set shard context BEFORE saving
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
             CompanyAccount account = CompanyAccount.builder()
+                    .id(accountId)
                     .email(request.getEmail())
                     .passwordHash(null) // SSO users don't have passwords
                     .country(request.getCountry())
@@ -141,35 +148,36 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
             // Cache the email-to-shard mapping
             shardLookupService.cacheEmailShard(request.getEmail(), shardKey);
+            emailBloomFilter.put(request.getEmail());
+
+            // Index the account ID and SSO identity so SSO logins hit exactly one shard
+            shardRoutingIndexService.indexAccount(account, shardKey);
 
             // Publish event for Company Service to create profile
             CompanyRegisteredEvent event = buildCompanyRegisteredEvent(request, account.getId(), null);
             eventPublisherService.publishCompanyRegistered(event);
 
             return ApiResponse.success("SSO registration successful!", null);
-        } finally {
-            ShardContext.clear();
         }
 
     }
 
     @Override
     public ApiResponse<String> activateAccount(ActivationRequest request) {
-        // Activation token lookup requires scatter-gather since we don't know the shard
-        // We need to search all shards for the activation token
-        CompanyAccount account = findAccountByActivationToken(request.getToken());
+        // Activation token lookup goes through the routing index (scatter-gather only on an index miss)
+        ShardDirectQueryService.AccountWithShard found = findAccountByActivationToken(request.getToken());
 
-        if (account == null) {
+        if (found == null) {
             log.warn("Activation failed: Invalid token");
             throw new IllegalArgumentException("Invalid activation token");
         }
 
-        // Set shard context based on the account's country
-        String shardKey = account.getCountry().getShardKey();
-        ShardContext.setShardKey(shardKey);
+        // Set shard context to the shard the account was found in
+        CompanyAccount account = found.account();
+        String shardKey = found.shardKey();
         log.info("Activating account in shard '{}' for email '{}'", shardKey, account.getEmail());
 
-        try {
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
             // Check if already activated
             if (account.getIsActivated()) {
                 log.info("Account already activated: {}", account.getEmail());
@@ -184,6 +192,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
             // Activate account - this will use the shard context we just set
             companyAccountRepository.activateAccount(account.getEmail());
+            shardRoutingIndexService.removeActivationToken(request.getToken());
             log.info("Account activated successfully: {}", account.getEmail());
 
             // Publish activation event
@@ -197,13 +206,11 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             emailService.sendWelcomeEmail(account);
 
             return ApiResponse.success("Account activated successfully! You can now login.", null);
-        } finally {
-            ShardContext.clear();
         }
     }
 
-    private CompanyAccount findAccountByPasswordResetToken(String token) {
-        return shardDirectQueryService.findByPasswordResetTokenAcrossShards(token)
+    private ShardDirectQueryService.AccountWithShard findAccountByPasswordResetToken(String token) {
+        return shardRoutingIndexService.findByPasswordResetToken(token)
                 .orElse(null);
     }
 
@@ -212,16 +219,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         log.info("Resend activation email requested for: {}", email);
 
         // Use ShardLookupService to find the account
-        CompanyAccount account = shardLookupService.findAccountByEmail(email)
+        ShardDirectQueryService.AccountWithShard found = shardLookupService.findAccountWithShardByEmail(email)
                 .orElseThrow(() -> {
                     log.warn("Resend activation failed: Email not found - {}", email);
                     return new IllegalArgumentException("Email not found");
                 });
+        CompanyAccount account = found.account();
 
-        // Shard context is already set by findAccountByEmail, but let's be explicit
-        ShardContext.setShardKey(account.getCountry().getShardKey());
-
-        try {
+        // Shard the account was found in, for the rest of this operation
+        try (ShardContext.Scope ignored = ShardContext.open(found.shardKey())) {
             // Check if already activated
             if (account.getIsActivated()) {
                 log.info("Cannot resend: Account already activated - {}", email);
@@ -232,10 +238,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             String newToken = UUID.randomUUID().toString();
             LocalDateTime newExpiry = LocalDateTime.now().plus(activationTokenExpiration, ChronoUnit.MILLIS);
 
+            String previousToken = account.getActivationToken();
             account.setActivationToken(newToken);
             account.setActivationTokenExpiry(newExpiry);
             companyAccountRepository.saveAndFlush(account);
 
+            shardRoutingIndexService.removeActivationToken(previousToken);
+            shardRoutingIndexService.indexAccount(account, found.shardKey());
+
             // Publish event for email service to resend activation email
             CompanyRegisteredEvent event = CompanyRegisteredEvent.builder()
                     .companyId(account.getId())
@@ -250,58 +260,73 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             log.info("Activation email resent to: {}", email);
 
             return ApiResponse.success("Activation email sent! Please check your inbox.", null);
-        } finally {
-            ShardContext.clear();
         }
     }
 
     @Override
-    public ApiResponse<AuthResponse> login(LoginRequest request) {
+    public ApiResponse<AuthResponse> login(LoginRequest request, String clientIp, String userAgent) {
+        // Refuse IPs with too many recent failures before touching the shards or bcrypt
+        if (loginAttemptLimiterService.isIpBlocked(clientIp)) {
+            log.warn("Login refused: Too many failed attempts from IP {}", clientIp);
+            return ApiResponse.error("Too many failed login attempts. Please try again later.");
+        }
+
         // Use ShardLookupService to find account across all shards
-        CompanyAccount account = shardLookupService.findAccountByEmail(request.getEmail())
+        ShardDirectQueryService.AccountWithShard found = shardLookupService.findAccountWithShardByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     log.warn("Login failed: Email not found - {}", request.getEmail());
+                    loginAttemptLimiterService.recordFailure(request.getEmail(), clientIp);
                     return new IllegalArgumentException("Invalid email or password");
                 });
+        CompanyAccount account = found.account();
 
         // Set shard context for subsequent operations
-        ShardContext.setShardKey(account.getCountry().getShardKey());
-
-        try {
+        try (ShardContext.Scope ignored = ShardContext.open(found.shardKey())) {
             // Check if account is locked
             if (account.getIsLocked()) {
                 log.warn("Login failed: Account is locked - {}", request.getEmail());
+                loginAuditService.recordAttempt(account, found.shardKey(), clientIp, userAgent, false, "ACCOUNT_LOCKED");
                 return ApiResponse.error("Account is locked due to multiple failed login attempts. Please try again later.");
             }
 
             // Check if account is activated
             if (!account.getIsActivated()) {
                 log.warn("Login failed: Account not activated - {}", request.getEmail());
+                loginAuditService.recordAttempt(account, found.shardKey(), clientIp, userAgent, false, "NOT_ACTIVATED");
                 return ApiResponse.error("Please activate your account first. Check your email for activation link.");
             }
 
             // Check if SSO user trying to login with password
             if (account.getAuthProvider() != AuthProvider.LOCAL) {
                 log.warn("Login failed: SSO user trying to use password login - {}", request.getEmail());
+                loginAuditService.recordAttempt(account, found.shardKey(), clientIp, userAgent, false, "SSO_ACCOUNT");
                 return ApiResponse.error("This account uses SSO login. Please login with " + account.getAuthProvider().name());
             }
 
             // Verify password
-            if (!passwordEncoder.matches(request.getPassword(), account.getPasswordHash())) {
+            if (!passwordHashingService.matches(request.getPassword(), account.getPasswordHash())) {
                 log.warn("Login failed: Invalid password - {}", request.getEmail());
-                handleFailedLogin(account);
+                loginAuditService.recordAttempt(account, found.shardKey(), clientIp, userAgent, false, "INVALID_PASSWORD");
+                handleFailedLogin(account, clientIp);
                 return ApiResponse.error("Invalid email or password");
             }
 
             // Reset failed login attempts on successful login
-            if (account.getFailedLoginAttempts() > 0) {
-                companyAccountRepository.resetFailedLoginAttempts(account.getEmail());
+            loginAttemptLimiterService.reset(account.getEmail());
+            loginAuditService.recordAttempt(account, found.shardKey(), clientIp, userAgent, true, null);
+
+            // Transparently move the hash to the configured bcrypt cost
+            if (passwordHashingService.needsRehash(account.getPasswordHash())) {
+                passwordHashingService.tryEncode(request.getPassword()).ifPresent(newHash -> {
+                    companyAccountRepository.updatePasswordHash(account.getEmail(), newHash);
+                    log.info("Password hash upgraded to the configured cost for: {}", account.getEmail());
+                });
             }
 
             String accessToken = jweTokenService.generateAccessToken(account);
             String refreshToken = jweTokenService.generateRefreshToken(account);
 
-            log.info("Login successful for: {} (shard: {})", request.getEmail(), account.getCountry().getShardKey());
+            log.info("Login successful for: {} (shard: {})", request.getEmail(), found.shardKey());
 
             // Clear any session invalidation flag (e.g., from country change)
             clearSessionInvalidation(account.getId());
@@ -318,8 +343,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                     .build();
 
             return ApiResponse.success("Login successful", authResponse);
-        } finally {
-            ShardContext.clear();
         }
     }
 
@@ -328,17 +351,16 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         log.info("SSO login attempt for provider ID: {}", ssoProviderId);
 
         // SSO login requires scatter-gather to find the account
-        CompanyAccount account = findAccountBySsoProviderId(ssoProviderId);
+        ShardDirectQueryService.AccountWithShard found = findAccountBySsoProviderId(ssoProviderId);
 
-        if (account == null) {
+        if (found == null) {
             log.warn("SSO login failed: User not found with provider ID - {}", ssoProviderId);
             throw new IllegalArgumentException("SSO user not found. Please register first.");
         }
+        CompanyAccount account = found.account();
 
         // Set shard context
-        ShardContext.setShardKey(account.getCountry().getShardKey());
-
-        try {
+        try (ShardContext.Scope ignored = ShardContext.open(found.shardKey())) {
             // Check if account is locked
             if (account.getIsLocked()) {
                 log.warn("SSO login failed: Account is locked - {}", account.getEmail());
@@ -354,7 +376,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             String accessToken = jweTokenService.generateAccessToken(account);
             String refreshToken = jweTokenService.generateRefreshToken(account);
 
-            log.info("SSO login successful for: {} (shard: {})", account.getEmail(), account.getCountry().getShardKey());
+            log.info("SSO login successful for: {} (shard: {})", account.getEmail(), found.shardKey());
 
             // Clear any session invalidation flag (e.g., from country change)
             clearSessionInvalidation(account.getId());
@@ -371,42 +393,35 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                     .build();
 
             return ApiResponse.success("SSO login successful", authResponse);
-        } finally {
-            ShardContext.clear();
         }
     }
 
-    private void handleFailedLogin(CompanyAccount account) {
-        LocalDateTime now = LocalDateTime.now();
-
-        // Increment failed attempts
-        companyAccountRepository.incrementFailedLoginAttempts(account.getEmail(), now);
-
-        int newFailedAttempts = account.getFailedLoginAttempts() + 1;
+    private void handleFailedLogin(CompanyAccount account, String clientIp) {
+        // Failures are counted in Redis (default: 5 within 60 seconds); only the lock itself hits the shard
+        if (!loginAttemptLimiterService.recordFailure(account.getEmail(), clientIp)
+                || Boolean.TRUE.equals(account.getIsLocked())) {
+            return;
+        }
 
-        // lock account when 5 failed attempts within 60 seconds
-        if (newFailedAttempts >= 5) {
-            LocalDateTime lastFailedTime = account.getLastFailedLoginTime();
+        LocalDateTime now = LocalDateTime.now();
 
-            if (lastFailedTime != null &&
-                    lastFailedTime.isAfter(now.minusSeconds(60))) {
-                // Lock account
-                companyAccountRepository.lockAccount(account.getEmail());
+        // Lock account; concurrent failures past the limit all get here, only the one that flips the flag notifies
+        if (companyAccountRepository.lockAccount(account.getEmail()) == 0) {
+            return;
+        }
 
-                // Publish account locked event
-                CompanyAccountLockedEvent event = CompanyAccountLockedEvent.builder()
-                        .companyId(account.getId())
-                        .email(account.getEmail())
-                        .reason("Multiple failed login attempts")
-                        .lockedAt(now)
-                        .build();
-                eventPublisherService.publishCompanyAccountLocked(event);
+        // Publish account locked event
+        CompanyAccountLockedEvent event = CompanyAccountLockedEvent.builder()
+                .companyId(account.getId())
+                .email(account.getEmail())
+                .reason("Multiple failed login attempts")
+                .lockedAt(now)
+                .build();
+        eventPublisherService.publishCompanyAccountLocked(event);
 
-                emailService.sendAccountLockedEmail(account);
+        emailService.sendAccountLockedEmail(account);
 
-                log.warn("Account locked due to brute force: {}", account.getEmail());
-            }
-        }
+        log.warn("Account locked due to brute force: {}", account.getEmail());
     }
 
     @Override
@@ -435,48 +450,36 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 return ApiResponse.error("Invalid or expired refresh token");
             }
 
-            // Get the user Id and country code
+            // Get the user Id
             UUID accountId = jweTokenService.extractUserId(claims);
-            String countryCode = jweTokenService.extractCountryCode(claims);
-
-            // Set shard context
-            if (countryCode != null) {
-                Country country = Country.fromCode(countryCode);
-                if (country != null) {
-                    ShardContext.setShardKey(country.getShardKey());
-                }
-            }
 
-            try {
-                // Get account from the correct shard
-                CompanyAccount account = companyAccountRepository.findById(accountId)
-                        .orElseThrow(() -> new IllegalArgumentException("Account not found in shard: " + countryCode));
-
-                // Check if account is still alive
-                if (!account.getIsActivated() || account.getIsLocked()) {
-                    log.warn("Token refresh failed: Account inactive or locked - {}", account.getEmail());
-                    return ApiResponse.error("Account is not active");
-                }
-
-                // Generate new access token
-                String newAccessToken = jweTokenService.generateAccessToken(account);
-                log.info("Token refreshed successfully for: {}", account.getEmail());
-
-                AuthResponse authResponse = AuthResponse.builder()
-                        .accessToken(newAccessToken)
-                        .refreshToken(request.getRefreshToken())
-                        .tokenType("Bearer")
-                        .expiresIn(86400L)
-                        .companyId(account.getId())
-                        .email(account.getEmail())
-                        .role(account.getRole())
-                        .authProvider(account.getAuthProvider())
-                        .build();
-
-                return ApiResponse.success("Token refreshed successfully", authResponse);
-            } finally {
-                ShardContext.clear();
+            // Get account from the shard it lives in (routing index, scatter-gather on a miss)
+            ShardDirectQueryService.AccountWithShard found = shardRoutingIndexService.findById(accountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+            CompanyAccount account = found.account();
+
+            // Check if account is still alive
+            if (!account.getIsActivated() || account.getIsLocked()) {
+                log.warn("Token refresh failed: Account inactive or locked - {}", account.getEmail());
+                return ApiResponse.error("Account is not active");
             }
+
+            // Generate new access token
+            String newAccessToken = jweTokenService.generateAccessToken(account);
+            log.info("Token refreshed successfully for: {}", account.getEmail());
+
+            AuthResponse authResponse = AuthResponse.builder()
+                    .accessToken(newAccessToken)
+                    .refreshToken(request.getRefreshToken())
+                    .tokenType("Bearer")
+                    .expiresIn(86400L)
+                    .companyId(account.getId())
+                    .email(account.getEmail())
+                    .role(account.getRole())
+                    .authProvider(account.getAuthProvider())
+                    .build();
+
+            return ApiResponse.success("Token refreshed successfully", authResponse);
         } catch (Exception e) {
             log.error("Token refresh failed: {}", e.getMessage());
             return ApiResponse.error("Can't refresh token: " + e.getMessage());
@@ -488,17 +491,17 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         log.info("Password reset requested for email: {}", request.getEmail());
 
         // Use ShardLookupService to find the account across shards
-        CompanyAccount account = shardLookupService.findAccountByEmail(request.getEmail())
+        ShardDirectQueryService.AccountWithShard found = shardLookupService.findAccountWithShardByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     log.warn("Password reset failed: Email not found - {}", request.getEmail());
                     return new IllegalArgumentException("Email not found");
                 });
+        CompanyAccount account = found.account();
 
         // Set shard context for subsequent operations
-        String shardKey = account.getCountry().getShardKey();
-        ShardContext.setShardKey(shardKey);
+        String shardKey = found.shardKey();
 
-        try {
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
             // Check if account is activated
             if (!account.getIsActivated()) {
                 log.warn("Password reset failed: Account not activated - {}", request.getEmail());
@@ -515,10 +518,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             String resetToken = UUID.randomUUID().toString();
             LocalDateTime tokenExpiry = LocalDateTime.now().plus(passwordResetTokenExpiration, ChronoUnit.MILLIS);
 
+            String previousToken = account.getPasswordResetToken();
             account.setPasswordResetToken(resetToken);
             account.setPasswordResetTokenExpiry(tokenExpiry);
             companyAccountRepository.save(account);
 
+            shardRoutingIndexService.removePasswordResetToken(previousToken);
+            shardRoutingIndexService.indexAccount(account, shardKey);
+
             // Send reset email
             emailService.sendPasswordResetEmail(account, resetToken);
 
@@ -527,8 +534,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                     "Password reset instructions have been sent to your email address.",
                     null
             );
-        } finally {
-            ShardContext.clear();
         }
     }
 
@@ -537,18 +542,18 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         log.info("Password reset attempt with token");
 
         // Find account by reset token across all shards using direct JDBC
-        CompanyAccount account = findAccountByPasswordResetToken(request.getToken());
+        ShardDirectQueryService.AccountWithShard found = findAccountByPasswordResetToken(request.getToken());
 
-        if (account == null) {
+        if (found == null) {
             log.warn("Password reset failed: Invalid token");
             throw new IllegalArgumentException("Invalid or expired reset token");
         }
+        CompanyAccount account = found.account();
 
         // Set shard context for the update operation
-        String shardKey = account.getCountry().getShardKey();
-        ShardContext.setShardKey(shardKey);
+        String shardKey = found.shardKey();
 
-        try {
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
             // Check if token expired
             if (account.getPasswordResetTokenExpiry().isBefore(LocalDateTime.now())) {
                 log.warn("Password reset failed: Token expired for {}", account.getEmail());
@@ -556,7 +561,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             }
 
             // Update password
-            account.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+            account.setPasswordHash(passwordHashingService.encode(request.getNewPassword()));
             account.setPasswordResetToken(null);
             account.setPasswordResetTokenExpiry(null);
 
@@ -565,13 +570,13 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             account.setIsLocked(false);
 
             companyAccountRepository.save(account);
+            shardRoutingIndexService.removePasswordResetToken(request.getToken());
+            loginAttemptLimiterService.reset(account.getEmail());
 
             emailService.sendPasswordChangedEmail(account);
 
             log.info("Password reset successfully for: {}", account.getEmail());
             return ApiResponse.success("Password has been reset successfully. You can now login with your new password.", null);
-        } finally {
-            ShardContext.clear();
         }
     }
 
@@ -582,17 +587,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         UUID id = UUID.fromString(companyId);
 
-        // Find account across shards
-        ShardDirectQueryService.AccountWithShard accountWithShard = shardDirectQueryService.findByIdAcrossShards(id)
+        // Find account through the routing index
+        ShardDirectQueryService.AccountWithShard accountWithShard = shardRoutingIndexService.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found"));
 
         CompanyAccount account = accountWithShard.account();
         String shardKey = accountWithShard.shardKey();
 
         // Set shard context
-        ShardContext.setShardKey(shardKey);
-
-        try {
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
             // SSO accounts cannot change password
             if (account.getAuthProvider() != AuthProvider.LOCAL) {
                 log.warn("Change password failed: SSO account - {}", account.getEmail());
@@ -600,13 +603,13 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             }
 
             // Verify current password
-            if (!passwordEncoder.matches(request.getCurrentPassword(), account.getPasswordHash())) {
+            if (!passwordHashingService.matches(request.getCurrentPassword(), account.getPasswordHash())) {
                 log.warn("Change password failed: Incorrect current password for {}", account.getEmail());
                 throw new IllegalArgumentException("Current password is incorrect");
             }
 
             // Update password
-            account.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+            account.setPasswordHash(passwordHashingService.encode(request.getNewPassword()));
             companyAccountRepository.save(account);
 
             // Send notification email
@@ -614,8 +617,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
             log.info("Password changed successfully for: {}", account.getEmail());
             return ApiResponse.success("Password has been changed successfully.", null);
-        } finally {
-            ShardContext.clear();
         }
     }
 
@@ -626,17 +627,15 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         UUID id = UUID.fromString(companyId);
 
-        // Find account across shards
-        ShardDirectQueryService.AccountWithShard accountWithShard = shardDirectQueryService.findByIdAcrossShards(id)
+        // Find account through the routing index
+        ShardDirectQueryService.AccountWithShard accountWithShard = shardRoutingIndexService.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found"));
 
         CompanyAccount account = accountWithShard.account();
         String shardKey = accountWithShard.shardKey();
 
         // Set shard context
-        ShardContext.setShardKey(shardKey);
-
-        try {
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
             // SSO accounts cannot change email
             if (account.getAuthProvider() != AuthProvider.LOCAL) {
                 log.warn("Change email failed: SSO account - {}", account.getEmail());
@@ -644,13 +643,13 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             }
 
             // Verify current password
-            if (!passwordEncoder.matches(request.getCurrentPassword(), account.getPasswordHash())) {
+            if (!passwordHashingService.matches(request.getCurrentPassword(), account.getPasswordHash())) {
                 log.warn("Change email failed: Incorrect password for {}", account.getEmail());
                 throw new IllegalArgumentException("Password is incorrect");
             }
 
             // Check if new email already exists
-            if (shardDirectQueryService.emailExistsInAnyShard(request.getNewEmail())) {
+            if (emailAlreadyRegistered(request.getNewEmail())) {
                 log.warn("Change email failed: Email {} already exists", request.getNewEmail());
                 throw new IllegalArgumentException("This email is already in use");
             }
@@ -669,64 +668,58 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             shardLookupService.cacheEmailShard(request.getNewEmail(), shardKey);
             log.info("Cached new email '{}' to shard '{}' in Redis", request.getNewEmail(), shardKey);
 
+            // No registration event for email changes, so tell the other instances directly
+            emailBloomFilter.putAndBroadcast(request.getNewEmail());
+
             // Send confirmation email to new address
             emailService.sendEmailChangedConfirmation(account);
 
             log.info("Email changed successfully from {} to {}", oldEmail, request.getNewEmail());
             return ApiResponse.success("Email has been changed successfully. A confirmation has been sent to your new email.", null);
 
-        } finally {
-            ShardContext.clear();
         }
     }
 
     /**
-     * Find account by activation token across all shards (scatter-gather)
+     * Bloom filter pre-check first: a negative answer skips the database entirely.
+     * A positive answer is confirmed against the shards (cached email shard first, scatter-gather on a miss).
      */
-    private CompanyAccount findAccountByActivationToken(String token) {
-        return shardDirectQueryService.findByActivationTokenAcrossShards(token)
+    private boolean emailAlreadyRegistered(String email) {
+        if (!emailBloomFilter.mightContain(email)) {
+            return false;
+        }
+
+        // Runs in its own shard scope, the caller's shard (e.g. changeEmail) is restored afterwards
+        return shardLookupService.emailExistsInAnyShard(email);
+    }
+
+    /**
+     * Find account by activation token (routing index, scatter-gather on a miss)
+     */
+    private ShardDirectQueryService.AccountWithShard findAccountByActivationToken(String token) {
+        return shardRoutingIndexService.findByActivationToken(token)
                 .orElse(null);
     }
 
     /**
-     * Find account by SSO provider ID across all shards (scatter-gather)
+     * Find account by SSO provider ID (routing index, scatter-gather on a miss)
      */
-    private CompanyAccount findAccountBySsoProviderId(String ssoProviderId) {
-        Optional<CompanyAccount> accountOpt = shardDirectQueryService
-                .findBySsoProviderIdAcrossShards(AuthProvider.GOOGLE, ssoProviderId);
+    private ShardDirectQueryService.AccountWithShard findAccountBySsoProviderId(String ssoProviderId) {
+        Optional<ShardDirectQueryService.AccountWithShard> accountOpt = shardRoutingIndexService
+                .findBySsoProviderId(AuthProvider.GOOGLE, ssoProviderId);
 
         if (accountOpt.isPresent()) {
-            CompanyAccount account = accountOpt.get();
             // Cache the email-to-shard mapping for future lookups
             shardLookupService.cacheEmailShard(
-                    account.getEmail(),
-                    account.getCountry().getShardKey()
+                    accountOpt.get().account().getEmail(),
+                    accountOpt.get().shardKey()
             );
-            return account;
+            return accountOpt.get();
         }
 
         return null;
     }
 
-    /**
-     * Get all shard keys for scatter-gather operations
-     */
-    private List<String> getShardKeys() {
-        return java.util.List.of(
-                "auth_shard_vn",
-                "auth_shard_sg",
-                "auth_shard_asia",
-                "auth_shard_oceania",
-                "auth_shard_na",
-                "auth_shard_eu",
-                "auth_shard_others"
-        );
-    }
-
-    private boolean ssoProviderIdExistsInAnyShard(AuthProvider provider, String ssoProviderId) {
-        return shardDirectQueryService.ssoProviderIdExistsInAnyShard(provider, ssoProviderId);
-    }
-
     /**
      * Builder for CompanyRegisteredEvent.
      * Ensures all registration flows emit consistent Kafka events with required fields.
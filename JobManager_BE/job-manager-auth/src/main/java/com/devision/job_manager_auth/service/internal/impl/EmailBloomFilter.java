@@ -0,0 +1,261 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory bloom filter over every registered email (lower-cased), used as a pre-check before the shard queries.
+ *
+ * A negative answer means the email is definitely not registered, so registration can skip the database.
+ * A positive answer may be a false positive and must be confirmed against the shards.
+ *
+ * The filter is rebuilt at startup by streaming the emails of every shard. Until the rebuild has finished
+ * (or if it failed) every email is reported as "might exist", so callers always fall back to the database.
+ * New registrations arrive through the company.registered Kafka topic; email changes, which have no Kafka event,
+ * are broadcast to the other auth instances over Redis pub/sub.
+ */
+@Component
+@Slf4j
+public class EmailBloomFilter implements MessageListener {
+
+    private static final String EMAIL_ADDED_CHANNEL = "auth:email-filter-added";
+    private static final int REBUILD_PAGE_SIZE = 5000;
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final ShardDirectQueryService shardDirectQueryService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Counter negativeCounter;
+    private final Counter positiveCounter;
+    private final Counter bypassCounter;
+
+    // Filter answering queries; null until the first rebuild completes
+    private volatile BitFilter active;
+    // Filter being rebuilt; receives the same additions as the active one so nothing is lost during the swap
+    private volatile BitFilter building;
+
+    public EmailBloomFilter(
+            ShardDirectQueryService shardDirectQueryService,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.email-bloom-filter.enabled:true}") boolean enabled,
+            @Value("${app.email-bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${app.email-bloom-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.shardDirectQueryService = shardDirectQueryService;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.negativeCounter = checkCounter(meterRegistry, "negative");
+        this.positiveCounter = checkCounter(meterRegistry, "positive");
+        this.bypassCounter = checkCounter(meterRegistry, "bypass");
+
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(EMAIL_ADDED_CHANNEL));
+        }
+    }
+
+    /**
+     * @return false only if the email is definitely not registered
+     */
+    public boolean mightContain(String email) {
+        BitFilter filter = active;
+        if (filter == null) {
+            bypassCounter.increment();
+            return true;
+        }
+
+        boolean result = filter.mightContain(normalize(email));
+        (result ? positiveCounter : negativeCounter).increment();
+        return result;
+    }
+
+    /**
+     * Record a registered email on this instance only (e.g. from the company.registered event)
+     */
+    public void put(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        String normalized = normalize(email);
+
+        // Read "building" before "active": the rebuild publishes active before clearing building,
+        // so one of the two always sees the addition
+        BitFilter next = building;
+        if (next != null) {
+            next.put(normalized);
+        }
+        BitFilter current = active;
+        if (current != null) {
+            current.put(normalized);
+        }
+    }
+
+    /**
+     * Record an email on this instance and broadcast it to the other auth instances
+     */
+    public void putAndBroadcast(String email) {
+        put(email);
+        if (enabled && email != null) {
+            redisTemplate.convertAndSend(EMAIL_ADDED_CHANNEL, normalize(email));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        put(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a fresh filter from all shards and swap it in. On failure the previous filter (or pass-through mode) stays.
+     */
+    public void rebuild() {
+        for (int attempt = 1; attempt <= REBUILD_ATTEMPTS; attempt++) {
+            BitFilter next = new BitFilter(expectedInsertions, falsePositiveRate);
+            building = next;
+            try {
+                long start = System.currentTimeMillis();
+                for (String shardKey : shardDirectQueryService.getShardKeys()) {
+                    shardDirectQueryService.forEachEmailInShard(shardKey, REBUILD_PAGE_SIZE,
+                            email -> next.put(normalize(email)));
+                }
+                active = next;
+                log.info("Email bloom filter rebuilt with {} emails in {} ms",
+                        next.size(), System.currentTimeMillis() - start);
+                if (next.size() > expectedInsertions) {
+                    log.warn("Email bloom filter holds {} emails, above the expected {}; false positive rate will rise",
+                            next.size(), expectedInsertions);
+                }
+                return;
+            } catch (Exception e) {
+                log.error("Email bloom filter rebuild attempt {}/{} failed: {}", attempt, REBUILD_ATTEMPTS, e.getMessage());
+            } finally {
+                building = null;
+            }
+
+            try {
+                Thread.sleep(1000L * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.error("Email bloom filter is unavailable; registration checks will query the shards directly");
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Counter checkCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.email-filter.check")
+                .description("Email existence pre-checks answered by the bloom filter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lock-free bit array with k hash functions derived from one 64-bit hash (double hashing)
+     */
+    private static final class BitFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLong size = new AtomicLong();
+
+        BitFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            long h1 = fmix64(hash);
+            long h2 = fmix64(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+            size.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            long h1 = fmix64(hash);
+            long h2 = fmix64(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long size() {
+            return size.get();
+        }
+
+        // 64-bit FNV-1a over the UTF-8 bytes
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // MurmurHash3 finalizer, spreads the FNV bits before double hashing
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb93e1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
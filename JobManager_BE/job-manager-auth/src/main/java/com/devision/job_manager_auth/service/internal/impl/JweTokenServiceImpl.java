@@ -1,8 +1,10 @@
 package com.devision.job_manager_auth.service.internal.impl;
 
 import com.devision.job_manager_auth.config.jwe.JweProperties;
+import com.devision.job_manager_auth.config.security.ParsedToken;
 import com.devision.job_manager_auth.entity.CompanyAccount;
 import com.devision.job_manager_auth.service.internal.JweTokenService;
+import com.devision.job_manager_auth.service.internal.TokenStatusService;
 import com.nimbusds.jose.EncryptionMethod;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWEAlgorithm;
@@ -17,9 +19,9 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
@@ -28,12 +30,17 @@ public class JweTokenServiceImpl implements JweTokenService {
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
     private final RedisTemplate<String, String> redisTemplate;
+    private final TokenStatusService tokenStatusService;
+
+    private volatile RSADecrypter decrypter;
+    private volatile RSAEncrypter encrypter;
 
     private static final String REVOKED_TOKEN_PREFIX = "revoked-token:";
 
     public JweTokenServiceImpl(
             JweProperties jweProperties,
             RedisTemplate<String, String> redisTemplate,
+            TokenStatusService tokenStatusService,
             @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
             @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration
     ) {
@@ -41,6 +48,39 @@ public class JweTokenServiceImpl implements JweTokenService {
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
         this.redisTemplate = redisTemplate;
+        this.tokenStatusService = tokenStatusService;
+    }
+
+    /**
+     * RSAEncrypter / RSADecrypter are thread-safe; build them once instead of per token.
+     * Created lazily so that the keys are only parsed when first needed.
+     */
+    private RSADecrypter decrypter() {
+        RSADecrypter result = decrypter;
+        if (result == null) {
+            synchronized (this) {
+                result = decrypter;
+                if (result == null) {
+                    result = new RSADecrypter(jweProperties.getPrivateKey());
+                    decrypter = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private RSAEncrypter encrypter() {
+        RSAEncrypter result = encrypter;
+        if (result == null) {
+            synchronized (this) {
+                result = encrypter;
+                if (result == null) {
+                    result = new RSAEncrypter(jweProperties.getPublicKey());
+                    encrypter = result;
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -59,8 +99,7 @@ public class JweTokenServiceImpl implements JweTokenService {
             EncryptedJWT encryptedJWT = EncryptedJWT.parse(token);
 
             // Decrypt
-            RSADecrypter decrypter = new RSADecrypter(jweProperties.getPrivateKey());
-            encryptedJWT.decrypt(decrypter);
+            encryptedJWT.decrypt(decrypter());
 
             // Get the claims
             JWTClaimsSet claims = encryptedJWT.getJWTClaimsSet();
@@ -79,6 +118,25 @@ public class JweTokenServiceImpl implements JweTokenService {
         }
     }
 
+    @Override
+    public ParsedToken parseToken(String token) {
+        JWTClaimsSet claims = validateAndDecryptToken(token);
+        if (claims == null) {
+            return null;
+        }
+
+        return new ParsedToken(
+                extractTokenId(claims),
+                extractTokenType(claims),
+                extractUserId(claims),
+                extractEmail(claims),
+                extractRole(claims),
+                extractCountryCode(claims),
+                claims.getExpirationTime(),
+                claims
+        );
+    }
+
     @Override
     public UUID extractUserId(JWTClaimsSet claims) {
         try {
@@ -132,73 +190,71 @@ public class JweTokenServiceImpl implements JweTokenService {
 
     @Override
     public JWTClaimsSet isValidAccessToken(String token) {
-        JWTClaimsSet claims = validateAndDecryptToken(token);
-        if (claims == null) return null;
-
-        if (!"ACCESS".equals(extractTokenType(claims))) {
+        ParsedToken parsedToken = parseToken(token);
+        if (parsedToken == null || !parsedToken.isAccessToken()) {
             return null;
         }
 
-        if (isTokenRevoked(token)) {
-            log.warn("ACCESS Token has been revoked, user ID: {}", extractUserId(claims));
+        if (isTokenRevoked(parsedToken)) {
+            log.warn("ACCESS Token has been revoked, user ID: {}", parsedToken.getUserId());
             return null;
         }
 
-        log.info("Access token is valid for user ID: {}", extractUserId(claims));
-        return claims;
+        log.info("Access token is valid for user ID: {}", parsedToken.getUserId());
+        return parsedToken.getClaims();
     }
 
     @Override
     public JWTClaimsSet isValidRefreshToken(String token) {
-        JWTClaimsSet claims = validateAndDecryptToken(token);
-        if (claims == null) return null;
-
-        if (!"REFRESH".equals(extractTokenType(claims))) {
+        ParsedToken parsedToken = parseToken(token);
+        if (parsedToken == null || !parsedToken.isRefreshToken()) {
             return null;
         }
 
-        if (isTokenRevoked(token)) {
-            log.warn("REFRESH Token has been revoked, user ID: {}", extractUserId(claims));
+        if (isTokenRevoked(parsedToken)) {
+            log.warn("REFRESH Token has been revoked, user ID: {}", parsedToken.getUserId());
             return null;
         }
 
-        log.info("Refresh token is valid for user ID: {}", extractUserId(claims));
-        return claims;
+        log.info("Refresh token is valid for user ID: {}", parsedToken.getUserId());
+        return parsedToken.getClaims();
     }
 
     @Override
     public void revokeToken(String token) {
-        JWTClaimsSet claims = validateAndDecryptToken(token);
-        if (claims == null) {
+        ParsedToken parsedToken = parseToken(token);
+        if (parsedToken == null) {
             log.warn("Token is invalid or expired, cannot revoke it: {}", token);
             return;
         }
 
-        String tokenId = extractTokenId(claims);
-        String tokenType = extractTokenType(claims);
+        revokeToken(parsedToken);
+    }
 
+    @Override
+    public void revokeToken(ParsedToken token) {
         // Calculate remaining time for the token
-        long expirationTime = claims.getExpirationTime().getTime();
-        long currentTime = System.currentTimeMillis();
-        long ttlMillis = expirationTime - currentTime;
+        long ttlMillis = token.getRemainingMillis();
 
         if (ttlMillis > 0) {
             // Store in redis with ttl matching token expiration
-            String redisKey = REVOKED_TOKEN_PREFIX + tokenId;
-            redisTemplate.opsForValue().set(redisKey, tokenType,ttlMillis, TimeUnit.MILLISECONDS);
+            tokenStatusService.markTokenRevoked(token.getTokenId(), token.getTokenType(), Duration.ofMillis(ttlMillis));
         }
-
     }
 
     @Override
     public boolean isTokenRevoked(String token) {
-        JWTClaimsSet claims = validateAndDecryptToken(token);
-        if (claims == null) {
+        ParsedToken parsedToken = parseToken(token);
+        if (parsedToken == null) {
             return true; // Invalid token is treated as revoked
         }
 
-        String tokenId = extractTokenId(claims);
-        String redisKey = REVOKED_TOKEN_PREFIX + tokenId;
+        return isTokenRevoked(parsedToken);
+    }
+
+    @Override
+    public boolean isTokenRevoked(ParsedToken token) {
+        String redisKey = REVOKED_TOKEN_PREFIX + token.getTokenId();
 
         return Boolean.TRUE.equals(redisTemplate.hasKey(redisKey));
     }
@@ -230,8 +286,7 @@ public class JweTokenServiceImpl implements JweTokenService {
             EncryptedJWT encryptedJWT = new EncryptedJWT(header, claimsSet);
 
             // Encrypt with the public key
-            RSAEncrypter encrypter = new RSAEncrypter(jweProperties.getPublicKey());
-            encryptedJWT.encrypt(encrypter);
+            encryptedJWT.encrypt(encrypter());
 
             return encryptedJWT.serialize();
 
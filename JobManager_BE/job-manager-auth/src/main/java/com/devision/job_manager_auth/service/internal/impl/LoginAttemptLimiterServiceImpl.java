@@ -0,0 +1,138 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import com.devision.job_manager_auth.service.internal.LoginAttemptLimiterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Each window is a sorted set of failure timestamps. Adding a failure, pruning entries older than the window,
+ * refreshing the TTL and counting run as one Lua script, so concurrent failures on several auth instances
+ * are counted exactly. Every failure at or past the limit reports it, so an account unlocked while its window
+ * is still full is locked again; the caller only persists the lock when the account is not locked yet.
+ *
+ * Redis errors fail open: logins keep working without brute-force counting rather than being refused.
+ */
+@Service
+@Slf4j
+public class LoginAttemptLimiterServiceImpl implements LoginAttemptLimiterService {
+
+    private static final String ACCOUNT_PREFIX = "login-failures:account:";
+    private static final String IP_PREFIX = "login-failures:ip:";
+
+    // KEYS[1] = window key; ARGV = now (ms), window (ms), member. Returns the failure count inside the window.
+    private static final RedisScript<Long> RECORD_FAILURE_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "local window = tonumber(ARGV[2]) " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window) " +
+            "redis.call('ZADD', KEYS[1], now, ARGV[3]) " +
+            "redis.call('PEXPIRE', KEYS[1], window) " +
+            "return redis.call('ZCARD', KEYS[1])",
+            Long.class);
+
+    // KEYS[1] = window key; ARGV = now (ms), window (ms). Returns the failure count inside the window.
+    private static final RedisScript<Long> COUNT_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "return redis.call('ZCOUNT', KEYS[1], now - tonumber(ARGV[2]), '+inf')",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int accountMaxFailures;
+    private final long accountWindowMs;
+    private final int ipMaxFailures;
+    private final long ipWindowMs;
+
+    private final Counter ipBlockedCounter;
+    private final Counter accountLockedCounter;
+
+    public LoginAttemptLimiterServiceImpl(
+            RedisTemplate<String, String> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.login-limiter.account.max-failures:5}") int accountMaxFailures,
+            @Value("${app.login-limiter.account.window-ms:60000}") long accountWindowMs,
+            @Value("${app.login-limiter.ip.max-failures:50}") int ipMaxFailures,
+            @Value("${app.login-limiter.ip.window-ms:600000}") long ipWindowMs
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.accountMaxFailures = accountMaxFailures;
+        this.accountWindowMs = accountWindowMs;
+        this.ipMaxFailures = ipMaxFailures;
+        this.ipWindowMs = ipWindowMs;
+        this.ipBlockedCounter = Counter.builder("auth.login-limiter.blocked")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        this.accountLockedCounter = Counter.builder("auth.login-limiter.blocked")
+                .tag("scope", "account")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isIpBlocked(String ipAddress) {
+        if (ipAddress == null) {
+            return false;
+        }
+        try {
+            Long count = redisTemplate.execute(COUNT_SCRIPT, List.of(IP_PREFIX + ipAddress),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(ipWindowMs));
+            boolean blocked = count != null && count >= ipMaxFailures;
+            if (blocked) {
+                ipBlockedCounter.increment();
+            }
+            return blocked;
+        } catch (Exception e) {
+            log.warn("Login limiter unavailable, IP check skipped: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean recordFailure(String email, String ipAddress) {
+        try {
+            if (ipAddress != null) {
+                recordInWindow(IP_PREFIX + ipAddress, ipWindowMs);
+            }
+            long failures = recordInWindow(ACCOUNT_PREFIX + normalize(email), accountWindowMs);
+
+            // At or past the limit: an account unlocked while the window is still full must lock again.
+            // The caller only persists the lock if the account is not locked yet.
+            if (failures >= accountMaxFailures) {
+                accountLockedCounter.increment();
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            log.warn("Login limiter unavailable, failure not counted for {}: {}", email, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void reset(String email) {
+        try {
+            redisTemplate.delete(ACCOUNT_PREFIX + normalize(email));
+        } catch (Exception e) {
+            log.warn("Login limiter unavailable, failure window not cleared for {}: {}", email, e.getMessage());
+        }
+    }
+
+    private long recordInWindow(String key, long windowMs) {
+        Long count = redisTemplate.execute(RECORD_FAILURE_SCRIPT, List.of(key),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(windowMs),
+                UUID.randomUUID().toString());
+        return count != null ? count : 0;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,220 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import com.devision.job_manager_auth.config.sharding.ShardContext;
+import com.devision.job_manager_auth.entity.CompanyAccount;
+import com.devision.job_manager_auth.entity.LoginAttempt;
+import com.devision.job_manager_auth.repository.LoginAttemptRepository;
+import com.devision.job_manager_auth.service.internal.LoginAuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer + single writer thread for login_attempt rows.
+ *
+ * The writer drains the buffer when batch-size attempts are waiting or flush-interval-ms has passed,
+ * groups them by shard and writes each group with one JDBC batch insert.
+ *
+ * Backpressure: login threads never wait. When the buffer is full the attempt is dropped, either the new one
+ * (DROP_NEWEST) or the oldest buffered one (DROP_OLDEST), and counted in auth.login-audit.dropped.
+ * Batches that fail to write are dropped as well; audit rows are telemetry, not a source of truth.
+ */
+@Service
+@Slf4j
+public class LoginAuditServiceImpl implements LoginAuditService {
+
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST
+    }
+
+    private record PendingAttempt(String shardKey, LoginAttempt attempt) {}
+
+    private final ShardDirectQueryService shardDirectQueryService;
+    private final LoginAttemptRepository loginAttemptRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration retention;
+
+    private final ArrayBlockingQueue<PendingAttempt> buffer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    public LoginAuditServiceImpl(
+            ShardDirectQueryService shardDirectQueryService,
+            LoginAttemptRepository loginAttemptRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.login-audit.enabled:true}") boolean enabled,
+            @Value("${app.login-audit.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.login-audit.batch-size:500}") int batchSize,
+            @Value("${app.login-audit.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${app.login-audit.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+            @Value("${app.login-audit.retention-days:90}") long retentionDays
+    ) {
+        this.shardDirectQueryService = shardDirectQueryService;
+        this.loginAttemptRepository = loginAttemptRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.retention = Duration.ofDays(retentionDays);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        this.writtenCounter = Counter.builder("auth.login-audit.written")
+                .description("Login attempts written to the login_attempt table")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("auth.login-audit.dropped")
+                .description("Login attempts dropped because the buffer was full or the write failed")
+                .register(meterRegistry);
+        Gauge.builder("auth.login-audit.buffer.size", buffer, ArrayBlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startWriter() {
+        if (!enabled) {
+            return;
+        }
+        writerThread = new Thread(this::runWriter, "login-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void recordAttempt(CompanyAccount account, String shardKey, String ipAddress, String userAgent,
+                              boolean success, String failureReason) {
+        if (!enabled || account == null || account.getId() == null || shardKey == null) {
+            return;
+        }
+
+        LoginAttempt attempt = LoginAttempt.builder()
+                .id(UUID.randomUUID())
+                .account(CompanyAccount.builder().id(account.getId()).build())
+                .ipAddress(truncate(ipAddress, 64))
+                .attemptedAt(LocalDateTime.now())
+                .isSuccess(success)
+                .userAgent(truncate(userAgent, 512))
+                .failureReason(truncate(failureReason, 255))
+                .build();
+        PendingAttempt pending = new PendingAttempt(shardKey, attempt);
+
+        if (buffer.offer(pending)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST && buffer.poll() != null) {
+            droppedCounter.increment();
+            if (buffer.offer(pending)) {
+                return;
+            }
+        }
+        droppedCounter.increment();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.login-audit.purge-cron:0 30 3 * * *}")
+    public void purgeExpiredAttempts() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        for (String shardKey : shardDirectQueryService.getShardKeys()) {
+            try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
+                int deleted = loginAttemptRepository.deleteByAttemptedAtBefore(cutoff);
+                log.info("Purged {} login attempts older than {} from shard {}", deleted, cutoff, shardKey);
+            } catch (Exception e) {
+                log.error("Failed to purge login attempts from shard {}: {}", shardKey, e.getMessage());
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<PendingAttempt> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingAttempt next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                buffer.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingAttempt> batch) {
+        Map<String, List<LoginAttempt>> byShard = new LinkedHashMap<>();
+        for (PendingAttempt pending : batch) {
+            byShard.computeIfAbsent(pending.shardKey(), key -> new ArrayList<>()).add(pending.attempt());
+        }
+
+        byShard.forEach((shardKey, attempts) -> {
+            try {
+                shardDirectQueryService.insertLoginAttemptsInShard(attempts, shardKey);
+                writtenCounter.increment(attempts.size());
+            } catch (Exception e) {
+                // One bad row (e.g. its account was moved or deleted meanwhile) fails the whole batch; retry row by row
+                log.warn("Batch insert of {} login attempts into shard {} failed, retrying one by one: {}",
+                        attempts.size(), shardKey, e.getMessage());
+                attempts.forEach(attempt -> insertOne(attempt, shardKey));
+            }
+        });
+    }
+
+    private void insertOne(LoginAttempt attempt, String shardKey) {
+        try {
+            shardDirectQueryService.insertLoginAttemptsInShard(List.of(attempt), shardKey);
+            writtenCounter.increment();
+        } catch (Exception e) {
+            droppedCounter.increment();
+            log.warn("Dropped login attempt of account {} for shard {}: {}",
+                    attempt.getAccount().getId(), shardKey, e.getMessage());
+        }
+    }
+
+    // The writer sees running == false within one flush interval, writes what is still buffered and exits
+    @PreDestroy
+    void stopWriter() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(flushIntervalMs + TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -1,8 +1,11 @@
 package com.devision.job_manager_auth.service.internal.impl;
 
+import com.devision.job_manager_auth.config.sharding.ShardMap;
+import com.devision.job_manager_auth.config.sharding.ShardingProperties;
 import com.devision.job_manager_auth.entity.AuthProvider;
 import com.devision.job_manager_auth.entity.CompanyAccount;
 import com.devision.job_manager_auth.entity.Country;
+import com.devision.job_manager_auth.entity.LoginAttempt;
 import com.devision.job_manager_auth.entity.Role;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -11,25 +14,19 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
 public class ShardDirectQueryService {
 
     private final Map<String, JdbcTemplate> shardJdbcTemplates;
-
-    private static final List<String> SHARD_KEYS = List.of(
-            "auth_shard_vn",
-            "auth_shard_sg",
-            "auth_shard_asia",
-            "auth_shard_oceania",
-            "auth_shard_na",
-            "auth_shard_eu",
-            "auth_shard_others"
-    );
+    private final ShardScatterGatherExecutor scatterGatherExecutor;
+    private final ShardMap shardMap;
 
     private static final String EXISTS_BY_EMAIL_SQL = """
         SELECT COUNT(*) FROM company_account
@@ -81,113 +78,210 @@ public class ShardDirectQueryService {
             WHERE id = ?
             """;
 
+    private static final String EMAIL_PAGE_SQL = """
+            SELECT email FROM company_account
+            WHERE email > ?
+            ORDER BY email
+            LIMIT ?
+            """;
+
+    private static final String FIND_PAGE_BY_COUNTRIES_SQL = """
+            SELECT id, email, password_hash, country, auth_provider, sso_provider_id,
+                   role, is_activated, activation_token, activation_token_expiry,
+                   failed_login_attempts, is_locked, last_failed_login_time,
+                   password_reset_token, password_reset_token_expiry,
+                   created_at, updated_at
+            FROM company_account
+            WHERE country = ANY(?) AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String FIND_BY_IDS_SQL = """
+            SELECT id, email, password_hash, country, auth_provider, sso_provider_id,
+                   role, is_activated, activation_token, activation_token_expiry,
+                   failed_login_attempts, is_locked, last_failed_login_time,
+                   password_reset_token, password_reset_token_expiry,
+                   created_at, updated_at
+            FROM company_account
+            WHERE id = ANY(?)
+            ORDER BY id
+            """;
+
+    // Copies a row verbatim (timestamps included); never overwrites a row that was updated after the copy was taken
+    private static final String UPSERT_ACCOUNT_SQL = """
+            INSERT INTO company_account (
+                id, email, password_hash, country, auth_provider, sso_provider_id,
+                role, is_activated, activation_token, activation_token_expiry,
+                failed_login_attempts, is_locked, last_failed_login_time,
+                password_reset_token, password_reset_token_expiry,
+                created_at, updated_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET
+                email = EXCLUDED.email,
+                password_hash = EXCLUDED.password_hash,
+                country = EXCLUDED.country,
+                auth_provider = EXCLUDED.auth_provider,
+                sso_provider_id = EXCLUDED.sso_provider_id,
+                role = EXCLUDED.role,
+                is_activated = EXCLUDED.is_activated,
+                activation_token = EXCLUDED.activation_token,
+                activation_token_expiry = EXCLUDED.activation_token_expiry,
+                failed_login_attempts = EXCLUDED.failed_login_attempts,
+                is_locked = EXCLUDED.is_locked,
+                last_failed_login_time = EXCLUDED.last_failed_login_time,
+                password_reset_token = EXCLUDED.password_reset_token,
+                password_reset_token_expiry = EXCLUDED.password_reset_token_expiry,
+                created_at = EXCLUDED.created_at,
+                updated_at = EXCLUDED.updated_at
+            WHERE company_account.updated_at <= EXCLUDED.updated_at
+            """;
+
+    // Per-row MD5 over all columns of company_account (alias c), used to verify a copy between shards row by row
+    private static final String ROW_DIGEST_EXPR = """
+            md5(concat_ws('|',
+                c.id, c.email, c.password_hash, c.country, c.auth_provider, c.sso_provider_id,
+                c.role, c.is_activated, c.activation_token, c.activation_token_expiry,
+                c.failed_login_attempts, c.is_locked, c.last_failed_login_time,
+                c.password_reset_token, c.password_reset_token_expiry,
+                c.created_at, c.updated_at))""";
+
+    private static final String ROW_DIGESTS_SQL =
+            "SELECT c.id, c.updated_at, " + ROW_DIGEST_EXPR + " AS digest " +
+            "FROM company_account c WHERE c.id = ANY(?)";
+
+    // Deletes only rows whose digest still matches (FOR UPDATE re-checks rows updated concurrently);
+    // login_attempt references company_account without ON DELETE CASCADE, so the audit rows go in the same statement
+    private static final String DELETE_UNCHANGED_SQL =
+            "WITH expected AS (SELECT * FROM unnest(?::uuid[], ?::text[]) AS e(id, digest)), " +
+            "unchanged AS (" +
+            "  SELECT c.id FROM company_account c JOIN expected e ON e.id = c.id " +
+            "  WHERE " + ROW_DIGEST_EXPR + " = e.digest FOR UPDATE OF c), " +
+            "removed_attempts AS (DELETE FROM login_attempt WHERE account_id IN (SELECT id FROM unchanged)) " +
+            "DELETE FROM company_account WHERE id IN (SELECT id FROM unchanged) RETURNING id";
+
+    private static final String DELETE_BY_ID_SQL = """
+            WITH removed_attempts AS (DELETE FROM login_attempt WHERE account_id = ?)
+            DELETE FROM company_account WHERE id = ?
+            """;
+
+    private static final String FIND_LOGIN_ATTEMPTS_BY_ACCOUNTS_SQL = """
+            SELECT id, account_id, ip_address, attempted_at, is_success, user_agent, failure_reason
+            FROM login_attempt
+            WHERE account_id = ANY(?)
+            """;
+
+    // Copies audit rows verbatim; rows already copied by an earlier (interrupted) move are skipped
+    private static final String COPY_LOGIN_ATTEMPT_SQL = """
+            INSERT INTO login_attempt (
+                id, account_id, ip_address, attempted_at, is_success, user_agent, failure_reason
+            ) VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private static final String INSERT_LOGIN_ATTEMPT_SQL = """
+            INSERT INTO login_attempt (
+                id, account_id, ip_address, attempted_at, is_success, user_agent, failure_reason
+            ) VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
     public ShardDirectQueryService(
-            @Qualifier("shardDataSources") Map<String, DataSource> shardDataSources) {
+            @Qualifier("shardDataSources") Map<String, DataSource> shardDataSources,
+            ShardingProperties shardingProperties,
+            ShardMap shardMap,
+            ShardScatterGatherExecutor scatterGatherExecutor) {
+
+        this.scatterGatherExecutor = scatterGatherExecutor;
+        this.shardMap = shardMap;
+
+        // JDBC query timeout is in whole seconds; round up so it never undercuts the configured shard timeout
+        long shardTimeoutMs = shardingProperties.getScatterGather().getShardTimeoutMs();
+        int queryTimeoutSeconds = (int) Math.max(1, (shardTimeoutMs + 999) / 1000);
 
         this.shardJdbcTemplates = new HashMap<>();
         for (Map.Entry<String, DataSource> entry : shardDataSources.entrySet()) {
-            this.shardJdbcTemplates.put(entry.getKey(), new JdbcTemplate(entry.getValue()));
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(entry.getValue());
+            jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+            this.shardJdbcTemplates.put(entry.getKey(), jdbcTemplate);
             log.info("Created JdbcTemplate for shard: {}", entry.getKey());
         }
         log.info("ShardDirectQueryService initialized with {} shards", shardJdbcTemplates.size());
     }
 
     /**
-     * Find account by activation token across all shards (scatter-gather)
+     * Find account by activation token across all shards (parallel scatter-gather)
      */
-    public Optional<CompanyAccount> findByActivationTokenAcrossShards(String token) {
+    public Optional<AccountWithShard> findByActivationTokenAcrossShards(String token) {
         log.debug("Searching for activation token across all shards");
 
-        for (String shardKey : SHARD_KEYS) {
-            JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
-            if (jdbcTemplate == null) {
-                log.warn("No JdbcTemplate found for shard: {}", shardKey);
-                continue;
-            }
+        Optional<AccountWithShard> result = findFirstAccount("activation-token", FIND_BY_ACTIVATION_TOKEN_SQL, token)
+                .map(hit -> new AccountWithShard(hit.value(), hit.shardKey()));
 
-            try {
-                log.debug("Querying shard '{}' for activation token", shardKey);
-                List<CompanyAccount> results = jdbcTemplate.query(
-                        FIND_BY_ACTIVATION_TOKEN_SQL,
-                        new CompanyAccountRowMapper(),
-                        token
-                );
-
-                if (!results.isEmpty()) {
-                    log.info("Found account with activation token in shard '{}'", shardKey);
-                    return Optional.of(results.get(0));
-                }
-                log.debug("Activation token not found in shard '{}'", shardKey);
-            } catch (Exception e) {
-                log.error("Error querying shard '{}' for activation token: {}", shardKey, e.getMessage());
-            }
+        if (result.isEmpty()) {
+            log.warn("Activation token not found in any shard");
         }
-
-        log.warn("Activation token not found in any shard");
-        return Optional.empty();
+        return result;
     }
 
     /**
-     * Find account by password reset token across all shards (scatter-gather)
+     * Find account by password reset token across all shards (parallel scatter-gather)
      */
-    public Optional<CompanyAccount> findByPasswordResetTokenAcrossShards(String token) {
+    public Optional<AccountWithShard> findByPasswordResetTokenAcrossShards(String token) {
         log.debug("Searching for password reset token across all shards");
 
-        for (String shardKey : SHARD_KEYS) {
-            JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
-            if (jdbcTemplate == null) continue;
-
-            try {
-                log.debug("Querying shard '{}' for password reset token", shardKey);
-                List<CompanyAccount> results = jdbcTemplate.query(
-                        FIND_BY_PASSWORD_RESET_TOKEN_SQL,
-                        new CompanyAccountRowMapper(),
-                        token
-                );
-
-                if (!results.isEmpty()) {
-                    log.info("Found account with password reset token in shard '{}'", shardKey);
-                    return Optional.of(results.get(0));
-                }
-            } catch (Exception e) {
-                log.error("Error querying shard '{}' for password reset token: {}", shardKey, e.getMessage());
-            }
-        }
+        Optional<AccountWithShard> result = findFirstAccount("password-reset-token", FIND_BY_PASSWORD_RESET_TOKEN_SQL, token)
+                .map(hit -> new AccountWithShard(hit.value(), hit.shardKey()));
 
-        log.warn("Password reset token not found in any shard");
-        return Optional.empty();
+        if (result.isEmpty()) {
+            log.warn("Password reset token not found in any shard");
+        }
+        return result;
     }
 
     /**
-     * Find account by SSO provider ID across all shards (scatter-gather)
+     * Find account by SSO provider ID across all shards (parallel scatter-gather)
      */
-    public Optional<CompanyAccount> findBySsoProviderIdAcrossShards(AuthProvider provider, String ssoProviderId) {
+    public Optional<AccountWithShard> findBySsoProviderIdAcrossShards(AuthProvider provider, String ssoProviderId) {
         log.debug("Searching for SSO provider ID across all shards");
 
-        for (String shardKey : SHARD_KEYS) {
-            JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
-            if (jdbcTemplate == null) continue;
-
-            try {
-                log.debug("Querying shard '{}' for SSO provider ID", shardKey);
-                List<CompanyAccount> results = jdbcTemplate.query(
-                        FIND_BY_SSO_PROVIDER_SQL,
-                        new CompanyAccountRowMapper(),
-                        provider.name(),
-                        ssoProviderId
-                );
-
-                if (!results.isEmpty()) {
-                    log.info("Found account with SSO provider ID in shard '{}'", shardKey);
-                    return Optional.of(results.get(0));
-                }
-            } catch (Exception e) {
-                log.error("Error querying shard '{}' for SSO provider ID: {}", shardKey, e.getMessage());
-            }
+        Optional<AccountWithShard> result = findFirstAccount("sso-provider-id", FIND_BY_SSO_PROVIDER_SQL,
+                provider.name(), ssoProviderId)
+                .map(hit -> new AccountWithShard(hit.value(), hit.shardKey()));
+
+        if (result.isEmpty()) {
+            log.debug("SSO provider ID not found in any shard");
         }
+        return result;
+    }
+
+    /**
+     * Find account by activation token in a single, already known shard
+     */
+    public Optional<CompanyAccount> findByActivationTokenInShard(String token, String shardKey) {
+        return findAccountInShard(shardKey, FIND_BY_ACTIVATION_TOKEN_SQL, token);
+    }
+
+    /**
+     * Find account by password reset token in a single, already known shard
+     */
+    public Optional<CompanyAccount> findByPasswordResetTokenInShard(String token, String shardKey) {
+        return findAccountInShard(shardKey, FIND_BY_PASSWORD_RESET_TOKEN_SQL, token);
+    }
+
+    /**
+     * Find account by SSO provider ID in a single, already known shard
+     */
+    public Optional<CompanyAccount> findBySsoProviderIdInShard(AuthProvider provider, String ssoProviderId, String shardKey) {
+        return findAccountInShard(shardKey, FIND_BY_SSO_PROVIDER_SQL, provider.name(), ssoProviderId);
+    }
 
-        log.debug("SSO provider ID not found in any shard");
-        return Optional.empty();
+    /**
+     * Find account by ID in a single, already known shard
+     */
+    public Optional<CompanyAccount> findByIdInShard(UUID companyId, String shardKey) {
+        return findAccountInShard(shardKey, FIND_BY_ID_SQL, companyId);
     }
 
     /**
@@ -196,51 +290,21 @@ public class ShardDirectQueryService {
     public boolean ssoProviderIdExistsInAnyShard(AuthProvider provider, String ssoProviderId) {
         log.debug("Checking if SSO provider ID exists in any shard");
 
-        for (String shardKey : SHARD_KEYS) {
-            JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
-            if (jdbcTemplate == null) continue;
-
-            try {
-                Integer count = jdbcTemplate.queryForObject(
-                        EXISTS_BY_SSO_PROVIDER_SQL,
-                        Integer.class,
-                        provider.name(),
-                        ssoProviderId
-                );
+        Optional<String> shardKey = findFirstShardWithMatch("sso-provider-exists", EXISTS_BY_SSO_PROVIDER_SQL,
+                provider.name(), ssoProviderId);
 
-                if (count != null && count > 0) {
-                    log.info("SSO provider ID exists in shard '{}'", shardKey);
-                    return true;
-                }
-            } catch (Exception e) {
-                log.error("Error checking shard '{}' for SSO provider ID: {}", shardKey, e.getMessage());
-            }
-        }
-
-        return false;
+        shardKey.ifPresent(key -> log.info("SSO provider ID exists in shard '{}'", key));
+        return shardKey.isPresent();
     }
 
     public boolean emailExistsInAnyShard(String email) {
         log.debug("Checking if email '{}' exists in any shard", email);
 
-        for (String shardKey : SHARD_KEYS) {
-            JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
-            if (jdbcTemplate == null) continue;
+        Optional<String> shardKey = findShardByEmailAcrossShards(email);
 
-            try {
-                Integer count = jdbcTemplate.queryForObject(
-                        EXISTS_BY_EMAIL_SQL,
-                        Integer.class,
-                        email
-                );
-
-                if (count != null && count > 0) {
-                    log.info("Email '{}' already exists in shard '{}'", email, shardKey);
-                    return true;
-                }
-            } catch (Exception e) {
-                log.error("Error checking shard '{}' for email: {}", shardKey, e.getMessage());
-            }
+        if (shardKey.isPresent()) {
+            log.info("Email '{}' already exists in shard '{}'", email, shardKey.get());
+            return true;
         }
 
         log.debug("Email '{}' not found in any shard", email);
@@ -248,47 +312,271 @@ public class ShardDirectQueryService {
     }
 
     /**
-     * Find account by ID across all shards (scatter-gather)
+     * Find which shard holds the given email (parallel scatter-gather)
+     */
+    public Optional<String> findShardByEmailAcrossShards(String email) {
+        return findFirstShardWithMatch("email-exists", EXISTS_BY_EMAIL_SQL, email);
+    }
+
+    /**
+     * Find account by ID across all shards (parallel scatter-gather)
      * Returns a record containing both the account and the shard key where it was found
      */
     public Optional<AccountWithShard> findByIdAcrossShards(UUID companyId) {
         log.debug("Searching for company ID {} across all shards", companyId);
 
-        for (String shardKey : SHARD_KEYS) {
-            JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
-            if (jdbcTemplate == null) continue;
-
-            try {
-                log.debug("Querying shard '{}' for company ID {}", shardKey, companyId);
-                List<CompanyAccount> results = jdbcTemplate.query(
-                        FIND_BY_ID_SQL,
-                        new CompanyAccountRowMapper(),
-                        companyId
-                );
-
-                if (!results.isEmpty()) {
-                    log.info("Found company account with ID {} in shard '{}'", companyId, shardKey);
-                    return Optional.of(new AccountWithShard(results.get(0), shardKey));
-                }
-            } catch (Exception e) {
-                log.error("Error querying shard '{}' for company ID {}: {}", shardKey, companyId, e.getMessage());
+        Optional<AccountWithShard> result = findFirstAccount("id", FIND_BY_ID_SQL, companyId)
+                .map(hit -> new AccountWithShard(hit.value(), hit.shardKey()));
+
+        if (result.isPresent()) {
+            log.info("Found company account with ID {} in shard '{}'", companyId, result.get().shardKey());
+        } else {
+            log.warn("Company account with ID {} not found in any shard", companyId);
+        }
+        return result;
+    }
+
+    private Optional<CompanyAccount> findAccountInShard(String shardKey, String sql, Object... args) {
+        JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
+        if (jdbcTemplate == null) {
+            log.warn("No JdbcTemplate found for shard: {}", shardKey);
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(sql, new CompanyAccountRowMapper(), args).stream().findFirst();
+    }
+
+    private Optional<ShardScatterGatherExecutor.ShardHit<CompanyAccount>> findFirstAccount(
+            String operation, String sql, Object... args) {
+        return scatterGatherExecutor.findFirst(operation, availableShardKeys(), shardKey -> {
+            List<CompanyAccount> results = shardJdbcTemplates.get(shardKey)
+                    .query(sql, new CompanyAccountRowMapper(), args);
+            return results.stream().findFirst();
+        });
+    }
+
+    private Optional<String> findFirstShardWithMatch(String operation, String countSql, Object... args) {
+        return scatterGatherExecutor.findFirst(operation, availableShardKeys(), shardKey -> {
+            Integer count = shardJdbcTemplates.get(shardKey).queryForObject(countSql, Integer.class, args);
+            return count != null && count > 0 ? Optional.of(shardKey) : Optional.<String>empty();
+        }).map(ShardScatterGatherExecutor.ShardHit::shardKey);
+    }
+
+    private List<String> availableShardKeys() {
+        return shardMap.getShardKeys().stream()
+                .filter(shardKey -> {
+                    if (!shardJdbcTemplates.containsKey(shardKey)) {
+                        log.warn("No JdbcTemplate found for shard: {}", shardKey);
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+    }
+
+    /**
+     * Stream every email stored in one shard, page by page (keyset pagination on the unique email index)
+     */
+    public void forEachEmailInShard(String shardKey, int pageSize, Consumer<String> action) {
+        JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
+        if (jdbcTemplate == null) {
+            throw new IllegalStateException("No JdbcTemplate found for shard: " + shardKey);
+        }
+
+        String lastEmail = "";
+        while (true) {
+            List<String> page = jdbcTemplate.queryForList(EMAIL_PAGE_SQL, String.class, lastEmail, pageSize);
+            page.forEach(action);
+            if (page.size() < pageSize) {
+                return;
             }
+            lastEmail = page.get(page.size() - 1);
+        }
+    }
+
+    /**
+     * Next keyset page of accounts with one of the given countries, ordered by ID
+     *
+     * @param afterId Last ID of the previous page, or null for the first page
+     */
+    public List<CompanyAccount> findAccountsPage(String shardKey, Collection<Country> countries, UUID afterId, int limit) {
+        String[] countryNames = countries.stream().map(Country::name).toArray(String[]::new);
+        return requireJdbcTemplate(shardKey).query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(FIND_PAGE_BY_COUNTRIES_SQL);
+                    ps.setArray(1, connection.createArrayOf("varchar", countryNames));
+                    ps.setObject(2, afterId != null ? afterId : MIN_UUID);
+                    ps.setInt(3, limit);
+                    return ps;
+                },
+                new CompanyAccountRowMapper());
+    }
+
+    public List<CompanyAccount> findAccountsByIds(List<UUID> ids, String shardKey) {
+        return requireJdbcTemplate(shardKey).query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(FIND_BY_IDS_SQL);
+                    ps.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+                    return ps;
+                },
+                new CompanyAccountRowMapper());
+    }
+
+    /**
+     * Copy accounts into a shard with one JDBC batch. Existing rows are replaced unless they are newer.
+     */
+    public void upsertAccountsInShard(List<CompanyAccount> accounts, String shardKey) {
+        List<Object[]> batchArgs = accounts.stream()
+                .map(account -> new Object[]{
+                        account.getId(),
+                        account.getEmail(),
+                        account.getPasswordHash(),
+                        account.getCountry() != null ? account.getCountry().name() : null,
+                        account.getAuthProvider() != null ? account.getAuthProvider().name() : null,
+                        account.getSsoProviderId(),
+                        account.getRole() != null ? account.getRole().name() : null,
+                        account.getIsActivated(),
+                        account.getActivationToken(),
+                        toTimestamp(account.getActivationTokenExpiry()),
+                        account.getFailedLoginAttempts(),
+                        account.getIsLocked(),
+                        toTimestamp(account.getLastFailedLoginTime()),
+                        account.getPasswordResetToken(),
+                        toTimestamp(account.getPasswordResetTokenExpiry()),
+                        toTimestamp(account.getCreatedAt()),
+                        toTimestamp(account.getUpdatedAt())
+                })
+                .toList();
+
+        requireJdbcTemplate(shardKey).batchUpdate(UPSERT_ACCOUNT_SQL, batchArgs);
+        log.debug("Upserted {} company accounts into shard {}", accounts.size(), shardKey);
+    }
+
+    /**
+     * updated_at and MD5 over all columns of each of the given accounts present in the shard, keyed by account ID
+     */
+    public Map<UUID, AccountDigest> digestAccounts(List<UUID> ids, String shardKey) {
+        Map<UUID, AccountDigest> digests = new HashMap<>();
+        requireJdbcTemplate(shardKey).query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(ROW_DIGESTS_SQL);
+                    ps.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+                    return ps;
+                },
+                rs -> {
+                    java.sql.Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    digests.put(rs.getObject("id", UUID.class), new AccountDigest(
+                            updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                            rs.getString("digest")));
+                });
+        return digests;
+    }
+
+    /**
+     * Delete the given accounts (and their login audit rows) from a shard in one statement, but only those whose
+     * row digest (see {@link #digestAccounts}) still equals the expected one; rows changed since are left alone
+     *
+     * @return IDs of the deleted accounts
+     */
+    public Set<UUID> deleteAccountsIfUnchanged(Map<UUID, String> expectedDigests, String shardKey) {
+        if (expectedDigests.isEmpty()) {
+            return Set.of();
+        }
+        List<UUID> ids = new ArrayList<>(expectedDigests.keySet());
+        List<String> digests = ids.stream().map(expectedDigests::get).toList();
+
+        Set<UUID> deleted = new HashSet<>();
+        requireJdbcTemplate(shardKey).query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(DELETE_UNCHANGED_SQL);
+                    ps.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+                    ps.setArray(2, connection.createArrayOf("text", digests.toArray()));
+                    return ps;
+                },
+                rs -> {
+                    deleted.add(rs.getObject("id", UUID.class));
+                });
+        return deleted;
+    }
+
+    /**
+     * Copy the login audit rows of the given accounts from one shard to another (before the accounts are deleted
+     * from the source). Must run after the accounts themselves exist in the target.
+     *
+     * @return number of audit rows read from the source
+     */
+    public int copyLoginAttempts(List<UUID> accountIds, String sourceShardKey, String targetShardKey) {
+        List<Object[]> rows = requireJdbcTemplate(sourceShardKey).query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(FIND_LOGIN_ATTEMPTS_BY_ACCOUNTS_SQL);
+                    ps.setArray(1, connection.createArrayOf("uuid", accountIds.toArray()));
+                    return ps;
+                },
+                (rs, rowNum) -> new Object[]{
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("account_id", UUID.class),
+                        rs.getString("ip_address"),
+                        rs.getTimestamp("attempted_at"),
+                        rs.getBoolean("is_success"),
+                        rs.getString("user_agent"),
+                        rs.getString("failure_reason")
+                });
+
+        if (!rows.isEmpty()) {
+            requireJdbcTemplate(targetShardKey).batchUpdate(COPY_LOGIN_ATTEMPT_SQL, rows);
+        }
+        log.debug("Copied {} login attempts of {} accounts from shard {} to {}",
+                rows.size(), accountIds.size(), sourceShardKey, targetShardKey);
+        return rows.size();
+    }
+
+    /**
+     * Insert login audit rows into a shard with one JDBC batch
+     */
+    public void insertLoginAttemptsInShard(List<LoginAttempt> attempts, String shardKey) {
+        List<Object[]> batchArgs = attempts.stream()
+                .map(attempt -> new Object[]{
+                        attempt.getId() != null ? attempt.getId() : UUID.randomUUID(),
+                        attempt.getAccount().getId(),
+                        attempt.getIpAddress(),
+                        toTimestamp(attempt.getAttemptedAt()),
+                        attempt.getIsSuccess(),
+                        attempt.getUserAgent(),
+                        attempt.getFailureReason()
+                })
+                .toList();
+
+        requireJdbcTemplate(shardKey).batchUpdate(INSERT_LOGIN_ATTEMPT_SQL, batchArgs);
+        log.debug("Inserted {} login attempts into shard {}", attempts.size(), shardKey);
+    }
+
+    public boolean hasShard(String shardKey) {
+        return shardJdbcTemplates.containsKey(shardKey);
+    }
+
+    private JdbcTemplate requireJdbcTemplate(String shardKey) {
+        JdbcTemplate jdbcTemplate = shardJdbcTemplates.get(shardKey);
+        if (jdbcTemplate == null) {
+            throw new IllegalStateException("No JdbcTemplate found for shard: " + shardKey);
         }
+        return jdbcTemplate;
+    }
 
-        log.warn("Company account with ID {} not found in any shard", companyId);
-        return Optional.empty();
+    private static java.sql.Timestamp toTimestamp(java.time.LocalDateTime value) {
+        return value != null ? java.sql.Timestamp.valueOf(value) : null;
     }
 
+    public record AccountDigest(java.time.LocalDateTime updatedAt, String digest) {}
+
     /**
      * Record to hold both the account and the shard where it was found
      */
     public record AccountWithShard(CompanyAccount account, String shardKey) {}
 
     /**
-     * Get all shard keys
+     * Get all shard keys (from the shard map)
      */
     public List<String> getShardKeys() {
-        return SHARD_KEYS;
+        return shardMap.getShardKeys();
     }
 
     /**
@@ -340,7 +628,7 @@ public class ShardDirectQueryService {
     }
 
     /**
-     * Delete a company account from a specific shard using direct JDBC.
+     * Delete a company account (and its login audit rows) from a specific shard using direct JDBC.
      * This avoids Hibernate session issues when doing cross-shard operations.
      */
     public void deleteAccountFromShard(UUID companyId, String shardKey) {
@@ -349,8 +637,7 @@ public class ShardDirectQueryService {
             throw new IllegalStateException("No JdbcTemplate found for shard: " + shardKey);
         }
 
-        String deleteSql = "DELETE FROM company_account WHERE id = ?";
-        int rowsAffected = jdbcTemplate.update(deleteSql, companyId);
+        int rowsAffected = jdbcTemplate.update(DELETE_BY_ID_SQL, companyId, companyId);
 
         if (rowsAffected > 0) {
             log.info("Deleted company account {} from shard {}", companyId, shardKey);
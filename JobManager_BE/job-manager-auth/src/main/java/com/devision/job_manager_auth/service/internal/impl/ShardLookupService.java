@@ -1,35 +1,32 @@
 package com.devision.job_manager_auth.service.internal.impl;
 
 import com.devision.job_manager_auth.config.sharding.ShardContext;
-import com.devision.job_manager_auth.config.sharding.ShardingProperties;
 import com.devision.job_manager_auth.entity.CompanyAccount;
 import com.devision.job_manager_auth.repository.CompanyAccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ShardLookupService {
     private final RedisTemplate<String, String> redisTemplate;
-    private final ShardingProperties shardingProperties;
     private final CompanyAccountRepository companyAccountRepository;
+    private final ShardDirectQueryService shardDirectQueryService;
 
     private static final Duration CACHE_TTL = Duration.ofDays(30);
     private static final String EMAIL_SHARD_PREFIX = "email:shard:";
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
-
     /**
      * First checks Redis cache, then falls back to scatter-gather across all shards to find which shard contains the account
      *
@@ -56,6 +53,14 @@ public class ShardLookupService {
      *
      */
     public Optional<CompanyAccount> findAccountByEmail(String email) {
+        return findAccountWithShardByEmail(email).map(ShardDirectQueryService.AccountWithShard::account);
+    }
+
+    /**
+     * Same as {@link #findAccountByEmail}, but also returns the shard the account was found in.
+     * Callers must use that shard for further writes: the country alone does not identify it (see ShardMap).
+     */
+    public Optional<ShardDirectQueryService.AccountWithShard> findAccountWithShardByEmail(String email) {
         String shardKey = findShardByEmail(email);
 
         if (shardKey == null) {
@@ -63,63 +68,24 @@ public class ShardLookupService {
             return Optional.empty();
         }
 
-        ShardContext.setShardKey(shardKey);
-        try {
-            return companyAccountRepository.findByEmail(email);
-        } finally {
-//            let the interceptor handle it
-        }
+        // Only the lookup runs in the shard; callers open their own scope with the returned shard key
+        return ShardContext.callInShard(shardKey, () -> companyAccountRepository.findByEmail(email)
+                .map(account -> new ShardDirectQueryService.AccountWithShard(account, shardKey)));
     }
 
     /**
-     * Since querying all shards at once runs into problems, I query all shards sequentially to find the email
+     * Query all shards in parallel (direct JDBC pools) to find the shard holding the email
      */
     private String scatterGatherFindByEmail(String email) {
-        List<String> shardKeys = new ArrayList<>(shardingProperties.getShards().keySet());
-
-        log.debug("Scatter-gather searching for email '{}' across {} shards", email, shardKeys.size());
-
-        for (String shardKey : shardKeys) {
-//            CompletableFuture<Optional<String>> future = CompletableFuture.supplyAsync(() -> {
-//                try {
-//                    ShardContext.setShardKey(shardKey);
-//
-//                    boolean exists = companyAccountRepository.existsByEmail(email);
-//
-//                    if (exists) {
-//                        log.debug("Email '{}' found in shard '{}'", email, shardKey);
-//                        return Optional.of(shardKey);
-//                    }
-//                    return Optional.empty();
-//                } catch (Exception e) {
-//                    log.error("Error querying shard '{}' for email '{}': {}",
-//                            shardKey, email, e.getMessage());
-//                    return Optional.empty();
-//                } finally {
-//                    ShardContext.clear();
-//                }
-//            }, executorService);
-//            futures.add(future);
-
-            try {
-                ShardContext.setShardKey(shardKey);
-                log.debug("Checking shard '{}' for email '{}'", shardKey, email);
-                boolean exists = companyAccountRepository.existsByEmail(email);
-                if (exists) {
-                    log.info("Email '{}' found in shard '{}'", email, shardKey);
-                    return shardKey;
-                }
-            } catch (Exception e) {
-                log.error("Error querying shard '{}' for email '{}': {}", shardKey, email, e.getMessage());
+        log.debug("Scatter-gather searching for email '{}' across all shards", email);
 
-            } finally {
-                ShardContext.clear();
-            }
+        String shardKey = shardDirectQueryService.findShardByEmailAcrossShards(email).orElse(null);
+        if (shardKey != null) {
+            log.info("Email '{}' found in shard '{}'", email, shardKey);
+        } else {
+            log.debug("Email '{}' not found in any shard", email);
         }
-
-        log.debug("Email '{}' not found in any shard", email);
-
-        return null;
+        return shardKey;
     }
 
     public boolean emailExistsInAnyShard(String email) {
@@ -127,8 +93,7 @@ public class ShardLookupService {
         String cachedShard = getCachedShard(email);
         if (cachedShard != null) {
             // Go verify if the account still exists in the database
-            ShardContext.setShardKey(cachedShard);
-            try {
+            try (ShardContext.Scope ignored = ShardContext.open(cachedShard)) {
                 boolean exists = companyAccountRepository.existsByEmail(email);
                 if (!exists) {
                     log.warn("Email '{}' not found in shard '{}'", email, cachedShard);
@@ -136,8 +101,6 @@ public class ShardLookupService {
                     return false;
                 }
                 return true;
-            } finally {
-                ShardContext.clear();
             }
 
         }
@@ -151,6 +114,23 @@ public class ShardLookupService {
         redisTemplate.opsForValue().set(key, shardKey, CACHE_TTL);
     }
 
+    /**
+     * Point many emails at the same shard in one pipelined round trip (used when accounts are moved in bulk)
+     */
+    public void cacheEmailShards(Collection<String> emails, String shardKey) {
+        byte[] value = shardKey.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String email : emails) {
+                connection.stringCommands().set(
+                        (EMAIL_SHARD_PREFIX + email.toLowerCase()).getBytes(StandardCharsets.UTF_8),
+                        value,
+                        Expiration.from(CACHE_TTL),
+                        RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+    }
+
     private String getCachedShard(String email) {
         String key = EMAIL_SHARD_PREFIX + email.toLowerCase();
         return redisTemplate.opsForValue().get(key);
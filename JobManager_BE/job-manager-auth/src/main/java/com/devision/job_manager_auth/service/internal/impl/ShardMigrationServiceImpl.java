@@ -1,16 +1,18 @@
 package com.devision.job_manager_auth.service.internal.impl;
 
 import com.devision.job_manager_auth.config.sharding.ShardContext;
+import com.devision.job_manager_auth.config.sharding.ShardMap;
 import com.devision.job_manager_auth.entity.CompanyAccount;
 import com.devision.job_manager_auth.entity.Country;
 import com.devision.job_manager_auth.repository.CompanyAccountRepository;
 import com.devision.job_manager_auth.service.internal.ShardMigrationService;
+import com.devision.job_manager_auth.service.internal.TokenStatusService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -18,24 +20,25 @@ import java.util.UUID;
 @Slf4j
 public class ShardMigrationServiceImpl implements ShardMigrationService {
     
-    private static final String SESSION_INVALIDATION_PREFIX = "session-invalidated:";
     private static final Duration SESSION_INVALIDATION_TTL = Duration.ofDays(7);
     
     private final CompanyAccountRepository companyAccountRepository;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenStatusService tokenStatusService;
     private final ShardDirectQueryService shardDirectQueryService;
     private final ShardLookupService shardLookupService;
+    private final ShardRoutingIndexService shardRoutingIndexService;
+    private final ShardMap shardMap;
 
     @Override
     public void migrateCompanyAccount(UUID companyId, String previousCountryCode, String newCountryCode) {
         log.info("Starting shard migration for company ID: {} (country: {} -> {})",
                 companyId, previousCountryCode, newCountryCode);
         
-        // Step 1: Find the account across all shards (scatter-gather)
+        // Step 1: Find the account through the routing index (scatter-gather on a miss)
         // This is necessary because the previousCountryCode from company service
         // may not match the actual shard where the account is stored
         ShardDirectQueryService.AccountWithShard accountWithShard = 
-                shardDirectQueryService.findByIdAcrossShards(companyId)
+                shardRoutingIndexService.findById(companyId)
                         .orElseThrow(() -> new IllegalStateException(
                                 "Company account not found in any shard: " + companyId));
         
@@ -52,7 +55,7 @@ public class ShardMigrationServiceImpl implements ShardMigrationService {
             newCountry = Country.OTHER;
         }
         
-        String targetShardKey = newCountry.getShardKey();
+        String targetShardKey = shardMap.shardFor(newCountry, account.getId());
         
         // If same shard, just update the country field
         if (sourceShardKey.equals(targetShardKey)) {
@@ -85,13 +88,19 @@ public class ShardMigrationServiceImpl implements ShardMigrationService {
         shardDirectQueryService.insertAccountInShard(newAccount, targetShardKey);
         log.info("Created company account in target shard: {}", targetShardKey);
         
-        // Step 3: Delete from source shard using JDBC
+        // Move the login audit history along (login_attempt references the account)
+        shardDirectQueryService.copyLoginAttempts(List.of(companyId), sourceShardKey, targetShardKey);
+
+        // Step 3: Delete from source shard using JDBC (audit rows included)
         shardDirectQueryService.deleteAccountFromShard(companyId, sourceShardKey);
         log.info("Deleted company account from source shard: {}", sourceShardKey);
         
         // Step 4: Update the email-to-shard cache to point to new shard
         shardLookupService.cacheEmailShard(email, targetShardKey);
         log.info("Updated email cache: {} -> {}", email, targetShardKey);
+
+        // Re-point the routing index (ID, SSO identity, pending tokens) to the new shard
+        shardRoutingIndexService.indexAccount(newAccount, targetShardKey);
         
         // Step 5: Invalidate user session to force re-login with new country in JWT
         invalidateUserSession(companyId);
@@ -101,8 +110,7 @@ public class ShardMigrationServiceImpl implements ShardMigrationService {
     }
     
     private void updateCountryInSameShard(UUID companyId, Country newCountry, String shardKey) {
-        try {
-            ShardContext.setShardKey(shardKey);
+        try (ShardContext.Scope ignored = ShardContext.open(shardKey)) {
             CompanyAccount account = companyAccountRepository.findById(companyId)
                     .orElseThrow(() -> new IllegalStateException(
                             "Company account not found: " + companyId));
@@ -115,8 +123,6 @@ public class ShardMigrationServiceImpl implements ShardMigrationService {
             
             log.info("Updated country for company ID: {} to {} in shard {}", 
                     companyId, newCountry.getCode(), shardKey);
-        } finally {
-            ShardContext.clear();
         }
     }
     
@@ -126,8 +132,7 @@ public class ShardMigrationServiceImpl implements ShardMigrationService {
      * with the updated country code.
      */
     private void invalidateUserSession(UUID companyId) {
-        String redisKey = SESSION_INVALIDATION_PREFIX + companyId.toString();
-        redisTemplate.opsForValue().set(redisKey, "country_changed", SESSION_INVALIDATION_TTL);
+        tokenStatusService.invalidateSession(companyId, "country_changed", SESSION_INVALIDATION_TTL);
         log.info("Invalidated session for company ID: {} (requires re-login)", companyId);
     }
 }
@@ -0,0 +1,439 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import com.devision.job_manager_auth.config.sharding.ShardMap;
+import com.devision.job_manager_auth.dto.internal.ShardRebalanceProgress;
+import com.devision.job_manager_auth.dto.internal.ShardRebalanceRequest;
+import com.devision.job_manager_auth.entity.CompanyAccount;
+import com.devision.job_manager_auth.entity.Country;
+import com.devision.job_manager_auth.service.internal.ShardRebalanceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves accounts between shards in keyset-paged batches:
+ * copy (JDBC batch upsert) -> verify (per-row updated_at + digest on both shards) -> flip routing caches -> delete from source.
+ *
+ * The checkpoint (last moved ID and counters) is stored in Redis after every batch, so a paused, failed or
+ * interrupted job resumes where it stopped. A Redis lock keeps one job from running on two instances at once.
+ * The lock value is a per-run token; it is only renewed and released by the run that owns it.
+ * Each batch is idempotent: the upsert never overwrites a newer row and the delete only runs after verification.
+ *
+ * New accounts are placed through the shard map, so the moved countries must already include the target shard
+ * in their shard map entry before the job starts. Only accounts the map places in the target are moved.
+ */
+@Service
+@Slf4j
+public class ShardRebalanceServiceImpl implements ShardRebalanceService {
+
+    private static final String JOB_KEY_PREFIX = "shard-rebalance:job:";
+    private static final String LOCK_KEY_PREFIX = "shard-rebalance:lock:";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(2);
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(30);
+    private static final int VERIFY_ATTEMPTS = 3;
+
+    // KEYS[1] = lock key; ARGV[1] = owner token. Deletes the lock only if this owner still holds it.
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+
+    // KEYS[1] = lock key; ARGV = owner token, TTL (ms). Extends the lock only if this owner still holds it.
+    private static final RedisScript<Long> RENEW_LOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end " +
+            "return 0",
+            Long.class);
+
+    private final ShardDirectQueryService shardDirectQueryService;
+    private final ShardLookupService shardLookupService;
+    private final ShardRoutingIndexService shardRoutingIndexService;
+    private final ShardMap shardMap;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int defaultBatchSize;
+    private final int defaultMaxRowsPerSecond;
+
+    // Jobs running on this instance -> stop flag
+    private final Map<String, AtomicBoolean> runningJobs = new ConcurrentHashMap<>();
+    // Throughput gauges (rows/s) per job; kept so the same gauge is reused when a job resumes
+    private final Map<String, AtomicLong> throughputGauges = new ConcurrentHashMap<>();
+
+    public ShardRebalanceServiceImpl(
+            ShardDirectQueryService shardDirectQueryService,
+            ShardLookupService shardLookupService,
+            ShardRoutingIndexService shardRoutingIndexService,
+            ShardMap shardMap,
+            RedisTemplate<String, String> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.shard-rebalance.batch-size:500}") int defaultBatchSize,
+            @Value("${app.shard-rebalance.max-rows-per-second:1000}") int defaultMaxRowsPerSecond
+    ) {
+        this.shardDirectQueryService = shardDirectQueryService;
+        this.shardLookupService = shardLookupService;
+        this.shardRoutingIndexService = shardRoutingIndexService;
+        this.shardMap = shardMap;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.defaultBatchSize = defaultBatchSize;
+        this.defaultMaxRowsPerSecond = defaultMaxRowsPerSecond;
+    }
+
+    @Override
+    public ShardRebalanceProgress startRebalance(ShardRebalanceRequest request) {
+        validate(request);
+
+        String jobId = jobId(request);
+        String lockToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY_PREFIX + jobId, lockToken, LOCK_TTL))) {
+            throw new IllegalStateException("Rebalance job is already running: " + jobId);
+        }
+
+        try {
+            return launch(request, jobId, lockToken);
+        } catch (RuntimeException e) {
+            releaseLock(jobId, lockToken);
+            throw e;
+        }
+    }
+
+    private ShardRebalanceProgress launch(ShardRebalanceRequest request, String jobId, String lockToken) {
+        ShardRebalanceProgress progress = getProgress(jobId).orElseGet(() -> ShardRebalanceProgress.builder()
+                .jobId(jobId)
+                .sourceShard(request.getSourceShard())
+                .targetShard(request.getTargetShard())
+                .countries(request.getCountries().stream().map(Country::name).sorted().toList())
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        if (progress.getStatus() == ShardRebalanceProgress.Status.COMPLETED) {
+            log.info("Rebalance job {} already completed, running again to pick up remaining rows", jobId);
+        }
+        progress.setStatus(ShardRebalanceProgress.Status.RUNNING);
+        progress.setError(null);
+        saveCheckpoint(progress);
+
+        AtomicBoolean stopRequested = new AtomicBoolean(false);
+
+        int batchSize = request.getBatchSize() != null ? request.getBatchSize() : defaultBatchSize;
+        int maxRowsPerSecond = request.getMaxRowsPerSecond() != null ? request.getMaxRowsPerSecond() : defaultMaxRowsPerSecond;
+
+        runningJobs.put(jobId, stopRequested);
+        Thread.ofVirtual()
+                .name("shard-rebalance-" + jobId)
+                .start(() -> run(progress, request.getCountries(), batchSize, maxRowsPerSecond, stopRequested, lockToken));
+
+        log.info("Started rebalance job {} (batch size {}, max {} rows/s, resuming after ID {})",
+                jobId, batchSize, maxRowsPerSecond, progress.getLastMovedId());
+        return progress;
+    }
+
+    @Override
+    public ShardRebalanceProgress pauseRebalance(String jobId) {
+        AtomicBoolean stopRequested = runningJobs.get(jobId);
+        if (stopRequested == null) {
+            throw new IllegalArgumentException("Rebalance job is not running on this instance: " + jobId);
+        }
+        stopRequested.set(true);
+        log.info("Pause requested for rebalance job {}", jobId);
+        return getProgress(jobId).orElseThrow();
+    }
+
+    @Override
+    public Optional<ShardRebalanceProgress> getProgress(String jobId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(JOB_KEY_PREFIX + jobId);
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String lastMovedId = (String) fields.get("lastMovedId");
+        String error = (String) fields.get("error");
+        return Optional.of(ShardRebalanceProgress.builder()
+                .jobId(jobId)
+                .status(ShardRebalanceProgress.Status.valueOf((String) fields.get("status")))
+                .sourceShard((String) fields.get("sourceShard"))
+                .targetShard((String) fields.get("targetShard"))
+                .countries(Arrays.asList(((String) fields.get("countries")).split(",")))
+                .lastMovedId(lastMovedId == null || lastMovedId.isEmpty() ? null : UUID.fromString(lastMovedId))
+                .copiedRows(Long.parseLong((String) fields.get("copiedRows")))
+                .deletedRows(Long.parseLong((String) fields.get("deletedRows")))
+                .rowsPerSecond(Double.parseDouble((String) fields.get("rowsPerSecond")))
+                .startedAt(LocalDateTime.parse((String) fields.get("startedAt")))
+                .updatedAt(LocalDateTime.parse((String) fields.get("updatedAt")))
+                .error(error == null || error.isEmpty() ? null : error)
+                .build());
+    }
+
+    private void run(ShardRebalanceProgress progress,
+                     List<Country> countries,
+                     int batchSize,
+                     int maxRowsPerSecond,
+                     AtomicBoolean stopRequested,
+                     String lockToken) {
+        String jobId = progress.getJobId();
+        String source = progress.getSourceShard();
+        String target = progress.getTargetShard();
+        Tags tags = Tags.of("source", source, "target", target);
+        Counter copiedCounter = meterRegistry.counter("auth.shard.rebalance.rows", tags.and("phase", "copied"));
+        Counter deletedCounter = meterRegistry.counter("auth.shard.rebalance.rows", tags.and("phase", "deleted"));
+        AtomicLong throughput = throughputGauges.computeIfAbsent(jobId,
+                id -> meterRegistry.gauge("auth.shard.rebalance.throughput", tags, new AtomicLong()));
+
+        try {
+            while (!stopRequested.get()) {
+                long batchStart = System.nanoTime();
+
+                List<CompanyAccount> batch = shardDirectQueryService.findAccountsPage(
+                        source, countries, progress.getLastMovedId(), batchSize);
+                if (batch.isEmpty()) {
+                    progress.setStatus(ShardRebalanceProgress.Status.COMPLETED);
+                    break;
+                }
+
+                UUID pageEnd = batch.get(batch.size() - 1).getId();
+
+                // Countries split across several shards: only move the accounts the shard map places in the target
+                List<CompanyAccount> toMove = batch.stream()
+                        .filter(account -> target.equals(shardMap.shardFor(account.getCountry(), account.getId())))
+                        .toList();
+                int deleted = 0;
+
+                if (!toMove.isEmpty()) {
+                    List<UUID> ids = toMove.stream().map(CompanyAccount::getId).toList();
+
+                    // Copy + verify
+                    copyAndVerify(toMove, ids, source, target);
+                    copiedCounter.increment(toMove.size());
+
+                    // Flip the routing caches before the source rows disappear
+                    shardLookupService.cacheEmailShards(toMove.stream().map(CompanyAccount::getEmail).toList(), target);
+                    shardRoutingIndexService.indexAccounts(toMove, target);
+
+                    // Move the login audit history, then delete from source (audit rows included)
+                    shardDirectQueryService.copyLoginAttempts(ids, source, target);
+                    deleted = deleteMoved(ids, source, target);
+                    deletedCounter.increment(deleted);
+                }
+
+                progress.setLastMovedId(pageEnd);
+                progress.setCopiedRows(progress.getCopiedRows() + toMove.size());
+                progress.setDeletedRows(progress.getDeletedRows() + deleted);
+
+                throttle(batch.size(), maxRowsPerSecond, batchStart);
+
+                double rowsPerSecond = batch.size() / ((System.nanoTime() - batchStart) / 1_000_000_000.0);
+                progress.setRowsPerSecond(rowsPerSecond);
+                throughput.set(Math.round(rowsPerSecond));
+                saveCheckpoint(progress);
+                if (!renewLock(jobId, lockToken)) {
+                    throw new IllegalStateException("Lost the rebalance lock for job " + jobId);
+                }
+
+                log.info("Rebalance job {}: moved {} accounts ({} total, {} rows/s)",
+                        jobId, toMove.size(), progress.getCopiedRows(), Math.round(rowsPerSecond));
+            }
+
+            if (progress.getStatus() != ShardRebalanceProgress.Status.COMPLETED) {
+                progress.setStatus(ShardRebalanceProgress.Status.PAUSED);
+            }
+            log.info("Rebalance job {} {} after moving {} accounts", jobId, progress.getStatus(), progress.getCopiedRows());
+        } catch (Exception e) {
+            progress.setStatus(ShardRebalanceProgress.Status.FAILED);
+            progress.setError(e.getMessage());
+            log.error("Rebalance job {} failed after ID {}: {}", jobId, progress.getLastMovedId(), e.getMessage(), e);
+        } finally {
+            throughput.set(0);
+            saveCheckpoint(progress);
+            runningJobs.remove(jobId);
+            releaseLock(jobId, lockToken);
+        }
+    }
+
+    private boolean renewLock(String jobId, String lockToken) {
+        Long renewed = redisTemplate.execute(RENEW_LOCK_SCRIPT, List.of(LOCK_KEY_PREFIX + jobId),
+                lockToken, String.valueOf(LOCK_TTL.toMillis()));
+        return renewed != null && renewed == 1L;
+    }
+
+    private void releaseLock(String jobId, String lockToken) {
+        Long released = redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY_PREFIX + jobId), lockToken);
+        if (released == null || released == 0L) {
+            log.warn("Rebalance lock for job {} was no longer held by this run", jobId);
+        }
+    }
+
+    /**
+     * Copy a batch and compare every row on both shards by (id, updated_at, digest over all columns).
+     * A target row with a newer updated_at was written after routing flipped (e.g. on a resumed batch) and is
+     * accepted as is. Any other difference means a source row changed while it was being copied, so the differing
+     * rows are re-read and copied again (the upsert is idempotent).
+     */
+    private void copyAndVerify(List<CompanyAccount> batch, List<UUID> ids, String source, String target) {
+        List<CompanyAccount> toCopy = batch;
+        List<UUID> toVerify = ids;
+        for (int attempt = 1; attempt <= VERIFY_ATTEMPTS; attempt++) {
+            shardDirectQueryService.upsertAccountsInShard(toCopy, target);
+
+            List<UUID> mismatched = findMismatchedRows(toVerify, source, target);
+            if (mismatched.isEmpty()) {
+                return;
+            }
+
+            log.warn("{} rows differ after copy for batch ending at {} (attempt {}/{}): {}",
+                    mismatched.size(), ids.get(ids.size() - 1), attempt, VERIFY_ATTEMPTS, mismatched);
+
+            // Re-read the differing rows so the next copy uses the current source rows
+            toVerify = mismatched;
+            toCopy = shardDirectQueryService.findAccountsByIds(mismatched, source);
+        }
+        throw new IllegalStateException("Copy verification failed for batch ending at " + ids.get(ids.size() - 1));
+    }
+
+    /**
+     * Delete the moved rows from the source once routing points at the target. A write can still reach the source
+     * after the verification: before the flip, or from a request that resolved its shard before the flip. So each
+     * source row is compared with its target copy again and deleted only if it is unchanged since that comparison;
+     * rows that differ or changed in between stay, are copied again (with their new login attempts) and retried.
+     *
+     * @return number of deleted rows
+     */
+    private int deleteMoved(List<UUID> ids, String source, String target) {
+        List<UUID> remaining = ids;
+        int deleted = 0;
+        for (int attempt = 1; attempt <= VERIFY_ATTEMPTS; attempt++) {
+            Map<UUID, ShardDirectQueryService.AccountDigest> sourceRows =
+                    shardDirectQueryService.digestAccounts(remaining, source);
+            Map<UUID, ShardDirectQueryService.AccountDigest> targetRows =
+                    shardDirectQueryService.digestAccounts(remaining, target);
+
+            Map<UUID, String> verified = new HashMap<>();
+            sourceRows.forEach((id, sourceRow) -> {
+                ShardDirectQueryService.AccountDigest targetRow = targetRows.get(id);
+                if (targetRow != null
+                        && (targetRow.equals(sourceRow) || isNewer(targetRow.updatedAt(), sourceRow.updatedAt()))) {
+                    verified.put(id, sourceRow.digest());
+                }
+            });
+
+            Set<UUID> removed = shardDirectQueryService.deleteAccountsIfUnchanged(verified, source);
+            deleted += removed.size();
+
+            // Rows already gone from the source were deleted concurrently; nothing left to move for them
+            remaining = sourceRows.keySet().stream().filter(id -> !removed.contains(id)).toList();
+            if (remaining.isEmpty()) {
+                return deleted;
+            }
+
+            log.warn("{} source rows changed after verification for batch ending at {} (attempt {}/{}), copying again: {}",
+                    remaining.size(), ids.get(ids.size() - 1), attempt, VERIFY_ATTEMPTS, remaining);
+            shardDirectQueryService.upsertAccountsInShard(
+                    shardDirectQueryService.findAccountsByIds(remaining, source), target);
+            shardDirectQueryService.copyLoginAttempts(remaining, source, target);
+        }
+        throw new IllegalStateException("Could not delete the moved rows of batch ending at " + ids.get(ids.size() - 1)
+                + " from the source: they keep changing");
+    }
+
+    private List<UUID> findMismatchedRows(List<UUID> ids, String source, String target) {
+        Map<UUID, ShardDirectQueryService.AccountDigest> sourceRows = shardDirectQueryService.digestAccounts(ids, source);
+        Map<UUID, ShardDirectQueryService.AccountDigest> targetRows = shardDirectQueryService.digestAccounts(ids, target);
+
+        List<UUID> mismatched = new ArrayList<>();
+        // Rows gone from the source were deleted concurrently; there is nothing left to move for them
+        sourceRows.forEach((id, sourceRow) -> {
+            ShardDirectQueryService.AccountDigest targetRow = targetRows.get(id);
+            if (targetRow == null) {
+                mismatched.add(id);
+            } else if (isNewer(targetRow.updatedAt(), sourceRow.updatedAt())) {
+                log.debug("Target row {} was modified after the copy, keeping it", id);
+            } else if (!targetRow.equals(sourceRow)) {
+                mismatched.add(id);
+            }
+        });
+        return mismatched;
+    }
+
+    private boolean isNewer(LocalDateTime candidate, LocalDateTime reference) {
+        return candidate != null && (reference == null || candidate.isAfter(reference));
+    }
+
+    private void throttle(int rows, int maxRowsPerSecond, long batchStartNanos) {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long minDurationNanos = rows * 1_000_000_000L / maxRowsPerSecond;
+        long sleepNanos = minDurationNanos - (System.nanoTime() - batchStartNanos);
+        if (sleepNanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(sleepNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Rebalance interrupted", e);
+            }
+        }
+    }
+
+    private void saveCheckpoint(ShardRebalanceProgress progress) {
+        progress.setUpdatedAt(LocalDateTime.now());
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put("status", progress.getStatus().name());
+        fields.put("sourceShard", progress.getSourceShard());
+        fields.put("targetShard", progress.getTargetShard());
+        fields.put("countries", String.join(",", progress.getCountries()));
+        fields.put("lastMovedId", progress.getLastMovedId() != null ? progress.getLastMovedId().toString() : "");
+        fields.put("copiedRows", String.valueOf(progress.getCopiedRows()));
+        fields.put("deletedRows", String.valueOf(progress.getDeletedRows()));
+        fields.put("rowsPerSecond", String.valueOf(progress.getRowsPerSecond()));
+        fields.put("startedAt", progress.getStartedAt().toString());
+        fields.put("updatedAt", progress.getUpdatedAt().toString());
+        fields.put("error", progress.getError() != null ? progress.getError() : "");
+
+        String key = JOB_KEY_PREFIX + progress.getJobId();
+        redisTemplate.opsForHash().putAll(key, fields);
+        redisTemplate.expire(key, CHECKPOINT_TTL);
+    }
+
+    private void validate(ShardRebalanceRequest request) {
+        if (request.getSourceShard().equals(request.getTargetShard())) {
+            throw new IllegalArgumentException("Source and target shard must differ");
+        }
+        if (!shardDirectQueryService.hasShard(request.getSourceShard())) {
+            throw new IllegalArgumentException("Unknown source shard: " + request.getSourceShard());
+        }
+        if (!shardDirectQueryService.hasShard(request.getTargetShard())) {
+            throw new IllegalArgumentException("Unknown target shard: " + request.getTargetShard());
+        }
+        for (Country country : request.getCountries()) {
+            List<String> countryShards = shardMap.shardsForCountry(country);
+            if (!countryShards.contains(request.getTargetShard())) {
+                throw new IllegalArgumentException("Country " + country.name() + " routes to " + countryShards
+                        + "; add '" + request.getTargetShard() + "' to its shard map entry before moving its accounts");
+            }
+        }
+    }
+
+    private String jobId(ShardRebalanceRequest request) {
+        return request.getSourceShard() + "." + request.getTargetShard() + "."
+                + String.join("-", request.getCountries().stream().map(Country::name).sorted().distinct().toList());
+    }
+}
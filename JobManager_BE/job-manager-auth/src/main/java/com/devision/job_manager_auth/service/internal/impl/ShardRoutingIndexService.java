@@ -0,0 +1,245 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import com.devision.job_manager_auth.config.sharding.ShardMap;
+import com.devision.job_manager_auth.entity.AuthProvider;
+import com.devision.job_manager_auth.entity.CompanyAccount;
+import com.devision.job_manager_auth.entity.Country;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Global secondary index in Redis: activation token, password reset token, (provider, SSO provider ID)
+ * and account ID -> shard key.
+ *
+ * Lookups read the index and run one query on the indexed shard. Missing or stale entries fall back to the
+ * scatter-gather across all shards (unless disabled) and the index is repaired from the result.
+ * Writers keep the index up to date through {@link #indexAccount} and the remove methods.
+ */
+@Service
+@Slf4j
+public class ShardRoutingIndexService {
+
+    private static final String ACTIVATION_TOKEN_PREFIX = "shard-index:activation:";
+    private static final String RESET_TOKEN_PREFIX = "shard-index:reset:";
+    private static final String SSO_PREFIX = "shard-index:sso:";
+    private static final String ACCOUNT_ID_PREFIX = "shard-index:id:";
+
+    // Same lifetime as the email-to-shard cache; token entries live exactly as long as the token itself
+    private static final Duration INDEX_TTL = Duration.ofDays(30);
+
+    private static final String METRIC_NAME = "auth.shard.routing-index";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ShardDirectQueryService shardDirectQueryService;
+    private final ShardMap shardMap;
+    private final boolean scatterFallback;
+
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter unavailableCounter;
+
+    public ShardRoutingIndexService(
+            RedisTemplate<String, String> redisTemplate,
+            ShardDirectQueryService shardDirectQueryService,
+            ShardMap shardMap,
+            MeterRegistry meterRegistry,
+            @Value("${app.shard-routing-index.scatter-fallback:true}") boolean scatterFallback
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.shardDirectQueryService = shardDirectQueryService;
+        this.shardMap = shardMap;
+        this.scatterFallback = scatterFallback;
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.staleCounter = lookupCounter(meterRegistry, "stale");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.unavailableCounter = lookupCounter(meterRegistry, "unavailable");
+    }
+
+    public Optional<ShardDirectQueryService.AccountWithShard> findByActivationToken(String token) {
+        return lookup(ACTIVATION_TOKEN_PREFIX + token,
+                shardKey -> shardDirectQueryService.findByActivationTokenInShard(token, shardKey),
+                () -> shardDirectQueryService.findByActivationTokenAcrossShards(token));
+    }
+
+    public Optional<ShardDirectQueryService.AccountWithShard> findByPasswordResetToken(String token) {
+        return lookup(RESET_TOKEN_PREFIX + token,
+                shardKey -> shardDirectQueryService.findByPasswordResetTokenInShard(token, shardKey),
+                () -> shardDirectQueryService.findByPasswordResetTokenAcrossShards(token));
+    }
+
+    public Optional<ShardDirectQueryService.AccountWithShard> findBySsoProviderId(AuthProvider provider, String ssoProviderId) {
+        return lookup(ssoKey(provider, ssoProviderId),
+                shardKey -> shardDirectQueryService.findBySsoProviderIdInShard(provider, ssoProviderId, shardKey),
+                () -> shardDirectQueryService.findBySsoProviderIdAcrossShards(provider, ssoProviderId));
+    }
+
+    public Optional<ShardDirectQueryService.AccountWithShard> findById(UUID companyId) {
+        return lookup(ACCOUNT_ID_PREFIX + companyId,
+                shardKey -> shardDirectQueryService.findByIdInShard(companyId, shardKey),
+                () -> shardDirectQueryService.findByIdAcrossShards(companyId));
+    }
+
+    /**
+     * Shard that serves the requests of an authenticated account. Writers point the account ID entry at the shard
+     * the row was written to (registration, country migration, rebalance), so neither email changes nor shard map
+     * reloads affect it. On a miss the account is located by scatter-gather, which repairs the entry; an account
+     * found nowhere falls back to its placement by ID.
+     *
+     * Runs for every authenticated request, so Redis must not be a hard dependency: if the index cannot be read,
+     * the account is located by scatter-gather (when enabled) or by its placement, without touching Redis again.
+     */
+    public String resolveShardKey(UUID accountId, Country country) {
+        String shardKey;
+        try {
+            shardKey = redisTemplate.opsForValue().get(ACCOUNT_ID_PREFIX + accountId);
+        } catch (RuntimeException e) {
+            unavailableCounter.increment();
+            log.warn("Routing index unavailable, locating account {} without it: {}", accountId, e.getMessage());
+            Optional<ShardDirectQueryService.AccountWithShard> located = scatterFallback
+                    ? shardDirectQueryService.findByIdAcrossShards(accountId)
+                    : Optional.empty();
+            return located.map(ShardDirectQueryService.AccountWithShard::shardKey)
+                    .orElseGet(() -> shardMap.shardFor(country, accountId));
+        }
+        if (shardKey != null && shardMap.hasShard(shardKey)) {
+            hitCounter.increment();
+            return shardKey;
+        }
+        return findById(accountId)
+                .map(ShardDirectQueryService.AccountWithShard::shardKey)
+                .orElseGet(() -> shardMap.shardFor(country, accountId));
+    }
+
+    public boolean ssoProviderIdExists(AuthProvider provider, String ssoProviderId) {
+        return findBySsoProviderId(provider, ssoProviderId).isPresent();
+    }
+
+    /**
+     * Point every lookup key of the account (ID, SSO identity, pending activation / reset tokens) at the given shard.
+     * All entries are written in one pipelined round trip.
+     */
+    public void indexAccount(CompanyAccount account, String shardKey) {
+        indexAccounts(List.of(account), shardKey);
+    }
+
+    /**
+     * Bulk variant of {@link #indexAccount} for accounts that all live in the same shard (one pipeline)
+     */
+    public void indexAccounts(Collection<CompanyAccount> accounts, String shardKey) {
+        Map<String, Duration> entries = new LinkedHashMap<>();
+
+        for (CompanyAccount account : accounts) {
+            if (account.getId() != null) {
+                entries.put(ACCOUNT_ID_PREFIX + account.getId(), INDEX_TTL);
+            }
+            if (account.getSsoProviderId() != null && account.getAuthProvider() != null) {
+                entries.put(ssoKey(account.getAuthProvider(), account.getSsoProviderId()), INDEX_TTL);
+            }
+            putTokenEntry(entries, ACTIVATION_TOKEN_PREFIX, account.getActivationToken(), account.getActivationTokenExpiry());
+            putTokenEntry(entries, RESET_TOKEN_PREFIX, account.getPasswordResetToken(), account.getPasswordResetTokenExpiry());
+        }
+
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        byte[] value = shardKey.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, ttl) -> connection.stringCommands().set(
+                    key.getBytes(StandardCharsets.UTF_8),
+                    value,
+                    Expiration.from(ttl),
+                    RedisStringCommands.SetOption.upsert()));
+            return null;
+        });
+        log.debug("Indexed {} accounts -> shard '{}' ({} entries)", accounts.size(), shardKey, entries.size());
+    }
+
+    /**
+     * Called when an activation token is used or replaced
+     */
+    public void removeActivationToken(String token) {
+        if (token != null) {
+            redisTemplate.delete(ACTIVATION_TOKEN_PREFIX + token);
+        }
+    }
+
+    /**
+     * Called when a password reset token is used or replaced
+     */
+    public void removePasswordResetToken(String token) {
+        if (token != null) {
+            redisTemplate.delete(RESET_TOKEN_PREFIX + token);
+        }
+    }
+
+    private Optional<ShardDirectQueryService.AccountWithShard> lookup(
+            String indexKey,
+            Function<String, Optional<CompanyAccount>> targetedQuery,
+            Supplier<Optional<ShardDirectQueryService.AccountWithShard>> scatterGather) {
+
+        String shardKey = redisTemplate.opsForValue().get(indexKey);
+        if (shardKey != null) {
+            Optional<CompanyAccount> account = targetedQuery.apply(shardKey);
+            if (account.isPresent()) {
+                hitCounter.increment();
+                return Optional.of(new ShardDirectQueryService.AccountWithShard(account.get(), shardKey));
+            }
+
+            staleCounter.increment();
+            log.debug("Stale routing index entry '{}' -> shard '{}'", indexKey, shardKey);
+            redisTemplate.delete(indexKey);
+        } else {
+            missCounter.increment();
+        }
+
+        if (!scatterFallback) {
+            return Optional.empty();
+        }
+
+        Optional<ShardDirectQueryService.AccountWithShard> result = scatterGather.get();
+        result.ifPresent(hit -> indexAccount(hit.account(), hit.shardKey()));
+        return result;
+    }
+
+    private void putTokenEntry(Map<String, Duration> entries, String prefix, String token, LocalDateTime expiry) {
+        if (token == null || expiry == null) {
+            return;
+        }
+        Duration ttl = Duration.between(LocalDateTime.now(), expiry);
+        if (!ttl.isNegative() && !ttl.isZero()) {
+            entries.put(prefix + token, ttl);
+        }
+    }
+
+    private String ssoKey(AuthProvider provider, String ssoProviderId) {
+        return SSO_PREFIX + provider.name() + ":" + ssoProviderId;
+    }
+
+    private Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("Routing index lookups by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,127 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import com.devision.job_manager_auth.config.sharding.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs one query against every shard in parallel (one virtual thread per shard) and returns the first match.
+ * As soon as a shard answers, the queries still running on the other shards are cancelled.
+ * Each shard query is timed and exported as the auth.shard.query timer (tags: shard, operation, outcome).
+ *
+ * The query function must not rely on ShardContext: it receives the shard key and should use it directly.
+ */
+@Component
+@Slf4j
+public class ShardScatterGatherExecutor {
+
+    private static final String METRIC_NAME = "auth.shard.query";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry;
+    private final long shardTimeoutMs;
+
+    public ShardScatterGatherExecutor(ShardingProperties shardingProperties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.shardTimeoutMs = shardingProperties.getScatterGather().getShardTimeoutMs();
+    }
+
+    /**
+     * Result of a scatter-gather lookup together with the shard it was found in
+     */
+    public record ShardHit<T>(T value, String shardKey) {}
+
+    /**
+     * Query all given shards in parallel, first match wins.
+     *
+     * @param operation Name of the lookup, used in logs and metrics
+     * @param shardKeys Shards to query
+     * @param query Query to run for a single shard; returns empty when the shard has no match
+     * @return the first match, or empty if no shard matched within the timeout
+     */
+    public <T> Optional<ShardHit<T>> findFirst(String operation,
+                                               Collection<String> shardKeys,
+                                               Function<String, Optional<T>> query) {
+        if (shardKeys.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<Optional<ShardHit<T>>> winner = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(shardKeys.size());
+        List<Future<?>> tasks = new ArrayList<>(shardKeys.size());
+
+        for (String shardKey : shardKeys) {
+            tasks.add(executor.submit(() -> {
+                long start = System.nanoTime();
+                String outcome = "empty";
+                try {
+                    Optional<T> result = query.apply(shardKey);
+                    if (result.isPresent()) {
+                        outcome = "found";
+                        winner.complete(Optional.of(new ShardHit<>(result.get(), shardKey)));
+                    }
+                } catch (Exception e) {
+                    if (winner.isDone()) {
+                        outcome = "cancelled";
+                    } else {
+                        outcome = "error";
+                        log.error("Error querying shard '{}' for {}: {}", shardKey, operation, e.getMessage());
+                    }
+                } finally {
+                    recordLatency(shardKey, operation, outcome, System.nanoTime() - start);
+                    if (remaining.decrementAndGet() == 0) {
+                        winner.complete(Optional.empty());
+                    }
+                }
+            }));
+        }
+
+        try {
+            return winner.get(shardTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Scatter-gather {} timed out after {} ms", operation, shardTimeoutMs);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            log.error("Scatter-gather {} failed: {}", operation, e.getMessage());
+            return Optional.empty();
+        } finally {
+            // First match wins: stop the shards that are still running
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private void recordLatency(String shardKey, String operation, String outcome, long nanos) {
+        Timer.builder(METRIC_NAME)
+                .description("Latency of a single shard query during scatter-gather")
+                .tag("shard", shardKey)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import com.devision.job_manager_auth.config.security.ParsedToken;
+import com.devision.job_manager_auth.exception.TokenValidationRejectedException;
+import com.devision.job_manager_auth.service.internal.JweTokenService;
+import com.devision.job_manager_auth.service.internal.TokenBatchParsingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs RSA-OAEP decryption of batch validation tokens on a fixed pool sized to the CPU cores with a bounded queue,
+ * so a burst of batch calls queues (up to queue-capacity tokens) or is rejected with 503 instead of occupying the
+ * common ForkJoinPool that other parallel work in the service shares.
+ *
+ * Metrics: auth.token-batch.rejected, auth.token-batch.queue.size.
+ */
+@Service
+@Slf4j
+public class TokenBatchParsingServiceImpl implements TokenBatchParsingService {
+
+    private final JweTokenService jweTokenService;
+    private final long waitTimeoutMs;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejectedCounter;
+
+    public TokenBatchParsingServiceImpl(
+            JweTokenService jweTokenService,
+            MeterRegistry meterRegistry,
+            @Value("${app.token-validation.batch.threads:0}") int threads,
+            @Value("${app.token-validation.batch.queue-capacity:400}") int queueCapacity,
+            @Value("${app.token-validation.batch.wait-timeout-ms:3000}") long waitTimeoutMs
+    ) {
+        this.jweTokenService = jweTokenService;
+        this.waitTimeoutMs = waitTimeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-batch-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejectedCounter = Counter.builder("auth.token-batch.rejected")
+                .description("Batch validation calls rejected because the decryption pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.token-batch.queue.size", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+
+        log.info("Token batch decryption pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public List<ParsedToken> parseAccessTokens(List<String> tokens) {
+        List<Future<ParsedToken>> futures = new ArrayList<>(tokens.size());
+        try {
+            for (String token : tokens) {
+                futures.add(executor.submit(() -> parseAccessToken(token)));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            rejectedCounter.increment();
+            throw new TokenValidationRejectedException("Server is busy, please try again shortly");
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        List<ParsedToken> parsedTokens = new ArrayList<>(tokens.size());
+        try {
+            for (Future<ParsedToken> future : futures) {
+                parsedTokens.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            rejectedCounter.increment();
+            throw new TokenValidationRejectedException("Server is busy, please try again shortly");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new TokenValidationRejectedException("Token validation interrupted");
+        } catch (ExecutionException e) {
+            // parseAccessToken does not throw; anything here is a bug
+            throw new IllegalStateException("Token decryption failed", e.getCause());
+        }
+        return parsedTokens;
+    }
+
+    private ParsedToken parseAccessToken(String token) {
+        try {
+            ParsedToken parsedToken = token == null ? null : jweTokenService.parseToken(token);
+            return parsedToken != null && parsedToken.isAccessToken() ? parsedToken : null;
+        } catch (Exception e) {
+            log.warn("Token validation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,174 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import com.devision.job_manager_auth.config.security.ParsedToken;
+import com.devision.job_manager_auth.service.internal.TokenStatusService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Revocation / session-invalidation lookups for token validation.
+ *
+ * All Redis keys needed for a validation (or a batch of validations) are read in one pipelined round trip.
+ * An optional near-cache remembers "known negative" results (token not revoked, session not invalidated) for a short time.
+ * Every write publishes the affected key on a pub/sub channel so all auth instances evict it immediately.
+ * The gateway listens on the same channel to drop its cached validation results.
+ */
+@Service
+@Slf4j
+public class TokenStatusServiceImpl implements TokenStatusService, MessageListener {
+
+    private static final String REVOKED_TOKEN_PREFIX = "revoked-token:";
+    private static final String SESSION_INVALIDATION_PREFIX = "session-invalidated:";
+    private static final String INVALIDATION_CHANNEL = "auth:token-status-invalidation";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean nearCacheEnabled;
+
+    // Keys are the Redis keys themselves; presence means "known not to exist in Redis"
+    private final Cache<String, Boolean> knownNegatives;
+
+    public TokenStatusServiceImpl(
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.token-status.near-cache.enabled:true}") boolean nearCacheEnabled,
+            @Value("${app.token-status.near-cache.ttl-ms:10000}") long nearCacheTtlMs,
+            @Value("${app.token-status.near-cache.max-size:50000}") long nearCacheMaxSize
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.nearCacheEnabled = nearCacheEnabled;
+        this.knownNegatives = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(nearCacheTtlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, knownNegatives, "auth.token-status.near-cache");
+
+        if (nearCacheEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+    }
+
+    @Override
+    public TokenStatus checkTokenStatus(String tokenId, UUID userId) {
+        String revokedKey = REVOKED_TOKEN_PREFIX + tokenId;
+        String sessionKey = SESSION_INVALIDATION_PREFIX + userId;
+
+        Map<String, Boolean> existing = lookupKeys(List.of(revokedKey, sessionKey));
+        return resolveStatus(existing, revokedKey, sessionKey);
+    }
+
+    @Override
+    public List<TokenStatus> checkTokenStatuses(List<ParsedToken> tokens) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (ParsedToken token : tokens) {
+            keys.add(REVOKED_TOKEN_PREFIX + token.getTokenId());
+            keys.add(SESSION_INVALIDATION_PREFIX + token.getUserId());
+        }
+
+        Map<String, Boolean> existing = lookupKeys(keys);
+
+        List<TokenStatus> statuses = new ArrayList<>(tokens.size());
+        for (ParsedToken token : tokens) {
+            statuses.add(resolveStatus(existing,
+                    REVOKED_TOKEN_PREFIX + token.getTokenId(),
+                    SESSION_INVALIDATION_PREFIX + token.getUserId()));
+        }
+        return statuses;
+    }
+
+    private TokenStatus resolveStatus(Map<String, Boolean> existing, String revokedKey, String sessionKey) {
+        if (existing.getOrDefault(revokedKey, false)) {
+            return TokenStatus.REVOKED;
+        }
+        return existing.getOrDefault(sessionKey, false) ? TokenStatus.SESSION_INVALIDATED : TokenStatus.ACTIVE;
+    }
+
+    /**
+     * Check which of the given keys exist, skipping keys known to be absent from the near-cache.
+     * All remaining EXISTS commands are sent in one pipeline.
+     *
+     * @return key -> exists, for every key that had to be looked up
+     */
+    private Map<String, Boolean> lookupKeys(Collection<String> keys) {
+        List<String> toLookup = keys.stream()
+                .filter(key -> !nearCacheEnabled || knownNegatives.getIfPresent(key) == null)
+                .toList();
+
+        if (toLookup.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : toLookup) {
+                connection.keyCommands().exists(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        Map<String, Boolean> existing = new HashMap<>();
+        for (int i = 0; i < toLookup.size(); i++) {
+            String key = toLookup.get(i);
+            boolean exists = Boolean.TRUE.equals(results.get(i));
+            existing.put(key, exists);
+
+            if (nearCacheEnabled && !exists) {
+                knownNegatives.put(key, Boolean.TRUE);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public void markTokenRevoked(String tokenId, String tokenType, Duration ttl) {
+        String redisKey = REVOKED_TOKEN_PREFIX + tokenId;
+        redisTemplate.opsForValue().set(redisKey, tokenType, ttl);
+        publishInvalidation(redisKey);
+    }
+
+    @Override
+    public void invalidateSession(UUID userId, String reason, Duration ttl) {
+        String redisKey = SESSION_INVALIDATION_PREFIX + userId;
+        redisTemplate.opsForValue().set(redisKey, reason, ttl);
+        publishInvalidation(redisKey);
+    }
+
+    /**
+     * Evict locally right away, then tell the other auth instances (and the gateway) to do the same.
+     * Published even with the near-cache disabled, since the gateway cache does not depend on it.
+     */
+    private void publishInvalidation(String redisKey) {
+        knownNegatives.invalidate(redisKey);
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, redisKey);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String redisKey = new String(message.getBody(), StandardCharsets.UTF_8);
+        knownNegatives.invalidate(redisKey);
+        log.debug("Evicted token status near-cache entry: {}", redisKey);
+    }
+}
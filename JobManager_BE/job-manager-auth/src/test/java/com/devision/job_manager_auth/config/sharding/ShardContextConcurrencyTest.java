@@ -0,0 +1,174 @@
+package com.devision.job_manager_auth.config.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stress tests for request isolation of the shard binding: many concurrent "requests" on virtual and
+ * pooled platform threads must each route to their own shard, and nothing may survive the scope.
+ */
+class ShardContextConcurrencyTest {
+
+	private static final List<String> SHARDS = List.of(
+			"auth_shard_others", "auth_shard_vn", "auth_shard_sg", "auth_shard_au", "auth_shard_us");
+
+	private ShardRoutingDataSource routingDataSource;
+
+	@BeforeEach
+	void setUp() {
+		ShardingProperties properties = new ShardingProperties();
+		SHARDS.forEach(shard -> properties.getShards().put(shard, new ShardingProperties.ShardProperties()));
+		routingDataSource = new ShardRoutingDataSource(new ShardMap(properties));
+	}
+
+	@Test
+	void virtualThreadRequestsNeverSeeAnotherRequestsShard() throws Exception {
+		int requests = 20_000;
+		AtomicInteger bleed = new AtomicInteger();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> futures = new ArrayList<>(requests);
+			for (int i = 0; i < requests; i++) {
+				String shard = SHARDS.get(i % SHARDS.size());
+				String nested = SHARDS.get((i + 1) % SHARDS.size());
+				futures.add(executor.submit(() -> {
+					try (ShardContext.Scope ignored = ShardContext.open(shard)) {
+						for (int step = 0; step < 5; step++) {
+							pause();
+							if (!shard.equals(routingDataSource.determineCurrentLookupKey())) {
+								bleed.incrementAndGet();
+							}
+							ShardContext.runInShard(nested, () -> {
+								pause();
+								if (!nested.equals(routingDataSource.determineCurrentLookupKey())) {
+									bleed.incrementAndGet();
+								}
+							});
+							if (!shard.equals(ShardContext.getShardKey())) {
+								bleed.incrementAndGet();
+							}
+						}
+					}
+					if (ShardContext.isSet()) {
+						bleed.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		}
+
+		assertThat(bleed.get()).isZero();
+	}
+
+	@Test
+	void pooledThreadsStartCleanAfterEveryScopeEvenOnFailure() throws Exception {
+		int tasks = 10_000;
+		AtomicInteger bleed = new AtomicInteger();
+
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>(tasks);
+			for (int i = 0; i < tasks; i++) {
+				int task = i;
+				futures.add(pool.submit(() -> {
+					// Every task is a new request on a reused thread: it must not inherit a shard
+					if (ShardContext.isSet()) {
+						bleed.incrementAndGet();
+					}
+					if (task % 3 == 0) {
+						return null;
+					}
+					try (ShardContext.Scope ignored = ShardContext.open(SHARDS.get(task % SHARDS.size()))) {
+						if (task % 3 == 1) {
+							throw new IllegalStateException("request failed");
+						}
+					} catch (IllegalStateException expected) {
+						// the scope must still have been closed
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertThat(bleed.get()).isZero();
+	}
+
+	@Test
+	void wrappedTasksRunWithTheCallersShardOnly() throws Exception {
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			// Simulate a leaked binding on the worker thread
+			pool.submit(() -> ShardContext.open("auth_shard_au")).get();
+
+			String fromScopedCaller;
+			try (ShardContext.Scope ignored = ShardContext.open("auth_shard_vn")) {
+				fromScopedCaller = pool.submit(ShardContext.wrap(() -> ShardContext.getShardKey())).get();
+			}
+			Boolean setForUnscopedCaller = pool.submit(ShardContext.wrap(ShardContext::isSet)).get();
+
+			assertThat(fromScopedCaller).isEqualTo("auth_shard_vn");
+			assertThat(setForUnscopedCaller).isFalse();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void nestedScopesRestoreTheOuterShard() {
+		try (ShardContext.Scope outer = ShardContext.open("auth_shard_vn")) {
+			String inner = ShardContext.callInShard("auth_shard_sg", ShardContext::getShardKey);
+
+			assertThat(inner).isEqualTo("auth_shard_sg");
+			assertThat(ShardContext.getShardKey()).isEqualTo("auth_shard_vn");
+		}
+		assertThat(ShardContext.isSet()).isFalse();
+		assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("auth_shard_others");
+	}
+
+	@Test
+	void scopeCannotBeClosedFromAnotherThread() throws Exception {
+		try (ShardContext.Scope scope = ShardContext.open("auth_shard_vn");
+			 ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<?> closeElsewhere = executor.submit(() -> {
+				scope.close();
+				return null;
+			});
+
+			assertThatThrownBy(() -> closeElsewhere.get(10, TimeUnit.SECONDS))
+					.hasCauseInstanceOf(IllegalStateException.class);
+		}
+		assertThat(ShardContext.isSet()).isFalse();
+	}
+
+	private static void pause() {
+		if (ThreadLocalRandom.current().nextBoolean()) {
+			Thread.yield();
+		} else {
+			try {
+				Thread.sleep(0, ThreadLocalRandom.current().nextInt(1, 100_000));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
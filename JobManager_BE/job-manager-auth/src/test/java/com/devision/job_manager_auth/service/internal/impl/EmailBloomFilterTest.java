@@ -0,0 +1,105 @@
+package com.devision.job_manager_auth.service.internal.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bit math of the email pre-check: no false negatives for registered emails, and a false positive rate
+ * close to the configured one once the filter holds the expected number of emails.
+ */
+class EmailBloomFilterTest {
+
+	private static final int EXPECTED_INSERTIONS = 20_000;
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	private ShardDirectQueryService shardDirectQueryService;
+	private EmailBloomFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		shardDirectQueryService = mock(ShardDirectQueryService.class);
+		when(shardDirectQueryService.getShardKeys()).thenReturn(List.of("auth_shard_vn", "auth_shard_others"));
+
+		filter = new EmailBloomFilter(
+				shardDirectQueryService,
+				mock(RedisTemplate.class),
+				mock(RedisMessageListenerContainer.class),
+				new SimpleMeterRegistry(),
+				true,
+				EXPECTED_INSERTIONS,
+				FALSE_POSITIVE_RATE);
+	}
+
+	@Test
+	void everyEmailMightExistUntilTheFirstRebuild() {
+		assertThat(filter.mightContain("nobody@example.com")).isTrue();
+	}
+
+	@Test
+	void registeredEmailsAreNeverReportedMissing() {
+		givenShardEmails("auth_shard_vn", 0, EXPECTED_INSERTIONS / 2);
+		givenShardEmails("auth_shard_others", EXPECTED_INSERTIONS / 2, EXPECTED_INSERTIONS);
+
+		filter.rebuild();
+
+		long falseNegatives = IntStream.range(0, EXPECTED_INSERTIONS)
+				.filter(i -> !filter.mightContain(registeredEmail(i)))
+				.count();
+		assertThat(falseNegatives).isZero();
+		// Emails are compared lower-cased and trimmed
+		assertThat(filter.mightContain("  " + registeredEmail(42).toUpperCase() + " ")).isTrue();
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheConfiguredRate() {
+		givenShardEmails("auth_shard_vn", 0, EXPECTED_INSERTIONS);
+		givenShardEmails("auth_shard_others", 0, 0);
+
+		filter.rebuild();
+
+		int probes = 200_000;
+		long falsePositives = IntStream.range(0, probes)
+				.filter(i -> filter.mightContain("unregistered-" + i + "@example.org"))
+				.count();
+		assertThat((double) falsePositives / probes).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+	}
+
+	@Test
+	void emailsAddedAfterTheRebuildAreFound() {
+		givenShardEmails("auth_shard_vn", 0, 10);
+		givenShardEmails("auth_shard_others", 0, 0);
+		filter.rebuild();
+
+		filter.put("New.Company@Example.com");
+
+		assertThat(filter.mightContain("new.company@example.com")).isTrue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void givenShardEmails(String shardKey, int from, int to) {
+		doAnswer(invocation -> {
+			Consumer<String> action = invocation.getArgument(2);
+			IntStream.range(from, to).forEach(i -> action.accept(registeredEmail(i)));
+			return null;
+		}).when(shardDirectQueryService).forEachEmailInShard(eq(shardKey), anyInt(), any(Consumer.class));
+	}
+
+	private static String registeredEmail(int i) {
+		return "company-" + i + "@example.com";
+	}
+}
@@ -17,6 +17,11 @@ public class GatewayAuthPropertiesConfig {
      */
     private boolean enabled = true;
 
+    /**
+     * Where tokens are validated: REMOTE calls the Auth Service, LOCAL decrypts in the gateway
+     */
+    private ValidationMode mode = ValidationMode.REMOTE;
+
     /**
      * List of paths that don't require authentication
      */
@@ -39,10 +44,102 @@ public class GatewayAuthPropertiesConfig {
          */
         private String validateEndpoint = "/api/auth/validate-token";
 
+        /**
+         * Batch token validation endpoint path
+         */
+        private String validateBatchEndpoint = "/api/auth/validate-tokens";
+
         /**
          * Request timeout in milliseconds
          */
         private int timeoutMs = 3000;
+
+        /**
+         * Shared secret sent as X-Service-Token on batch calls; the Auth Service rejects batch calls without it
+         */
+        private String serviceToken;
+    }
+
+    /**
+     * Micro-batching of remote validations
+     */
+    private Batch batch = new Batch();
+
+    @Data
+    public static class Batch {
+        /**
+         * Most tokens the Auth Service accepts per batch call (BatchTokenValidationRequest.MAX_BATCH_SIZE)
+         */
+        public static final int AUTH_SERVICE_LIMIT = 100;
+
+        /**
+         * Group concurrent remote validations into calls to the batch endpoint
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of tokens per batch call; capped at AUTH_SERVICE_LIMIT
+         */
+        private int maxSize = 50;
+
+        /**
+         * How long to wait for more tokens before sending a batch, in milliseconds
+         */
+        private long windowMs = 5;
+    }
+
+    /**
+     * Local (offline) validation configuration, used when mode is LOCAL
+     */
+    private Local local = new Local();
+
+    public enum ValidationMode {
+        REMOTE,
+        LOCAL
+    }
+
+    @Data
+    public static class Local {
+        /**
+         * RSA private key shared with the Auth Service (same value as JWE_PRIVATE_KEY)
+         */
+        private String privateKey;
+    }
+
+    /**
+     * Local token validation cache configuration
+     */
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+        /**
+         * Enable/disable caching of validation results at the gateway
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached validation results
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * Upper bound for how long a valid result is reused, in milliseconds.
+         * Entries never outlive the token itself. Without the revocation feed this is also how long
+         * a revoked token or invalidated session keeps being accepted, so keep it short.
+         */
+        private long ttlMs = 30_000;
+
+        /**
+         * How long a rejected token is remembered, in milliseconds
+         */
+        private long negativeTtlMs = 5_000;
+
+        /**
+         * Subscribe to the Auth Service revocation channel in Redis and drop cached results of revoked
+         * tokens and invalidated sessions right away
+         */
+        private boolean revocationFeedEnabled = false;
     }
 
     /**
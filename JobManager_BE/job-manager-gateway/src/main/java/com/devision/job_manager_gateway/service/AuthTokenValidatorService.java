@@ -2,61 +2,205 @@ package com.devision.job_manager_gateway.service;
 
 import com.devision.job_manager_gateway.config.GatewayAuthPropertiesConfig;
 import com.devision.job_manager_gateway.dto.TokenValidationResponse;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuthTokenValidatorService {
 
-    private final WebClient.Builder webClientBuilder;
+    // Shared-secret header the Auth Service requires on the batch endpoint
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    private final WebClient webClient;
     private final GatewayAuthPropertiesConfig authProperties;
+    private final TokenValidationCache validationCache;
+    private final LocalTokenValidatorService localTokenValidator;
+
+    // Tokens waiting to be sent in the next batch call. A Flux.create sink is serialized internally
+    // (MPSC queue + work-in-progress drain), so event-loop threads can emit concurrently without spinning or failing.
+    private volatile FluxSink<PendingValidation> pendingValidations;
+
+    private record PendingValidation(String token, Sinks.One<TokenValidationResponse> result) {
+    }
+
+    public AuthTokenValidatorService(
+            WebClient.Builder webClientBuilder,
+            GatewayAuthPropertiesConfig authProperties,
+            TokenValidationCache validationCache,
+            LocalTokenValidatorService localTokenValidator
+    ) {
+        // Build once: WebClient is immutable and thread-safe
+        this.webClient = webClientBuilder.build();
+        this.authProperties = authProperties;
+        this.validationCache = validationCache;
+        this.localTokenValidator = localTokenValidator;
+    }
+
+    /**
+     * Start the micro-batching pipeline: concurrent remote validations are collected for up to
+     * batch.window-ms (or batch.max-size tokens) and sent as one call to the batch endpoint.
+     */
+    @PostConstruct
+    void startBatching() {
+        GatewayAuthPropertiesConfig.Batch batch = authProperties.getBatch();
+        if (!batch.isEnabled()) {
+            return;
+        }
+
+        int maxSize = Math.min(batch.getMaxSize(), GatewayAuthPropertiesConfig.Batch.AUTH_SERVICE_LIMIT);
+        if (maxSize < batch.getMaxSize()) {
+            log.warn("gateway.auth.batch.max-size {} exceeds the Auth Service limit, using {}",
+                    batch.getMaxSize(), maxSize);
+        }
+        String serviceToken = authProperties.getAuthService().getServiceToken();
+        if (serviceToken == null || serviceToken.isBlank()) {
+            log.warn("gateway.auth.auth-service.service-token is not set, batch validation calls will be rejected");
+        }
+
+        Flux.<PendingValidation>create(sink -> this.pendingValidations = sink, FluxSink.OverflowStrategy.BUFFER)
+                .bufferTimeout(maxSize, Duration.ofMillis(batch.getWindowMs()))
+                .flatMap(this::dispatchBatch)
+                .subscribe();
+
+        log.info("Token validation micro-batching enabled (max size: {}, window: {} ms)",
+                maxSize, batch.getWindowMs());
+    }
 
     /**
-     * Validate JWT token by calling the Auth Service
+     * Validate JWT token, using the local validation cache when enabled.
+     * Depending on gateway.auth.mode the token is validated by the Auth Service (REMOTE)
+     * or decrypted in the gateway (LOCAL).
      *
      * @param token The JWT token to validate
      * @return Mono<TokenValidationResponse> containing validation result
      */
     public Mono<TokenValidationResponse> validateToken(String token) {
+        Function<String, Mono<TokenValidationResponse>> loader;
+        if (authProperties.getMode() == GatewayAuthPropertiesConfig.ValidationMode.LOCAL) {
+            loader = localTokenValidator::validateToken;
+        } else if (authProperties.getBatch().isEnabled()) {
+            loader = this::enqueueForBatch;
+        } else {
+            loader = this::callAuthService;
+        }
+
+        Mono<TokenValidationResponse> result = authProperties.getCache().isEnabled()
+                ? validationCache.get(token, loader)
+                : loader.apply(token);
+
+        // Errors (timeouts, Auth Service down) are never cached; they reject only the current request
+        return result
+                .defaultIfEmpty(TokenValidationResponse.invalid())
+                .onErrorResume(error -> {
+                    log.error("Error validating token: {}", error.getMessage());
+                    return Mono.just(TokenValidationResponse.invalid());
+                });
+    }
+
+    /**
+     * Validate JWT token by calling the Auth Service.
+     * A 401 from the Auth Service is a definitive (cacheable) rejection; any other failure is signalled as an error.
+     */
+    private Mono<TokenValidationResponse> callAuthService(String token) {
         String authServiceUrl = authProperties.getAuthService().getUrl();
         String validateEndpoint = authProperties.getAuthService().getValidateEndpoint();
         int timeoutMs = authProperties.getAuthService().getTimeoutMs();
 
         log.debug("Validating token with Auth Service at: {}{}", authServiceUrl, validateEndpoint);
 
-        return webClientBuilder.build()
+        return webClient
                 .post()
                 .uri(authServiceUrl + validateEndpoint)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                .retrieve()
-                .onStatus(
-                        status -> status.equals(HttpStatus.UNAUTHORIZED),
-                        response -> {
-                            log.warn("Token validation failed: Unauthorized");
-                            return Mono.just(new RuntimeException("Invalid token"));
-                        }
-                )
-                .bodyToMono(TokenValidationResponse.class)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
+                        log.warn("Token validation failed: Unauthorized");
+                        return response.releaseBody().thenReturn(TokenValidationResponse.invalid());
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    return response.bodyToMono(TokenValidationResponse.class);
+                })
                 .timeout(Duration.ofMillis(timeoutMs))
                 .doOnSuccess(response -> {
-                    if (response.isValid()) {
+                    if (response != null && response.isValid()) {
                         log.debug("Token validated successfully for user: {}", response.getEmail());
-                    } else {
-                        log.warn("Token validation failed");
                     }
-                })
-                .onErrorResume(error -> {
-                    log.error("Error calling Auth Service: {}", error.getMessage());
-                    return Mono.just(TokenValidationResponse.invalid());
                 });
     }
+
+    /**
+     * Validate several tokens with a single call to the Auth Service batch endpoint
+     *
+     * @param tokens The tokens to validate (at most 100)
+     * @return one response per token, in the same order
+     */
+    public Mono<List<TokenValidationResponse>> validateTokens(List<String> tokens) {
+        String authServiceUrl = authProperties.getAuthService().getUrl();
+        String batchEndpoint = authProperties.getAuthService().getValidateBatchEndpoint();
+        int timeoutMs = authProperties.getAuthService().getTimeoutMs();
+
+        log.debug("Validating {} tokens with Auth Service at: {}{}", tokens.size(), authServiceUrl, batchEndpoint);
+
+        return webClient
+                .post()
+                .uri(authServiceUrl + batchEndpoint)
+                .headers(headers -> {
+                    String serviceToken = authProperties.getAuthService().getServiceToken();
+                    if (serviceToken != null && !serviceToken.isBlank()) {
+                        headers.set(SERVICE_TOKEN_HEADER, serviceToken);
+                    }
+                })
+                .bodyValue(Map.of("tokens", tokens))
+                .retrieve()
+                .bodyToFlux(TokenValidationResponse.class)
+                .collectList()
+                .timeout(Duration.ofMillis(timeoutMs));
+    }
+
+    private Mono<TokenValidationResponse> enqueueForBatch(String token) {
+        FluxSink<PendingValidation> sink = pendingValidations;
+        if (sink == null || sink.isCancelled()) {
+            // Batching pipeline not (or no longer) running: validate this token on its own
+            return callAuthService(token);
+        }
+        return Mono.defer(() -> {
+            Sinks.One<TokenValidationResponse> result = Sinks.one();
+            sink.next(new PendingValidation(token, result));
+            return result.asMono();
+        });
+    }
+
+    private Mono<Void> dispatchBatch(List<PendingValidation> batch) {
+        List<String> tokens = batch.stream().map(PendingValidation::token).toList();
+
+        return validateTokens(tokens)
+                .doOnNext(responses -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        TokenValidationResponse response = i < responses.size()
+                                ? responses.get(i)
+                                : TokenValidationResponse.invalid();
+                        batch.get(i).result().tryEmitValue(response);
+                    }
+                })
+                .doOnError(error -> batch.forEach(pending -> pending.result().tryEmitError(error)))
+                // Keep the batching pipeline alive; each waiting request already received the error
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
 }
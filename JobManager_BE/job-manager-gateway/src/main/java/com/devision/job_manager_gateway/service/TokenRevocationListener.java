@@ -0,0 +1,83 @@
+package com.devision.job_manager_gateway.service;
+
+import com.devision.job_manager_gateway.config.GatewayAuthPropertiesConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Keeps the validation cache in step with revocations in the Auth Service.
+ * The Auth Service publishes the Redis key of every revoked token and invalidated session on a pub/sub channel;
+ * the matching cached results are dropped as soon as the message arrives instead of living out their TTL.
+ *
+ * Pub/sub is fire-and-forget: messages sent while the subscription is down are lost, so the cache TTL
+ * still bounds how long a revoked token can be accepted.
+ */
+@Component
+@Slf4j
+public class TokenRevocationListener {
+
+    // Must match the channel and keys written by job-manager-auth
+    private static final String INVALIDATION_CHANNEL = "auth:token-status-invalidation";
+    private static final String REVOKED_TOKEN_PREFIX = "revoked-token:";
+    private static final String SESSION_INVALIDATION_PREFIX = "session-invalidated:";
+
+    private static final Duration MIN_RESUBSCRIBE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_RESUBSCRIBE_BACKOFF = Duration.ofSeconds(30);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final GatewayAuthPropertiesConfig authProperties;
+    private final TokenValidationCache validationCache;
+
+    private volatile Disposable subscription;
+
+    public TokenRevocationListener(
+            ReactiveStringRedisTemplate redisTemplate,
+            GatewayAuthPropertiesConfig authProperties,
+            TokenValidationCache validationCache
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.authProperties = authProperties;
+        this.validationCache = validationCache;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        GatewayAuthPropertiesConfig.Cache cache = authProperties.getCache();
+        if (!cache.isEnabled() || !cache.isRevocationFeedEnabled()) {
+            return;
+        }
+
+        // Resubscribe after Redis errors; the gateway keeps serving (with TTL-bounded staleness) meanwhile
+        this.subscription = redisTemplate.listenToChannel(INVALIDATION_CHANNEL)
+                .doOnSubscribe(s -> log.info("Listening for token revocations on '{}'", INVALIDATION_CHANNEL))
+                .doOnError(error -> log.warn("Token revocation feed interrupted: {}", error.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_RESUBSCRIBE_BACKOFF).maxBackoff(MAX_RESUBSCRIBE_BACKOFF))
+                .subscribe(message -> onInvalidation(message.getMessage()));
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void onInvalidation(String redisKey) {
+        if (redisKey.startsWith(REVOKED_TOKEN_PREFIX)) {
+            validationCache.invalidateTokenId(redisKey.substring(REVOKED_TOKEN_PREFIX.length()));
+        } else if (redisKey.startsWith(SESSION_INVALIDATION_PREFIX)) {
+            validationCache.invalidateUser(redisKey.substring(SESSION_INVALIDATION_PREFIX.length()));
+        } else {
+            return;
+        }
+        log.debug("Evicted cached validation results for {}", redisKey);
+    }
+}
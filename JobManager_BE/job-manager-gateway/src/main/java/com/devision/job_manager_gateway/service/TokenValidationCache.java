@@ -0,0 +1,137 @@
+package com.devision.job_manager_gateway.service;
+
+import com.devision.job_manager_gateway.config.GatewayAuthPropertiesConfig;
+import com.devision.job_manager_gateway.dto.TokenValidationResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory cache of token validation results.
+ * Tokens are keyed by their SHA-256 hash so raw tokens are never kept in memory longer than needed.
+ * Concurrent lookups for the same token share a single in-flight call to the Auth Service.
+ */
+@Component
+@Slf4j
+public class TokenValidationCache {
+
+    private static final String CACHE_NAME = "gateway.token-validation";
+
+    private final AsyncCache<String, TokenValidationResponse> cache;
+
+    public TokenValidationCache(GatewayAuthPropertiesConfig authProperties, MeterRegistry meterRegistry) {
+        GatewayAuthPropertiesConfig.Cache cacheProperties = authProperties.getCache();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .expireAfter(new ValidationExpiry(cacheProperties.getTtlMs(), cacheProperties.getNegativeTtlMs()))
+                .recordStats()
+                .buildAsync();
+
+        // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * Return the cached validation result for the token, or load it with the given loader.
+     * A loader that fails is not cached, so the next request retries the Auth Service.
+     */
+    public Mono<TokenValidationResponse> get(String token, Function<String, Mono<TokenValidationResponse>> loader) {
+        CompletableFuture<TokenValidationResponse> future = cache.get(
+                hash(token),
+                (key, executor) -> loader.apply(token).toFuture()
+        );
+
+        // Cancelling one subscriber must not cancel the load shared with other requests
+        return Mono.fromFuture(future, true);
+    }
+
+    /**
+     * Drop the cached results of a revoked token (logout, refresh)
+     */
+    public void invalidateTokenId(String tokenId) {
+        invalidateMatching(response -> tokenId.equals(response.getTokenId()));
+    }
+
+    /**
+     * Drop the cached results of every token of a user whose sessions were invalidated
+     */
+    public void invalidateUser(String userId) {
+        invalidateMatching(response -> userId.equals(response.getUserId()));
+    }
+
+    /**
+     * Revocations are rare next to lookups, so a scan of the (bounded) cache is cheaper than a secondary index.
+     * Loads still in flight are dropped too: they may have been answered before the revocation.
+     */
+    private void invalidateMatching(Predicate<TokenValidationResponse> matches) {
+        cache.asMap().values().removeIf(future -> {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return true;
+            }
+            TokenValidationResponse response = future.getNow(null);
+            return response != null && response.isValid() && matches.test(response);
+        });
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Valid results live for the configured TTL capped at the token's remaining lifetime.
+     * Invalid results live for the (shorter) negative TTL.
+     */
+    private static class ValidationExpiry implements Expiry<String, TokenValidationResponse> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        ValidationExpiry(long ttlMs, long negativeTtlMs) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+            this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+        }
+
+        @Override
+        public long expireAfterCreate(String key, TokenValidationResponse value, long currentTime) {
+            if (!value.isValid()) {
+                return negativeTtlNanos;
+            }
+            if (value.getExpiresAt() == null) {
+                return ttlNanos;
+            }
+            long remainingMs = value.getExpiresAt() - System.currentTimeMillis();
+            return Math.max(0, Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMs)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenValidationResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenValidationResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients  // Enable Feign clients for service-to-service communication
 @EnableCaching       // Enable caching for Company service country lookups
+@EnableScheduling    // Outbox relay and other periodic jobs
 public class JobManagerJobpostApplication {
 
 	public static void main(String[] args) {
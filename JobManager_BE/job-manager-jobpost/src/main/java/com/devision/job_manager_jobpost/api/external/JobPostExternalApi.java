@@ -2,6 +2,8 @@ package com.devision.job_manager_jobpost.api.external;
 
 import com.devision.job_manager_jobpost.dto.external.*;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -18,6 +20,21 @@ public interface JobPostExternalApi {
 
     Optional<JobPostSummaryDto> getJobPostSummary(UUID id);
 
+    /**
+     * Batch variants of the single lookups: one query for all IDs not yet cached.
+     * The maps are keyed by job post ID, in request order; unknown IDs are left out.
+     */
+    Map<UUID, JobPostBasicInfoDto> getJobPostBasicInfoBatch(Collection<UUID> ids);
+
+    Map<UUID, JobPostStatusDto> getJobPostStatusBatch(Collection<UUID> ids);
+
+    Map<UUID, JobPostSummaryDto> getJobPostSummaryBatch(Collection<UUID> ids);
+
+    /**
+     * Full details including skills and employment types, with one query per collection for the whole batch
+     */
+    Map<UUID, JobSearchResultDto> getJobPostDetailsBatch(Collection<UUID> ids);
+
     Optional<Page<JobPostSummaryDto>> getPublishedJobPostsByCompany(UUID companyId, Pageable pageable);
 
     
@@ -28,4 +45,28 @@ public interface JobPostExternalApi {
     long getPublishedJobPostCount(UUID companyId);
 
     Page<JobSearchResultDto> searchJobPosts(JobSearchRequest request);
+
+    /**
+     * Keyset-paginated search: pages are addressed by request.cursor instead of page numbers and no total is counted
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPageDto<JobSearchResultDto> searchJobPostsByCursor(JobSearchRequest request);
+
+    /**
+     * Relevance-ranked search of request.query over title and description, with the other criteria as filters
+     *
+     * @throws IllegalArgumentException if the query contains no searchable word
+     */
+    JobFullTextSearchResponseDto searchJobPostsFullText(JobSearchRequest request);
+
+    /**
+     * Facet counts over all active job posts, from the precomputed counters
+     */
+    SearchFacetsDto getSearchFacets();
+
+    /**
+     * Cursor search page together with the precomputed facet counts, for the search page sidebar
+     */
+    JobSearchWithFacetsResponseDto searchJobPostsWithFacets(JobSearchRequest request);
 }
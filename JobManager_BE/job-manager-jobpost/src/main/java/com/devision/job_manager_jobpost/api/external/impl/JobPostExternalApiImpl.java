@@ -1,12 +1,14 @@
 package com.devision.job_manager_jobpost.api.external.impl;
 
 import com.devision.job_manager_jobpost.api.external.JobPostExternalApi;
+import com.devision.job_manager_jobpost.dto.JobPostSnapshot;
 import com.devision.job_manager_jobpost.dto.external.*;
 import com.devision.job_manager_jobpost.model.EmploymentType;
 import com.devision.job_manager_jobpost.model.JobPost;
-import com.devision.job_manager_jobpost.model.JobPostEmploymentType;
-import com.devision.job_manager_jobpost.model.JobPostSkill;
 import com.devision.job_manager_jobpost.repository.JobPostRepository;
+import com.devision.job_manager_jobpost.repository.JobPostSearchRepository;
+import com.devision.job_manager_jobpost.service.internal.JobPostFacetService;
+import com.devision.job_manager_jobpost.service.internal.JobPostSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageImpl;
@@ -14,11 +16,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,53 +36,80 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JobPostExternalApiImpl implements JobPostExternalApi {
     
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_TERMS = 8;
+
     private final JobPostRepository jobPostRepository;
+    private final JobPostSearchRepository jobPostSearchRepository;
+    private final JobPostSnapshotCache jobPostSnapshotCache;
+    private final JobPostFacetService jobPostFacetService;
     
     @Override
     public Optional<JobPostBasicInfoDto> getJobPostBasicInfo(UUID jobPostId) {
         log.debug("External API: Getting basic info for job post ID: {}", jobPostId);
-        return jobPostRepository.findById(jobPostId)
+        return jobPostSnapshotCache.get(jobPostId)
                 .map(this::mapToBasicInfo);
     }
     
     @Override
     public Optional<JobPostStatusDto> getJobPostStatus(UUID jobPostId) {
         log.debug("External API: Getting status for job post ID: {}", jobPostId);
-        return jobPostRepository.findById(jobPostId)
-                .map(jobPost -> JobPostStatusDto.builder()
-                        .id(jobPost.getJobPostId())
-                        .companyId(jobPost.getCompanyId())
-                        .isPublished(jobPost.isPublished())
-                        .isExpired(isExpired(jobPost))
-                        .isActive(jobPost.isPublished() && !isExpired(jobPost))
-                        .build());
+        return jobPostSnapshotCache.get(jobPostId)
+                .map(this::mapToStatus);
     }
 
     @Override public Optional<JobPostSummaryDto> getJobPostSummary(UUID jobPostId) {
         log.debug("External API: Getting summary for job post ID: {}", jobPostId);
-        return jobPostRepository.findById(jobPostId)
+        return jobPostSnapshotCache.get(jobPostId)
                 .map(this::mapToSummary);
     }
     
+    @Override
+    public Map<UUID, JobPostBasicInfoDto> getJobPostBasicInfoBatch(Collection<UUID> ids) {
+        log.debug("External API: Getting basic info for {} job posts", ids.size());
+        return mapValues(jobPostSnapshotCache.getAll(ids), this::mapToBasicInfo);
+    }
+
+    @Override
+    public Map<UUID, JobPostStatusDto> getJobPostStatusBatch(Collection<UUID> ids) {
+        log.debug("External API: Getting status for {} job posts", ids.size());
+        return mapValues(jobPostSnapshotCache.getAll(ids), this::mapToStatus);
+    }
+
+    @Override
+    public Map<UUID, JobPostSummaryDto> getJobPostSummaryBatch(Collection<UUID> ids) {
+        log.debug("External API: Getting summary for {} job posts", ids.size());
+        return mapValues(jobPostSnapshotCache.getAll(ids), this::mapToSummary);
+    }
+
+    @Override
+    public Map<UUID, JobSearchResultDto> getJobPostDetailsBatch(Collection<UUID> ids) {
+        log.debug("External API: Getting details for {} job posts", ids.size());
+        Map<UUID, JobSearchResultDto> result = new LinkedHashMap<>();
+        loadSearchResultsById(List.copyOf(new LinkedHashSet<>(ids)))
+                .forEach(dto -> result.put(dto.getId(), dto));
+        return result;
+    }
+
     @Override
 
     public Optional<Page<JobPostSummaryDto>> getPublishedJobPostsByCompany(UUID companyId, Pageable pageable) {
     Page<JobPost> page = jobPostRepository.findByPublishedTrueAndCompanyId(companyId, pageable);
-    Page<JobPostSummaryDto> dtoPage = page.map(this::mapToSummary);
+    Page<JobPostSummaryDto> dtoPage = page.map(jobPost -> mapToSummary(JobPostSnapshot.of(jobPost)));
      return Optional.ofNullable(dtoPage);
     }
     
     @Override
     public boolean isJobPostPublished(UUID jobPostId) {
-        return jobPostRepository.findById(jobPostId)
-                .map(JobPost::isPublished)
+        return jobPostSnapshotCache.get(jobPostId)
+                .map(JobPostSnapshot::published)
                 .orElse(false);
     }
     
     @Override
     public boolean isJobPostExpired(UUID jobPostId) {
-        return jobPostRepository.findById(jobPostId)
-                .map(this::isExpired)
+        return jobPostSnapshotCache.get(jobPostId)
+                .map(jobPost -> jobPost.isExpired(LocalDateTime.now()))
                 .orElse(true);
     }
     
@@ -82,40 +119,52 @@ public class JobPostExternalApiImpl implements JobPostExternalApi {
     }
     
     // Helper methods
-    private JobPostBasicInfoDto mapToBasicInfo(JobPost jobPost) {
+    private JobPostBasicInfoDto mapToBasicInfo(JobPostSnapshot jobPost) {
         return JobPostBasicInfoDto.builder()
-                .id(jobPost.getJobPostId())
-                .companyId(jobPost.getCompanyId())
-                .title(jobPost.getTitle())
-                .description(jobPost.getDescription())
-                .isPublished(jobPost.isPublished())
-                .isFresher(jobPost.isFresher())
-                .locationCity(jobPost.getLocationCity())
+                .id(jobPost.jobPostId())
+                .companyId(jobPost.companyId())
+                .title(jobPost.title())
+                .description(jobPost.description())
+                .isPublished(jobPost.published())
+                .isFresher(jobPost.fresher())
+                .locationCity(jobPost.locationCity())
                 .build();
     }
     
-    private JobPostSummaryDto mapToSummary(JobPost jobPost) {
+    private JobPostStatusDto mapToStatus(JobPostSnapshot jobPost) {
+        boolean expired = jobPost.isExpired(LocalDateTime.now());
+        return JobPostStatusDto.builder()
+                .id(jobPost.jobPostId())
+                .companyId(jobPost.companyId())
+                .isPublished(jobPost.published())
+                .isExpired(expired)
+                .isActive(jobPost.published() && !expired)
+                .build();
+    }
+
+    private <T> Map<UUID, T> mapValues(Map<UUID, JobPostSnapshot> snapshots, Function<JobPostSnapshot, T> mapper) {
+        Map<UUID, T> result = new LinkedHashMap<>();
+        snapshots.forEach((id, snapshot) -> result.put(id, mapper.apply(snapshot)));
+        return result;
+    }
+
+    private JobPostSummaryDto mapToSummary(JobPostSnapshot jobPost) {
         return JobPostSummaryDto.builder()
-                .id(jobPost.getJobPostId())
-                .companyId(jobPost.getCompanyId())
-                .title(jobPost.getTitle())
-                .locationCity(jobPost.getLocationCity())
+                .id(jobPost.jobPostId())
+                .companyId(jobPost.companyId())
+                .title(jobPost.title())
+                .locationCity(jobPost.locationCity())
                 // .countryId(jobPost.getCountryId())
-                .isFresher(jobPost.isFresher())
-                .postedAt(jobPost.getPostedAt())
+                .isFresher(jobPost.fresher())
+                .postedAt(jobPost.postedAt())
                 .salary(JobPostSummaryDto.SalaryInfoDto.builder()
-                        .type(jobPost.getSalaryType() != null ? jobPost.getSalaryType().name() : null)
-                        .min(jobPost.getSalaryMin())
-                        .max(jobPost.getSalaryMax())
-                        .note(jobPost.getSalaryNote())
+                        .type(jobPost.salaryType() != null ? jobPost.salaryType().name() : null)
+                        .min(jobPost.salaryMin())
+                        .max(jobPost.salaryMax())
+                        .note(jobPost.salaryNote())
                         .build())
                 .build();
     }
-    
-    private boolean isExpired(JobPost jobPost) {
-        return jobPost.getExpiryAt() != null && 
-               jobPost.getExpiryAt().isBefore(LocalDateTime.now());
-    }
 
     @Override
     public Page<JobSearchResultDto> searchJobPosts(JobSearchRequest request) {
@@ -125,12 +174,98 @@ public class JobPostExternalApiImpl implements JobPostExternalApi {
                 request.getMaxSalary(), request.getFresher(),
                 request.getCountryCode());
 
-        // Create pageable from the request
         Pageable pageable = PageRequest.of(
                 request.getPage() != null ? request.getPage() : 0,
-                request.getSize() != null ? request.getSize() : 10
+                pageSize(request)
         );
+        JobPostSearchRepository.Criteria criteria = toCriteria(request);
 
+        // Phase 1: IDs of this page only, then the total from an index-only count
+        List<JobPostSearchRepository.Hit> hits = jobPostSearchRepository.findPage(
+                criteria, null, pageable.getOffset(), pageable.getPageSize());
+        long total = jobPostSearchRepository.count(criteria);
+
+        return new PageImpl<>(loadSearchResults(hits), pageable, total);
+    }
+
+    @Override
+    public CursorPageDto<JobSearchResultDto> searchJobPostsByCursor(JobSearchRequest request) {
+        int size = pageSize(request);
+        JobPostSearchRepository.Cursor after = request.getCursor() != null && !request.getCursor().isBlank()
+                ? JobPostSearchRepository.Cursor.decode(request.getCursor())
+                : null;
+
+        // One extra row tells whether another page follows, without counting
+        List<JobPostSearchRepository.Hit> hits = jobPostSearchRepository.findPage(toCriteria(request), after, 0, size + 1);
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+
+        String nextCursor = hasNext ? hits.get(hits.size() - 1).toCursor().encode() : null;
+        return new CursorPageDto<>(loadSearchResults(hits), size, hasNext, nextCursor);
+    }
+
+    @Override
+    public JobFullTextSearchResponseDto searchJobPostsFullText(JobSearchRequest request) {
+        JobPostSearchRepository.TextQuery text = toTextQuery(request.getQuery());
+        JobPostSearchRepository.Criteria criteria = toCriteria(request);
+        int page = request.getPage() != null ? request.getPage() : 0;
+        int size = pageSize(request);
+
+        List<JobPostSearchRepository.RankedHit> hits = jobPostSearchRepository.findRankedPage(
+                criteria, text, (long) page * size, size);
+        JobPostSearchRepository.FacetCounts facets = jobPostSearchRepository.countFacets(criteria, text);
+
+        List<UUID> ids = hits.stream().map(JobPostSearchRepository.RankedHit::jobPostId).toList();
+        return JobFullTextSearchResponseDto.builder()
+                .content(loadSearchResultsById(ids))
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(facets.total())
+                .totalPages((int) ((facets.total() + size - 1) / size))
+                .facets(toFacetsDto(facets))
+                .build();
+    }
+
+    @Override
+    public SearchFacetsDto getSearchFacets() {
+        return jobPostFacetService.getFacets();
+    }
+
+    @Override
+    public JobSearchWithFacetsResponseDto searchJobPostsWithFacets(JobSearchRequest request) {
+        return new JobSearchWithFacetsResponseDto(searchJobPostsByCursor(request), jobPostFacetService.getFacets());
+    }
+
+    /**
+     * Turn free text into a prefix tsquery ("senior jav" -> "senior:* & jav:*") so partially typed words match.
+     * Only letters and digits survive, which also keeps tsquery operators out of user input.
+     */
+    private JobPostSearchRepository.TextQuery toTextQuery(String query) {
+        List<String> terms = query == null ? List.of() : Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_QUERY_TERMS)
+                .toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+
+        String tsQuery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+        return new JobPostSearchRepository.TextQuery(tsQuery, String.join(" ", terms));
+    }
+
+    private SearchFacetsDto toFacetsDto(JobPostSearchRepository.FacetCounts facets) {
+        return SearchFacetsDto.builder()
+                .total(facets.total())
+                .countryCode(facets.counts().getOrDefault("countryCode", Map.of()))
+                .employmentType(facets.counts().getOrDefault("employmentType", Map.of()))
+                .salaryType(facets.counts().getOrDefault("salaryType", Map.of()))
+                .fresher(facets.counts().getOrDefault("fresher", Map.of()))
+                .build();
+    }
+
+    private JobPostSearchRepository.Criteria toCriteria(JobSearchRequest request) {
         // Normalize empty list to null
         List<EmploymentType> employmentTypes = request.getEmploymentTypes();
         if (employmentTypes != null && employmentTypes.isEmpty()) {
@@ -138,51 +273,59 @@ public class JobPostExternalApiImpl implements JobPostExternalApi {
         }
 
         // Preprocess string params for case-insensitive matching
-        String titlePattern = prepareTitle(request.getTitle());
-        String locationCity = prepareLocationCity(request.getLocationCity());
-        String countryCode = prepareCountryCode(request.getCountryCode());
-
-        // Query from the database
-        Page<JobPost> jobPosts;
-        if (employmentTypes == null) {
-            // No employment type filter
-            jobPosts = jobPostRepository.searchJobPostsWithoutEmploymentType(
-                    titlePattern,
-                    locationCity,
-                    countryCode,
-                    request.getMinSalary(),
-                    request.getMaxSalary(),
-                    request.getFresher(),
-                    pageable
-            );
-        } else {
-            // Employment type filter specified
-            jobPosts = jobPostRepository.searchJobPostsWithEmploymentType(
-                    titlePattern,
-                    employmentTypes,
-                    locationCity,
-                    countryCode,
-                    request.getMinSalary(),
-                    request.getMaxSalary(),
-                    request.getFresher(),
-                    pageable
-            );
-        }
+        return new JobPostSearchRepository.Criteria(
+                prepareTitle(request.getTitle()),
+                employmentTypes,
+                prepareLocationCity(request.getLocationCity()),
+                prepareCountryCode(request.getCountryCode()),
+                request.getMinSalary(),
+                request.getMaxSalary(),
+                request.getFresher(),
+                request.getSkillIds() != null && !request.getSkillIds().isEmpty() ? request.getSkillIds() : null,
+                Boolean.TRUE.equals(request.getMatchAllSkills())
+        );
+    }
 
-        return jobPosts.map(this::mapToSearchResultDto);
+    private int pageSize(JobSearchRequest request) {
+        int size = request.getSize() != null ? request.getSize() : 10;
+        return Math.min(size, MAX_SEARCH_PAGE_SIZE);
     }
 
-    private JobSearchResultDto mapToSearchResultDto(JobPost jobPost) {
-        // Extract employment types
-        List<EmploymentType> employmentTypes = jobPost.getEmploymentTypes().stream()
-                .map(JobPostEmploymentType::getType)
-                .collect(Collectors.toList());
+    /**
+     * Phase 2: load the posts of one page (skill IDs included, from the array column) and their employment types,
+     * keeping the order of the phase 1 IDs
+     */
+    private List<JobSearchResultDto> loadSearchResults(List<JobPostSearchRepository.Hit> hits) {
+        return loadSearchResultsById(hits.stream().map(JobPostSearchRepository.Hit::jobPostId).toList());
+    }
+
+    private List<JobSearchResultDto> loadSearchResultsById(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, JobPost> jobPosts = jobPostRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(JobPost::getJobPostId, Function.identity()));
 
-        // Extract skill IDs
-        List<UUID> skillIds = jobPost.getSkills().stream()
-                .map(JobPostSkill::getSkillId)
-                .collect(Collectors.toList());
+        Map<UUID, List<EmploymentType>> employmentTypes = new HashMap<>();
+        for (Object[] row : jobPostRepository.findEmploymentTypesByJobPostIds(ids)) {
+            employmentTypes.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((EmploymentType) row[1]);
+        }
+
+        List<JobSearchResultDto> results = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            JobPost jobPost = jobPosts.get(id);
+            // Deleted between the two phases
+            if (jobPost != null) {
+                results.add(mapToSearchResultDto(jobPost,
+                        employmentTypes.getOrDefault(id, List.of()),
+                        jobPost.getSkillIds() != null ? List.copyOf(jobPost.getSkillIds()) : List.of()));
+            }
+        }
+        return results;
+    }
 
+    private JobSearchResultDto mapToSearchResultDto(JobPost jobPost, List<EmploymentType> employmentTypes, List<UUID> skillIds) {
         // Calculate if job is active
         boolean isActive = jobPost.getExpiryAt() == null ||
                 jobPost.getExpiryAt().isAfter(LocalDateTime.now());
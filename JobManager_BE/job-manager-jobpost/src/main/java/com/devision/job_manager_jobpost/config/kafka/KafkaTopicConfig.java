@@ -20,6 +20,9 @@ public class KafkaTopicConfig {
     public static final String JOB_POST_SKILLS_CHANGED_TOPIC = "jobpost.skills.changed";
     public static final String JOB_POST_COUNTRY_CHANGED_TOPIC = "jobpost.country.changed";
 
+    // Consumed only; owned and created by the Application Service (Job Applicant subsystem)
+    public static final String APPLICATION_CREATED_TOPIC = "application.created";
+
     @Bean
     public NewTopic jobPostCreatedTopic() {
         return TopicBuilder.name(JOB_POST_CREATED_TOPIC)
@@ -0,0 +1,54 @@
+package com.devision.job_manager_jobpost.consumer;
+
+import com.devision.job_manager_jobpost.config.kafka.KafkaTopicConfig;
+import com.devision.job_manager_jobpost.event.ApplicationCreatedEvent;
+import com.devision.job_manager_jobpost.service.internal.ApplicationCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the application counters of this instance current with applications submitted in the Application Service.
+ * Every instance uses its own consumer group, named after app.instance-id so a restarted instance reuses it,
+ * and so each one sees every event; counts that are not cached yet are loaded from the Application Service on
+ * first use, so earlier events are not needed. Off unless app.application-counters.events-enabled is set, since
+ * nothing publishes application.created yet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationEventConsumer {
+
+    private final ApplicationCounterService applicationCounterService;
+
+    @KafkaListener(
+            topics = KafkaTopicConfig.APPLICATION_CREATED_TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}-application-counters-${app.instance-id:local}",
+            containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "${app.application-counters.events-enabled:false}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "spring.json.use.type.headers=false",
+                    "spring.json.value.default.type=com.devision.job_manager_jobpost.event.ApplicationCreatedEvent"
+            }
+    )
+    public void handleApplicationCreated(
+            @Payload(required = false) ApplicationCreatedEvent event,
+            @Header(value = KafkaHeaders.RECEIVED_TOPIC, required = false) String topic,
+            Acknowledgment acknowledgment) {
+
+        if (event != null && event.getJobPostId() != null) {
+            applicationCounterService.recordApplicationCreated(event.getJobPostId());
+            log.debug("Counted new application {} for job post {} from {}",
+                    event.getApplicationId(), event.getJobPostId(), topic);
+        }
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.devision.job_manager_jobpost.consumer;
 
+import com.devision.job_manager_jobpost.config.kafka.KafkaTopicConfig;
+import com.devision.job_manager_jobpost.service.internal.JobPostSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 /**
  * Consumer for job post related events from other services.
  * This is a sample consumer - customize based on your integration needs.
@@ -53,6 +61,43 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class JobPostEventConsumer {
 
-    // Add your Kafka listener methods here
+    private final JobPostSnapshotCache jobPostSnapshotCache;
+
+    /**
+     * Evicts job posts changed on any jobpost instance from the local snapshot cache.
+     * Every instance uses its own consumer group (named after app.instance-id, so a restarted instance reuses it)
+     * so each one sees every event; only the record key (the job post ID) is needed, so the payload type does not
+     * matter.
+     */
+    @KafkaListener(
+            topics = {
+                    KafkaTopicConfig.JOB_POST_UPDATED_TOPIC,
+                    KafkaTopicConfig.JOB_POST_PUBLISHED_TOPIC,
+                    KafkaTopicConfig.JOB_POST_UNPUBLISHED_TOPIC,
+                    KafkaTopicConfig.JOB_POST_DELETED_TOPIC,
+                    KafkaTopicConfig.JOB_POST_EXPIRED_TOPIC,
+                    KafkaTopicConfig.JOB_POST_SKILLS_CHANGED_TOPIC
+            },
+            groupId = "${spring.kafka.consumer.group-id}-snapshot-cache-${app.instance-id:local}",
+            containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "${app.job-post-cache.enabled:true}",
+            properties = {"auto.offset.reset=latest"}
+    )
+    public void evictChangedJobPost(
+            @Header(value = KafkaHeaders.RECEIVED_KEY, required = false) String key,
+            @Header(value = KafkaHeaders.RECEIVED_TOPIC, required = false) String topic,
+            Acknowledgment acknowledgment) {
 
+        try {
+            if (key != null) {
+                jobPostSnapshotCache.evict(UUID.fromString(key));
+                log.debug("Evicted job post {} from snapshot cache on {}", key, topic);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring event with non-UUID key '{}' on {}", key, topic);
+        }
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+    }
 }
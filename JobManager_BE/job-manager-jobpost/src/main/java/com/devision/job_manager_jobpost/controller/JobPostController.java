@@ -8,7 +8,6 @@ import com.devision.job_manager_jobpost.dto.ApiResponse;
 import com.devision.job_manager_jobpost.model.EmploymentType;
 import com.devision.job_manager_jobpost.model.JobPost;
 import com.devision.job_manager_jobpost.model.JobPostEmploymentType;
-import com.devision.job_manager_jobpost.model.JobPostSkill;
 import com.devision.job_manager_jobpost.service.JobPostService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +21,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/job-posts")
@@ -221,11 +219,9 @@ public class JobPostController {
             employmentType = jobPost.getEmploymentTypes().get(0).getType();
         }
 
-        // Extract skill IDs from JobPostSkill entities
-        List<UUID> skillIds = jobPost.getSkills() != null
-                ? jobPost.getSkills().stream()
-                .map(JobPostSkill::getSkillId)
-                .collect(Collectors.toList())
+        // Skill IDs from the skill_ids array column
+        List<UUID> skillIds = jobPost.getSkillIds() != null
+                ? List.copyOf(jobPost.getSkillIds())
                 : Collections.emptyList();
 
         return JobPostDto.builder()
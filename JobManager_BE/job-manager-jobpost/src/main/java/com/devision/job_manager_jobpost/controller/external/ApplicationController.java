@@ -2,8 +2,10 @@ package com.devision.job_manager_jobpost.controller.external;
 
 import com.devision.job_manager_jobpost.dto.ApiResponse;
 import com.devision.job_manager_jobpost.dto.external.ApplicationResponseDto;
+import com.devision.job_manager_jobpost.dto.external.JobPostBatchRequest;
 import com.devision.job_manager_jobpost.dto.external.PageableResponseDto;
 import com.devision.job_manager_jobpost.service.external.ApplicationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -12,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -77,6 +80,35 @@ public class ApplicationController {
         }
     }
 
+    /**
+     * Get application counts for several job posts of a company (e.g. a company dashboard)
+     * POST /applications/job-posts/counts
+     */
+    @PostMapping("/job-posts/counts")
+    public ResponseEntity<ApiResponse<Map<UUID, Map<String, Long>>>> getApplicationCountsBatch(
+            @RequestParam UUID companyId,
+            @Valid @RequestBody JobPostBatchRequest request) {
+
+        log.info("Fetching application counts for {} job posts, companyId={}", request.getIds().size(), companyId);
+
+        try {
+            Map<UUID, Map<String, Long>> result = new LinkedHashMap<>();
+            applicationService.getApplicationCounts(request.getIds(), companyId).forEach((jobPostId, counts) -> {
+                Map<String, Long> countMap = new HashMap<>();
+                countMap.put("pending", counts[0]);
+                countMap.put("archived", counts[1]);
+                countMap.put("total", counts[0] + counts[1]);
+                result.put(jobPostId, countMap);
+            });
+
+            return ResponseEntity.ok(ApiResponse.success("Application counts retrieved", result));
+        } catch (Exception e) {
+            log.error("Error fetching application counts: ", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to fetch counts: " + e.getMessage()));
+        }
+    }
+
     /**
      * Archive an application
      * POST /applications/{applicationId}/archive
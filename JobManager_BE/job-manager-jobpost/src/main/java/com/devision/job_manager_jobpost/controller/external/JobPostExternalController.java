@@ -1,6 +1,7 @@
 package com.devision.job_manager_jobpost.controller.external;
 
 import com.devision.job_manager_jobpost.api.external.JobPostExternalApi;
+import com.devision.job_manager_jobpost.dto.ApiResponse;
 import com.devision.job_manager_jobpost.dto.external.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -42,6 +44,38 @@ public class JobPostExternalController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Batch lookups for list pages (applications, saved jobs): up to 100 IDs per call,
+     * answered with a map of job post ID -> DTO. Unknown IDs are left out of the map.
+     */
+    @PostMapping("/batch/basic-info")
+    public ResponseEntity<Map<UUID, JobPostBasicInfoDto>> getJobPostBasicInfoBatch(
+            @Valid @RequestBody JobPostBatchRequest request) {
+        log.info("External request: Get basic info for {} job posts", request.getIds().size());
+        return ResponseEntity.ok(jobPostExternalApi.getJobPostBasicInfoBatch(request.getIds()));
+    }
+
+    @PostMapping("/batch/status")
+    public ResponseEntity<Map<UUID, JobPostStatusDto>> getJobPostStatusBatch(
+            @Valid @RequestBody JobPostBatchRequest request) {
+        log.info("External request: Get status for {} job posts", request.getIds().size());
+        return ResponseEntity.ok(jobPostExternalApi.getJobPostStatusBatch(request.getIds()));
+    }
+
+    @PostMapping("/batch/summary")
+    public ResponseEntity<Map<UUID, JobPostSummaryDto>> getJobPostSummaryBatch(
+            @Valid @RequestBody JobPostBatchRequest request) {
+        log.info("External request: Get summary for {} job posts", request.getIds().size());
+        return ResponseEntity.ok(jobPostExternalApi.getJobPostSummaryBatch(request.getIds()));
+    }
+
+    @PostMapping("/batch/details")
+    public ResponseEntity<Map<UUID, JobSearchResultDto>> getJobPostDetailsBatch(
+            @Valid @RequestBody JobPostBatchRequest request) {
+        log.info("External request: Get details for {} job posts", request.getIds().size());
+        return ResponseEntity.ok(jobPostExternalApi.getJobPostDetailsBatch(request.getIds()));
+    }
+
     @GetMapping("/company/{companyId}")
     public ResponseEntity<Page<JobPostSummaryDto>> getPublishedJobPostsByCompany(@PathVariable UUID companyId, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
@@ -102,4 +136,87 @@ public class JobPostExternalController {
 
         return ResponseEntity.ok(results);
     }
+
+    /**
+     * Same criteria as /search, paginated with a keyset cursor: pass nextCursor of the
+     * previous response as "cursor" to get the following page. Cost stays flat however deep the client pages.
+     */
+    @PostMapping("/search/cursor")
+    public ResponseEntity<?> searchJobPostsByCursor(
+            @Valid @RequestBody JobSearchRequest request) {
+        log.info("Request from JA: Cursor search job posts - title={}, employmentTypes={}, locationCity={}, countryCode={}, size={}, cursor={}",
+                request.getTitle(),
+                request.getEmploymentTypes(),
+                request.getLocationCity(),
+                request.getCountryCode(),
+                request.getSize(),
+                request.getCursor());
+
+        try {
+            return ResponseEntity.ok(jobPostExternalApi.searchJobPostsByCursor(request));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected cursor search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Full-text search over title and description, most relevant first.
+     * Matches word prefixes and tolerates small typos in the title; the response carries facet counts
+     * by country, employment type, salary type and fresher for all matches.
+     */
+    @PostMapping("/search/full-text")
+    public ResponseEntity<?> searchJobPostsFullText(
+            @Valid @RequestBody JobSearchRequest request) {
+        log.info("Request from JA: Full-text search job posts - query={}, employmentTypes={}, locationCity={}, countryCode={}, page={}, size={}",
+                request.getQuery(),
+                request.getEmploymentTypes(),
+                request.getLocationCity(),
+                request.getCountryCode(),
+                request.getPage(),
+                request.getSize());
+
+        try {
+            JobFullTextSearchResponseDto results = jobPostExternalApi.searchJobPostsFullText(request);
+            log.info("Full-text search returned {} results out of {} total",
+                    results.getContent().size(),
+                    results.getTotalElements());
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected full-text search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Facet counts (country, city, employment type, salary type / band, fresher) over all active job posts.
+     * Served from precomputed counters, so the cost does not grow with the number of job posts.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<SearchFacetsDto> getSearchFacets() {
+        log.info("External request: Get search facets");
+        return ResponseEntity.ok(jobPostExternalApi.getSearchFacets());
+    }
+
+    /**
+     * Cursor search (see /search/cursor) returned together with the facet counts of /facets
+     */
+    @PostMapping("/search/with-facets")
+    public ResponseEntity<?> searchJobPostsWithFacets(
+            @Valid @RequestBody JobSearchRequest request) {
+        log.info("Request from JA: Search job posts with facets - title={}, employmentTypes={}, locationCity={}, countryCode={}, size={}, cursor={}",
+                request.getTitle(),
+                request.getEmploymentTypes(),
+                request.getLocationCity(),
+                request.getCountryCode(),
+                request.getSize(),
+                request.getCursor());
+
+        try {
+            return ResponseEntity.ok(jobPostExternalApi.searchJobPostsWithFacets(request));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected search with facets: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.devision.job_manager_jobpost.dto;
+
+import com.devision.job_manager_jobpost.model.JobPost;
+import com.devision.job_manager_jobpost.model.SalaryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the scalar fields of a job post, without the lazy skill / employment type collections.
+ * Safe to share between threads and to keep in a cache after the persistence context is gone.
+ */
+public record JobPostSnapshot(
+        UUID jobPostId,
+        UUID companyId,
+        String title,
+        String description,
+        String locationCity,
+        String countryCode,
+        boolean fresher,
+        boolean published,
+        boolean aPrivate,
+        SalaryType salaryType,
+        BigDecimal salaryMin,
+        BigDecimal salaryMax,
+        String salaryNote,
+        LocalDateTime postedAt,
+        LocalDateTime expiryAt
+) {
+
+    public static JobPostSnapshot of(JobPost jobPost) {
+        return new JobPostSnapshot(
+                jobPost.getJobPostId(),
+                jobPost.getCompanyId(),
+                jobPost.getTitle(),
+                jobPost.getDescription(),
+                jobPost.getLocationCity(),
+                jobPost.getCountryCode(),
+                jobPost.isFresher(),
+                jobPost.isPublished(),
+                jobPost.isAPrivate(),
+                jobPost.getSalaryType(),
+                jobPost.getSalaryMin(),
+                jobPost.getSalaryMax(),
+                jobPost.getSalaryNote(),
+                jobPost.getPostedAt(),
+                jobPost.getExpiryAt());
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiryAt != null && expiryAt.isBefore(now);
+    }
+}
@@ -0,0 +1,25 @@
+package com.devision.job_manager_jobpost.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of the Application Service ID-filter endpoint:
+ * returns the page of applications of the job post whose IDs are in (or, with exclude = true, not in) applicationIds
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApplicationIdFilterRequestDto {
+
+    private List<UUID> applicationIds;
+    private boolean exclude;
+    private int page;
+    private int size;
+}
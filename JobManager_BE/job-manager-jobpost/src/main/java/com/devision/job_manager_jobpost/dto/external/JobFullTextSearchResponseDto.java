@@ -0,0 +1,24 @@
+package com.devision.job_manager_jobpost.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of full-text search results, most relevant first, with facet counts over all matches
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobFullTextSearchResponseDto {
+    private List<JobSearchResultDto> content;
+    private int pageNumber;
+    private int pageSize;
+    private long totalElements;
+    private int totalPages;
+    private SearchFacetsDto facets;
+}
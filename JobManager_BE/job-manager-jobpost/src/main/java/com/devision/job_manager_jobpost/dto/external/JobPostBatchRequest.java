@@ -0,0 +1,28 @@
+package com.devision.job_manager_jobpost.dto.external;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for the batch lookup endpoints
+ * Resolves a list of job posts (e.g. an applicant's applications or saved jobs) in one call
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobPostBatchRequest {
+
+    public static final int MAX_IDS = 100;
+
+    @NotEmpty(message = "Job post IDs list cannot be empty")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " job post IDs per request")
+    private List<UUID> ids;
+}
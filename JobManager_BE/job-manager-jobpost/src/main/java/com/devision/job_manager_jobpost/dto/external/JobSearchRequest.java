@@ -24,12 +24,15 @@ import java.util.UUID;
 @AllArgsConstructor
 public class JobSearchRequest {
     private String title;
+    private String query; // Free text over title and description (full-text search only)
     private List<EmploymentType> employmentTypes;
     private String locationCity;
     private String countryCode;
     private BigDecimal minSalary;
     private BigDecimal maxSalary;
     private Boolean fresher; // If it is false or null -> show all job posts
+    private List<UUID> skillIds; // Posts requiring any of these skills (all of them with matchAllSkills)
+    private Boolean matchAllSkills;
 
     @Min(0)
     @Builder.Default
@@ -38,4 +41,7 @@ public class JobSearchRequest {
     @Min(1)
     @Builder.Default
     private Integer size = 10;
+
+    // Opaque nextCursor of the previous page (cursor search only); null for the first page
+    private String cursor;
 }
@@ -0,0 +1,16 @@
+package com.devision.job_manager_jobpost.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Search results with the facet counts of all active job posts
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchWithFacetsResponseDto {
+    private CursorPageDto<JobSearchResultDto> results;
+    private SearchFacetsDto facets;
+}
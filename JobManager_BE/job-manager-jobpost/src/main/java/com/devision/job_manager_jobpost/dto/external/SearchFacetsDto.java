@@ -0,0 +1,26 @@
+package com.devision.job_manager_jobpost.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of matching job posts per value of each facet, e.g. countryCode -> {"VN": 120, "AU": 45}
+ * Facets a response does not compute are null.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacetsDto {
+    private long total;
+    private Map<String, Long> countryCode;
+    private Map<String, Long> city;
+    private Map<String, Long> employmentType;
+    private Map<String, Long> salaryType;
+    private Map<String, Long> salaryBand;
+    private Map<String, Long> fresher;
+}
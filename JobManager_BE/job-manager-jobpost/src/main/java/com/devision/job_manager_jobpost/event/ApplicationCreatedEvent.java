@@ -0,0 +1,41 @@
+package com.devision.job_manager_jobpost.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event received from the Application Service (Job Applicant subsystem) when an applicant applies to a job post.
+ * This is a mirror class that matches the event published by the Application Service.
+ *
+ * Only used to keep the cached application counts of the job post current.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApplicationCreatedEvent {
+    /**
+     * The new application
+     */
+    private UUID applicationId;
+
+    /**
+     * The job post applied to
+     */
+    private UUID jobPostId;
+
+    /**
+     * The applicant who applied
+     */
+    private UUID applicantId;
+
+    /**
+     * Timestamp when the application was submitted
+     */
+    private LocalDateTime createdAt;
+}
@@ -8,7 +8,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -30,6 +32,12 @@ public class JobPost {
     @OneToMany(mappedBy = "jobPost", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<JobPostEmploymentType> employmentTypes = new ArrayList<>();
 
+    // Skill IDs stored as a uuid[] column (GIN indexed); the source for reads in every skill storage mode
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "skill_ids", nullable = false, columnDefinition = "uuid[]")
+    private List<UUID> skillIds = new ArrayList<>();
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "job_post_id")
@@ -78,6 +86,10 @@ public class JobPost {
     @Column(name = "expiry_at")
     private LocalDateTime expiryAt;
 
+    // Set by the expiry sweeper once expiryAt has passed; reset when the expiry is moved into the future
+    @Column(name = "is_expired", nullable = false)
+    private boolean expired;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -86,4 +98,15 @@ public class JobPost {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Never null, even for a row loaded before the skill_ids backfill ran
+    public List<UUID> getSkillIds() {
+        if (skillIds == null) {
+            skillIds = new ArrayList<>();
+        }
+        return skillIds;
+    }
+
+    public void setSkillIds(List<UUID> skillIds) {
+        this.skillIds = skillIds != null ? skillIds : new ArrayList<>();
+    }
 }
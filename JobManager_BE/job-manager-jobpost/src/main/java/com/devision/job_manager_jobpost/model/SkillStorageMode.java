@@ -0,0 +1,11 @@
+package com.devision.job_manager_jobpost.model;
+
+/**
+ * Where job post skills are written (app.skills.storage-mode). Reads always use JobPost.skillIds.
+ */
+public enum SkillStorageMode {
+    // job_post.skill_ids plus the job_post_skill rows, for consumers still reading the rows
+    DUAL,
+    // job_post.skill_ids only; a skill change is a single-row update
+    ARRAY
+}
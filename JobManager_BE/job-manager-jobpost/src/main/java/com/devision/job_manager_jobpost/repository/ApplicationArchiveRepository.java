@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,4 +42,14 @@ public interface ApplicationArchiveRepository extends JpaRepository<ApplicationA
      * Count archived applications for a job post
      */
     long countByJobPostIdAndCompanyId(UUID jobPostId, UUID companyId);
+
+    /**
+     * Count archived applications for several job posts of a company
+     * Returns [jobPostId, count] rows; job posts without archived applications are absent
+     */
+    @Query("SELECT aa.jobPostId, COUNT(aa) FROM ApplicationArchive aa " +
+            "WHERE aa.companyId = :companyId AND aa.jobPostId IN :jobPostIds GROUP BY aa.jobPostId")
+    List<Object[]> countByJobPostIdsAndCompany(
+            @Param("jobPostIds") Collection<UUID> jobPostIds,
+            @Param("companyId") UUID companyId);
 }
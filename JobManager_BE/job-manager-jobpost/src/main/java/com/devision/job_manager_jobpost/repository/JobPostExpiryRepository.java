@@ -0,0 +1,67 @@
+package com.devision.job_manager_jobpost.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Queries of the expiry sweep, backed by idx_job_post_published_expiry (see db/jobpost-schema.sql)
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobPostExpiryRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record ExpiringPost(UUID jobPostId, UUID companyId, LocalDateTime expiryAt) {}
+
+    /**
+     * Next batch of published posts whose expiry has passed but which are not flagged yet, in (expiry_at, job_post_id)
+     * order after the given position. Rows are locked; rows locked by a concurrent writer are skipped until the next run.
+     */
+    public List<ExpiringPost> lockNextBatch(LocalDateTime now, LocalDateTime afterExpiryAt, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT j.job_post_id, j.company_id, j.expiry_at FROM job_post j " +
+                "WHERE j.is_published AND NOT j.is_expired AND j.expiry_at IS NOT NULL AND j.expiry_at <= :now");
+        if (afterExpiryAt != null) {
+            sql.append(" AND (j.expiry_at, j.job_post_id) > (:afterExpiryAt, :afterId)");
+            params.addValue("afterExpiryAt", Timestamp.valueOf(afterExpiryAt));
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY j.expiry_at, j.job_post_id LIMIT :limit FOR UPDATE SKIP LOCKED");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new ExpiringPost(
+                rs.getObject("job_post_id", UUID.class),
+                rs.getObject("company_id", UUID.class),
+                rs.getTimestamp("expiry_at").toLocalDateTime()));
+    }
+
+    /**
+     * @return number of posts flagged
+     */
+    public int markExpired(Collection<UUID> jobPostIds) {
+        return jdbcTemplate.update(
+                "UPDATE job_post SET is_expired = true, updated_at = now() WHERE job_post_id IN (:ids) AND NOT is_expired",
+                new MapSqlParameterSource("ids", jobPostIds));
+    }
+
+    /**
+     * Transaction-scoped Postgres advisory lock; false if another instance holds it
+     */
+    public boolean tryAdvisoryXactLock(long lockKey) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:lockKey)",
+                new MapSqlParameterSource("lockKey", lockKey), Boolean.class);
+        return Boolean.TRUE.equals(locked);
+    }
+}
@@ -0,0 +1,137 @@
+package com.devision.job_manager_jobpost.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Precomputed facet counters (job_post_facet_count): the number of active job posts per (facet, value), split over
+ * stripes that are summed on read. Counters are adjusted by deltas in the transaction that changes a job post, each
+ * transaction on one stripe, and rebuilt from scratch (into stripe 0) by reconciliation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobPostFacetCountRepository {
+
+    /**
+     * Salary band of a job post; must stay in line with JobPostFacetServiceImpl#salaryBand
+     */
+    public static final String SALARY_BAND_SQL =
+            "CASE WHEN j.salary_type = 'NEGOTIABLE' THEN 'NEGOTIABLE' " +
+            "WHEN COALESCE(j.salary_max, j.salary_min) IS NULL THEN 'UNSPECIFIED' " +
+            "WHEN COALESCE(j.salary_max, j.salary_min) < 1000 THEN '0-1000' " +
+            "WHEN COALESCE(j.salary_max, j.salary_min) < 2000 THEN '1000-2000' " +
+            "WHEN COALESCE(j.salary_max, j.salary_min) < 5000 THEN '2000-5000' " +
+            "ELSE '5000+' END";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record Delta(String facet, String value, long change) {}
+
+    /**
+     * Apply counter deltas to one stripe. Callers pass them sorted by (facet, value) so concurrent transactions
+     * on the same stripe lock rows in the same order and cannot deadlock.
+     */
+    public void applyDeltas(List<Delta> deltas, int stripe) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = deltas.stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("facet", delta.facet())
+                        .addValue("value", delta.value())
+                        .addValue("stripe", stripe)
+                        .addValue("change", delta.change()))
+                .toArray(SqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO job_post_facet_count (facet, value, stripe, count) " +
+                "VALUES (:facet, :value, :stripe, :change) " +
+                "ON CONFLICT (facet, value, stripe) DO UPDATE SET count = job_post_facet_count.count + EXCLUDED.count",
+                batch);
+    }
+
+    /**
+     * All non-zero counters (stripes summed), facet -> value -> count
+     */
+    public Map<String, Map<String, Long>> findAll() {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT facet, value, SUM(count) AS total FROM job_post_facet_count GROUP BY facet, value " +
+                "HAVING SUM(count) > 0 ORDER BY facet, total DESC, value",
+                rs -> {
+                    counts.computeIfAbsent(rs.getString("facet"), f -> new LinkedHashMap<>())
+                            .put(rs.getString("value"), rs.getLong("total"));
+                });
+        return counts;
+    }
+
+    /**
+     * Recompute every counter from job_post. Must run inside a transaction so readers never see an empty table.
+     * The EXCLUSIVE table lock keeps readers going but holds back writers until commit: a delta applied between the
+     * DELETE and the INSERT ... SELECT (to any stripe) would otherwise be counted twice until the next rebuild.
+     *
+     * @return number of counter rows written
+     */
+    public int rebuild() {
+        jdbcTemplate.update("LOCK TABLE job_post_facet_count IN EXCLUSIVE MODE", new MapSqlParameterSource());
+        jdbcTemplate.update("DELETE FROM job_post_facet_count", new MapSqlParameterSource());
+        return jdbcTemplate.update(
+                facetCountsSql("j.is_published AND NOT j.is_private AND NOT j.is_expired", "")
+                        + " ON CONFLICT (facet, value, stripe) DO UPDATE SET count = EXCLUDED.count",
+                new MapSqlParameterSource("stripe", 0));
+    }
+
+    /**
+     * Remove the contribution of the given active posts in one statement (e.g. a batch about to be marked expired).
+     * Posts that are not active are ignored, so the call must happen before their state changes.
+     */
+    public void subtractPosts(Collection<UUID> jobPostIds, int stripe) {
+        if (jobPostIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+                facetCountsSql("j.job_post_id IN (:ids) AND j.is_published AND NOT j.is_private AND NOT j.is_expired", "-")
+                        + " ON CONFLICT (facet, value, stripe) DO UPDATE SET count = job_post_facet_count.count + EXCLUDED.count",
+                new MapSqlParameterSource("ids", jobPostIds).addValue("stripe", stripe));
+    }
+
+    /**
+     * INSERT of the facet counts of the posts matching the condition into stripe :stripe, in (facet, value) order
+     * to keep lock order stable
+     */
+    private static String facetCountsSql(String condition, String sign) {
+        return "WITH active AS (SELECT j.* FROM job_post j WHERE " + condition + ") " +
+                "INSERT INTO job_post_facet_count (facet, value, stripe, count) " +
+                "SELECT facet, value, :stripe, " + sign + "COUNT(*) FROM (" +
+                "  SELECT 'total' AS facet, 'all' AS value FROM active j" +
+                "  UNION ALL SELECT 'countryCode', upper(trim(j.country_code)) FROM active j" +
+                "    WHERE trim(j.country_code) <> ''" +
+                "  UNION ALL SELECT 'city', lower(trim(j.location_city)) FROM active j" +
+                "    WHERE trim(j.location_city) <> ''" +
+                "  UNION ALL SELECT 'salaryType', j.salary_type FROM active j" +
+                "  UNION ALL SELECT 'salaryBand', " + SALARY_BAND_SQL + " FROM active j" +
+                "  UNION ALL SELECT 'fresher', CAST(j.is_fresher AS text) FROM active j" +
+                "  UNION ALL SELECT 'employmentType', t.type FROM (" +
+                "    SELECT DISTINCT et.job_post_id, et.type FROM active j" +
+                "    JOIN job_post_employment_type et ON et.job_post_id = j.job_post_id) t" +
+                ") facets GROUP BY facet, value ORDER BY facet, value";
+    }
+
+    /**
+     * Transaction-scoped Postgres advisory lock; false if another instance holds it
+     */
+    public boolean tryAdvisoryXactLock(long lockKey) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:lockKey)",
+                new MapSqlParameterSource("lockKey", lockKey), Boolean.class);
+        return Boolean.TRUE.equals(locked);
+    }
+}
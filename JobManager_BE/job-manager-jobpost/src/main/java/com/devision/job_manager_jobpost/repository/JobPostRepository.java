@@ -1,6 +1,5 @@
 package com.devision.job_manager_jobpost.repository;
 
-import com.devision.job_manager_jobpost.model.EmploymentType;
 import com.devision.job_manager_jobpost.model.JobPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,8 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,55 +29,8 @@ public interface JobPostRepository extends JpaRepository<JobPost, UUID> {
     long countByPublishedTrueAndCompanyId(UUID companyId);
 
     /**
-     * Search job posts WITHOUT employment type filter
-     * Used when employmentTypes parameter is null
+     * Phase two of the external search: employment types of the given job posts, as (jobPostId, type) pairs
      */
-    @Query("SELECT DISTINCT j FROM JobPost j " +
-            "LEFT JOIN FETCH j.skills s " +
-            "WHERE j.published = true " +
-            "AND j.aPrivate = false " +
-            "AND (:title IS NULL OR LOWER(j.title) LIKE :title) " +
-            "AND (:locationCity IS NULL OR LOWER(j.locationCity) = :locationCity) " +
-            "AND (:countryCode IS NULL OR LOWER(j.countryCode) = :countryCode) " +
-            "AND (:minSalary IS NULL OR j.salaryMin >= :minSalary OR j.salaryMax >= :minSalary OR j.salaryType = 'NEGOTIABLE') " +
-            "AND (:maxSalary IS NULL OR j.salaryMax <= :maxSalary OR j.salaryType = 'NEGOTIABLE') " +
-            "AND (:fresher IS NULL OR j.fresher = :fresher) " +
-            "AND (j.expiryAt IS NULL OR j.expiryAt > CURRENT_TIMESTAMP)")
-    Page<JobPost> searchJobPostsWithoutEmploymentType(
-            @Param("title") String title,
-            @Param("locationCity") String locationCity,
-            @Param("countryCode") String countryCode,
-            @Param("minSalary") BigDecimal minSalary,
-            @Param("maxSalary") BigDecimal maxSalary,
-            @Param("fresher") Boolean fresher,
-            Pageable pageable
-    );
-
-    /**
-     * Search job posts WITH employment type filter
-     * Used when employmentTypes parameter is provided
-     */
-    @Query("SELECT DISTINCT j FROM JobPost j " +
-            "JOIN j.employmentTypes et " +
-            "LEFT JOIN FETCH j.skills s " +
-            "WHERE j.published = true " +
-            "AND j.aPrivate = false " +
-            "AND et.type IN :employmentTypes " +
-            "AND (:title IS NULL OR LOWER(j.title) LIKE :title) " +
-            "AND (:locationCity IS NULL OR LOWER(j.locationCity) = :locationCity) " +
-            "AND (:countryCode IS NULL OR LOWER(j.countryCode) = :countryCode) " +
-            "AND (:minSalary IS NULL OR j.salaryMin >= :minSalary OR j.salaryMax >= :minSalary OR j.salaryType = 'NEGOTIABLE') " +
-            "AND (:maxSalary IS NULL OR j.salaryMax <= :maxSalary OR j.salaryType = 'NEGOTIABLE') " +
-            "AND (:fresher IS NULL OR j.fresher = :fresher) " +
-            "AND (j.expiryAt IS NULL OR j.expiryAt > CURRENT_TIMESTAMP)")
-    Page<JobPost> searchJobPostsWithEmploymentType(
-            @Param("title") String title,
-            @Param("employmentTypes") List<EmploymentType> employmentTypes,
-            @Param("locationCity") String locationCity,
-            @Param("countryCode") String countryCode,
-            @Param("minSalary") BigDecimal minSalary,
-            @Param("maxSalary") BigDecimal maxSalary,
-            @Param("fresher") Boolean fresher,
-            Pageable pageable
-    );
+    @Query("SELECT et.jobPost.jobPostId, et.type FROM JobPostEmploymentType et WHERE et.jobPost.jobPostId IN :jobPostIds")
+    List<Object[]> findEmploymentTypesByJobPostIds(@Param("jobPostIds") Collection<UUID> jobPostIds);
 }
@@ -0,0 +1,255 @@
+package com.devision.job_manager_jobpost.repository;
+
+import com.devision.job_manager_jobpost.model.EmploymentType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Phase one of the external job search: returns only the IDs of one page, in (posted_at DESC, job_post_id DESC)
+ * order, using a keyset cursor instead of OFFSET when one is given.
+ *
+ * The WHERE clause only contains the filters that are actually set, so the planner can pick the matching
+ * partial index (see db/jobpost-schema.sql) instead of evaluating ":x IS NULL OR ..." for every row.
+ * Skills and employment types of the page are fetched afterwards in one batch per collection.
+ *
+ * Full-text search runs against the generated search_vector column (GIN indexed) with a trigram fallback on the title.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobPostSearchRepository {
+
+    private static final String TEXT_QUERY_CTE = "WITH q AS (SELECT to_tsquery('english', :tsQuery) AS query) ";
+
+    // How much a fuzzy title match adds to the text rank (both are roughly in [0, 1])
+    private static final double TITLE_SIMILARITY_WEIGHT = 0.3;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Normalized search filters; null means "no filter"
+     *
+     * @param titlePattern lower-case LIKE pattern, e.g. "%java%"
+     * @param locationCity lower-case
+     * @param countryCode  lower-case
+     */
+    public record Criteria(String titlePattern,
+                           List<EmploymentType> employmentTypes,
+                           String locationCity,
+                           String countryCode,
+                           BigDecimal minSalary,
+                           BigDecimal maxSalary,
+                           Boolean fresher,
+                           List<UUID> skillIds,
+                           boolean matchAllSkills) {}
+
+    /**
+     * Position of the last row of a page; the next page starts strictly after it
+     */
+    public record Cursor(LocalDateTime postedAt, UUID jobPostId) {
+
+        public String encode() {
+            String raw = postedAt + "|" + jobPostId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+        }
+    }
+
+    /**
+     * Full-text part of a search
+     *
+     * @param tsQuery to_tsquery input, e.g. "java:* & develop:*" (prefix match on every term)
+     * @param text    the normalized raw text, matched against the title by trigram word similarity for typos
+     */
+    public record TextQuery(String tsQuery, String text) {}
+
+    /**
+     * Matches of a full-text search ranked by relevance
+     */
+    public record RankedHit(UUID jobPostId, double score) {}
+
+    /**
+     * Total number of matches and the count per facet value (facet -> value -> count)
+     */
+    public record FacetCounts(long total, Map<String, Map<String, Long>> counts) {}
+
+    public record Hit(UUID jobPostId, LocalDateTime postedAt) {
+
+        public Cursor toCursor() {
+            return new Cursor(postedAt, jobPostId);
+        }
+    }
+
+    /**
+     * IDs of one page. With a cursor the page starts after it and offset is ignored.
+     */
+    public List<Hit> findPage(Criteria criteria, Cursor after, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT j.job_post_id, j.posted_at FROM job_post j");
+        appendWhere(sql, params, criteria);
+
+        if (after != null) {
+            sql.append(" AND (j.posted_at, j.job_post_id) < (:cursorPostedAt, :cursorId)");
+            params.addValue("cursorPostedAt", Timestamp.valueOf(after.postedAt()));
+            params.addValue("cursorId", after.jobPostId());
+        }
+
+        sql.append(" ORDER BY j.posted_at DESC, j.job_post_id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+        if (after == null && offset > 0) {
+            sql.append(" OFFSET :offset");
+            params.addValue("offset", offset);
+        }
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new Hit(
+                rs.getObject("job_post_id", UUID.class),
+                rs.getTimestamp("posted_at").toLocalDateTime()));
+    }
+
+    /**
+     * Number of matching posts; an index-only count, no rows or collections are loaded
+     */
+    public long count(Criteria criteria) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM job_post j");
+        appendWhere(sql, params, criteria);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Relevance-ordered page of a full-text search. Ranking is cover density over the weighted title/description
+     * vector, normalized by document length (so long descriptions do not win by repetition), plus a title
+     * similarity bonus that also lets misspelled queries match.
+     */
+    public List<RankedHit> findRankedPage(Criteria criteria, TextQuery text, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(TEXT_QUERY_CTE)
+                .append("SELECT j.job_post_id, ")
+                .append("ts_rank_cd(j.search_vector, q.query, 1 | 32) + :titleWeight * word_similarity(:text, lower(j.title)) AS score ")
+                .append("FROM job_post j CROSS JOIN q");
+        appendWhere(sql, params, criteria);
+        appendTextMatch(sql, params, text);
+
+        sql.append(" ORDER BY score DESC, j.posted_at DESC, j.job_post_id DESC LIMIT :limit OFFSET :offset");
+        params.addValue("titleWeight", TITLE_SIMILARITY_WEIGHT);
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new RankedHit(
+                rs.getObject("job_post_id", UUID.class),
+                rs.getDouble("score")));
+    }
+
+    /**
+     * Facet counts by country, employment type, salary type and fresher over every match, in one round trip.
+     * The text query is optional; without it the counts cover all searchable posts matching the criteria.
+     */
+    public FacetCounts countFacets(Criteria criteria, TextQuery text) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder();
+        if (text != null) {
+            sql.append(TEXT_QUERY_CTE).append(", matches AS (SELECT j.job_post_id, j.country_code, j.salary_type, j.is_fresher ")
+                    .append("FROM job_post j CROSS JOIN q");
+        } else {
+            sql.append("WITH matches AS (SELECT j.job_post_id, j.country_code, j.salary_type, j.is_fresher FROM job_post j");
+        }
+        appendWhere(sql, params, criteria);
+        if (text != null) {
+            appendTextMatch(sql, params, text);
+        }
+        sql.append(") ")
+                .append("SELECT 'total' AS facet, NULL AS value, COUNT(*) AS cnt FROM matches ")
+                .append("UNION ALL SELECT 'countryCode', upper(country_code), COUNT(*) FROM matches GROUP BY upper(country_code) ")
+                .append("UNION ALL SELECT 'salaryType', salary_type, COUNT(*) FROM matches GROUP BY salary_type ")
+                .append("UNION ALL SELECT 'fresher', CAST(is_fresher AS text), COUNT(*) FROM matches GROUP BY is_fresher ")
+                .append("UNION ALL SELECT 'employmentType', et.type, COUNT(DISTINCT m.job_post_id) FROM matches m ")
+                .append("JOIN job_post_employment_type et ON et.job_post_id = m.job_post_id GROUP BY et.type");
+
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        long[] total = {0};
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            String facet = rs.getString("facet");
+            if ("total".equals(facet)) {
+                total[0] = rs.getLong("cnt");
+            } else if (rs.getString("value") != null) {
+                counts.computeIfAbsent(facet, f -> new LinkedHashMap<>()).put(rs.getString("value"), rs.getLong("cnt"));
+            }
+        });
+        return new FacetCounts(total[0], counts);
+    }
+
+    private void appendTextMatch(StringBuilder sql, MapSqlParameterSource params, TextQuery text) {
+        // Either the (prefix) full-text query matches, or the title is close enough to the text to be a typo
+        sql.append(" AND (j.search_vector @@ q.query OR :text <% lower(j.title))");
+        params.addValue("tsQuery", text.tsQuery());
+        params.addValue("text", text.text());
+    }
+
+    private void appendWhere(StringBuilder sql, MapSqlParameterSource params, Criteria criteria) {
+        // Published posts always carry posted_at (set by publishJobPost), which the keyset order relies on.
+        // Expiry is a flag maintained by JobPostExpirySweeper, so the predicate matches the partial indexes.
+        sql.append(" WHERE j.is_published AND NOT j.is_private AND NOT j.is_expired AND j.posted_at IS NOT NULL");
+
+        if (criteria.titlePattern() != null) {
+            sql.append(" AND lower(j.title) LIKE :title");
+            params.addValue("title", criteria.titlePattern());
+        }
+        if (criteria.employmentTypes() != null && !criteria.employmentTypes().isEmpty()) {
+            sql.append(" AND EXISTS (SELECT 1 FROM job_post_employment_type et")
+                    .append(" WHERE et.job_post_id = j.job_post_id AND et.type IN (:employmentTypes))");
+            params.addValue("employmentTypes", criteria.employmentTypes().stream().map(Enum::name).toList());
+        }
+        if (criteria.locationCity() != null) {
+            sql.append(" AND lower(j.location_city) = :locationCity");
+            params.addValue("locationCity", criteria.locationCity());
+        }
+        if (criteria.countryCode() != null) {
+            sql.append(" AND lower(j.country_code) = :countryCode");
+            params.addValue("countryCode", criteria.countryCode());
+        }
+        if (criteria.minSalary() != null) {
+            sql.append(" AND (j.salary_min >= :minSalary OR j.salary_max >= :minSalary OR j.salary_type = 'NEGOTIABLE')");
+            params.addValue("minSalary", criteria.minSalary());
+        }
+        if (criteria.maxSalary() != null) {
+            sql.append(" AND (j.salary_max <= :maxSalary OR j.salary_type = 'NEGOTIABLE')");
+            params.addValue("maxSalary", criteria.maxSalary());
+        }
+        if (criteria.fresher() != null) {
+            sql.append(" AND j.is_fresher = :fresher");
+            params.addValue("fresher", criteria.fresher());
+        }
+        if (criteria.skillIds() != null && !criteria.skillIds().isEmpty()) {
+            // Containment (all) or overlap (any) on the GIN-indexed skill_ids array
+            sql.append(criteria.matchAllSkills()
+                    ? " AND j.skill_ids @> CAST(:skillIds AS uuid[])"
+                    : " AND j.skill_ids && CAST(:skillIds AS uuid[])");
+            params.addValue("skillIds", criteria.skillIds().stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(",", "{", "}")));
+        }
+    }
+}
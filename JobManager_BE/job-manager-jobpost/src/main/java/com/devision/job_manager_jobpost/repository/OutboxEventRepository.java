@@ -0,0 +1,69 @@
+package com.devision.job_manager_jobpost.repository;
+
+import com.devision.job_manager_jobpost.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events, in insertion order
+     */
+    @Query(value = "SELECT * FROM job_post_outbox ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findNextBatch(@Param("limit") int limit);
+
+    /**
+     * True while a relay run (of any instance) holds an unexpired lease on some events
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM job_post_outbox WHERE claimed_until > now())", nativeQuery = true)
+    boolean existsActiveClaim();
+
+    @Modifying
+    @Query(value = "UPDATE job_post_outbox SET claimed_until = now() + :leaseMs * interval '1 millisecond' " +
+            "WHERE id IN (:ids)", nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query(value = "UPDATE job_post_outbox SET claimed_until = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE job_post_outbox SET attempts = attempts + 1, last_error = :error WHERE id = :id",
+            nativeQuery = true)
+    int recordFailure(@Param("id") long id, @Param("error") String error);
+
+    /**
+     * Copy the event to job_post_outbox_dead_letter; the caller deletes it from the outbox in the same transaction
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO job_post_outbox_dead_letter (
+                id, topic, message_key, event_type, payload, created_at, attempts, last_error
+            )
+            SELECT id, topic, message_key, event_type, payload, created_at, attempts, last_error
+            FROM job_post_outbox
+            WHERE id = :id
+            ON CONFLICT (id) DO NOTHING
+            """, nativeQuery = true)
+    int copyToDeadLetter(@Param("id") long id);
+
+    /**
+     * Transaction-scoped Postgres advisory lock; false if another instance holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("lockKey") long lockKey);
+
+    @Query(value = "SELECT COUNT(*) FROM job_post_outbox", nativeQuery = true)
+    long countPending();
+}
@@ -3,6 +3,8 @@ package com.devision.job_manager_jobpost.service.external;
 import com.devision.job_manager_jobpost.dto.external.ApplicationResponseDto;
 import com.devision.job_manager_jobpost.dto.external.PageableResponseDto;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface ApplicationService {
@@ -53,4 +55,12 @@ public interface ApplicationService {
      * @return Array with [pendingCount, archivedCount]
      */
     long[] getApplicationCounts(UUID jobPostId, UUID companyId);
+
+    /**
+     * Get pending and archived application counts for several job posts of a company
+     * @param jobPostIds The job post IDs
+     * @param companyId The company ID
+     * @return Map of job post ID to [pendingCount, archivedCount], in request order
+     */
+    Map<UUID, long[]> getApplicationCounts(List<UUID> jobPostIds, UUID companyId);
 }
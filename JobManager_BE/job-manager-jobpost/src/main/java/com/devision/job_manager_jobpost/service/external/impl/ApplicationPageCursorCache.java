@@ -0,0 +1,82 @@
+package com.devision.job_manager_jobpost.service.external.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Remembers where filtered (archived / pending) application pages start in the upstream application list,
+ * so that page N + 1 resumes the scan at the end of page N instead of at the first upstream row.
+ *
+ * Checkpoints are kept per (job post, company, archived) and carry the upstream total and archived count they were
+ * recorded against; a checkpoint whose counts no longer match is stale and the caller restarts from the beginning.
+ * Archive changes of a job post drop its checkpoints right away, everything else ages out with the TTL.
+ */
+@Component
+public class ApplicationPageCursorCache {
+
+    private static final int MAX_CHECKPOINTS_PER_KEY = 256;
+
+    /**
+     * The filtered row at {@code filteredOffset} is the upstream row at {@code upstreamRow}
+     */
+    public record Checkpoint(int filteredOffset, int upstreamRow, long upstreamTotal, int archivedCount) {
+    }
+
+    private record Key(UUID jobPostId, UUID companyId, boolean archived) {
+    }
+
+    private final Cache<Key, NavigableMap<Integer, Checkpoint>> cache;
+
+    public ApplicationPageCursorCache(
+            @Value("${app.application-paging.cursor-ttl-seconds:120}") long ttlSeconds,
+            @Value("${app.application-paging.cursor-maximum-size:5000}") long maximumSize
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Closest checkpoint at or before the given filtered offset
+     */
+    public Optional<Checkpoint> floor(UUID jobPostId, UUID companyId, boolean archived, int filteredOffset) {
+        NavigableMap<Integer, Checkpoint> checkpoints = cache.getIfPresent(new Key(jobPostId, companyId, archived));
+        if (checkpoints == null) {
+            return Optional.empty();
+        }
+        Map.Entry<Integer, Checkpoint> entry = checkpoints.floorEntry(filteredOffset);
+        return entry == null ? Optional.empty() : Optional.of(entry.getValue());
+    }
+
+    public void record(UUID jobPostId, UUID companyId, boolean archived, Checkpoint checkpoint) {
+        cache.asMap().compute(new Key(jobPostId, companyId, archived), (key, checkpoints) -> {
+            NavigableMap<Integer, Checkpoint> result = checkpoints != null ? checkpoints : new ConcurrentSkipListMap<>();
+            if (result.size() < MAX_CHECKPOINTS_PER_KEY || result.containsKey(checkpoint.filteredOffset())) {
+                result.put(checkpoint.filteredOffset(), checkpoint);
+            }
+            return result;
+        });
+    }
+
+    public void invalidate(UUID jobPostId, UUID companyId, boolean archived) {
+        cache.invalidate(new Key(jobPostId, companyId, archived));
+    }
+
+    /**
+     * Called when an application of the job post is archived or unarchived (both filtered views shift)
+     */
+    public void invalidate(UUID jobPostId, UUID companyId) {
+        invalidate(jobPostId, companyId, true);
+        invalidate(jobPostId, companyId, false);
+    }
+}
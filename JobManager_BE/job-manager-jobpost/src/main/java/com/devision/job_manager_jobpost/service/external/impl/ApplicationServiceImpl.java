@@ -1,38 +1,64 @@
 package com.devision.job_manager_jobpost.service.external.impl;
 
+import com.devision.job_manager_jobpost.dto.external.ApplicationIdFilterRequestDto;
 import com.devision.job_manager_jobpost.dto.external.ApplicationResponseDto;
 import com.devision.job_manager_jobpost.dto.external.ApplicationServiceResponseDto;
 import com.devision.job_manager_jobpost.dto.external.PageableResponseDto;
 import com.devision.job_manager_jobpost.model.ApplicationArchive;
 import com.devision.job_manager_jobpost.repository.ApplicationArchiveRepository;
 import com.devision.job_manager_jobpost.service.external.ApplicationService;
-import lombok.RequiredArgsConstructor;
+import com.devision.job_manager_jobpost.service.internal.ApplicationCounterService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Profile("!mock")
-@RequiredArgsConstructor
 @Slf4j
 public class ApplicationServiceImpl implements ApplicationService {
 
     private final RestTemplate restTemplate;
-
-    @Qualifier("applicationServiceBaseUrl")
     private final String baseUrl;
-
     private final ApplicationArchiveRepository archiveRepository;
+    private final ApplicationPageCursorCache cursorCache;
+    private final ApplicationCounterService applicationCounterService;
+    private final int upstreamPageSize;
+    private final boolean upstreamIdFilter;
+
+    public ApplicationServiceImpl(
+            RestTemplate restTemplate,
+            @Qualifier("applicationServiceBaseUrl") String baseUrl,
+            ApplicationArchiveRepository archiveRepository,
+            ApplicationPageCursorCache cursorCache,
+            ApplicationCounterService applicationCounterService,
+            @Value("${app.application-paging.upstream-page-size:100}") int upstreamPageSize,
+            @Value("${app.application-paging.upstream-id-filter:false}") boolean upstreamIdFilter
+    ) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.archiveRepository = archiveRepository;
+        this.cursorCache = cursorCache;
+        this.applicationCounterService = applicationCounterService;
+        this.upstreamPageSize = upstreamPageSize;
+        this.upstreamIdFilter = upstreamIdFilter;
+    }
 
     @Override
     public PageableResponseDto<ApplicationResponseDto> getApplicationsByJobPost(
@@ -45,57 +71,29 @@ public class ApplicationServiceImpl implements ApplicationService {
         log.info("Fetching applications for jobPostId: {}, page: {}, size: {}, archived: {}",
                 jobPostId, page, size, archived);
 
-        // Build URL with query parameters
-        String url = String.format("%s/api/v1/internal/job-posts/%s/applications?page=%d&size=%d",
-                baseUrl, jobPostId, page, size);
-
-        // If filtering by archived status
-        if (archived != null) {
-            if (archived) {
-                // Get list of archived application IDs
-                List<UUID> archivedIds = archiveRepository
-                        .findArchivedApplicationIdsByJobPostAndCompany(jobPostId, companyId);
-
-                if (archivedIds.isEmpty()) {
-                    // No archived applications, return empty page
-                    return createEmptyPage(page, size);
-                }
-
-                // For archived: we need to fetch all and filter client-side
-                // This is a limitation since Application Service doesn't support filtering by IDs
-                url = String.format("%s/api/v1/internal/job-posts/%s/applications?page=0&size=1000",
-                        baseUrl, jobPostId);
-            } else {
-                // For pending: fetch all and filter out archived ones client-side
-                url = String.format("%s/api/v1/internal/job-posts/%s/applications?page=0&size=1000",
-                        baseUrl, jobPostId);
+        try {
+            if (archived == null) {
+                PageableResponseDto<ApplicationResponseDto> pageData = fetchUpstreamPage(jobPostId, page, size);
+                return pageData != null ? pageData : createEmptyPage(page, size);
             }
-        }
 
-        try {
-            // Make REST API call
-            ResponseEntity<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>> response =
-                    restTemplate.exchange(
-                            url,
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>>() {}
-                    );
+            Set<UUID> archivedIds = new HashSet<>(archiveRepository
+                    .findArchivedApplicationIdsByJobPostAndCompany(jobPostId, companyId));
 
-            if (response.getBody() != null && response.getBody().isSuccess()) {
-                PageableResponseDto<ApplicationResponseDto> pageData = response.getBody().getData();
+            if (archived && archivedIds.isEmpty()) {
+                // No archived applications, return empty page
+                return createEmptyPage(page, size);
+            }
 
-                // If filtering is required, apply it
-                if (archived != null) {
-                    return filterAndPaginateApplications(pageData, jobPostId, companyId, archived, page, size);
+            if (upstreamIdFilter) {
+                PageableResponseDto<ApplicationResponseDto> filtered =
+                        fetchIdFilteredPage(jobPostId, archivedIds, archived, page, size);
+                if (filtered != null) {
+                    return filtered;
                 }
-
-                return pageData;
-            } else {
-                log.error("Failed to fetch applications: {}",
-                        response.getBody() != null ? response.getBody().getMessage() : "Unknown error");
-                return createEmptyPage(page, size);
             }
+
+            return streamFilteredPage(jobPostId, companyId, archivedIds, archived, page, size);
         } catch (Exception e) {
             log.error("Error calling Application Service: ", e);
             throw new RuntimeException("Failed to fetch applications from Application Service", e);
@@ -121,6 +119,8 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .build();
 
         archiveRepository.save(archive);
+        cursorCache.invalidate(jobPostId, companyId);
+        applicationCounterService.recordArchived(jobPostId, companyId);
         log.info("Application {} archived successfully", applicationId);
     }
 
@@ -129,6 +129,10 @@ public class ApplicationServiceImpl implements ApplicationService {
     public void unarchiveApplication(UUID applicationId, UUID companyId) {
         log.info("Unarchiving application: {} for company: {}", applicationId, companyId);
 
+        archiveRepository.findByApplicationIdAndCompanyId(applicationId, companyId).ifPresent(archive -> {
+            cursorCache.invalidate(archive.getJobPostId(), companyId);
+            applicationCounterService.recordUnarchived(archive.getJobPostId(), companyId);
+        });
         archiveRepository.deleteByApplicationIdAndCompanyId(applicationId, companyId);
         log.info("Application {} unarchived successfully", applicationId);
     }
@@ -169,72 +173,196 @@ public class ApplicationServiceImpl implements ApplicationService {
     @Override
     public long[] getApplicationCounts(UUID jobPostId, UUID companyId) {
         log.info("Getting application counts for jobPostId: {}, companyId: {}", jobPostId, companyId);
+        return getApplicationCounts(List.of(jobPostId), companyId).get(jobPostId);
+    }
 
-        try {
-            // Get total count from Application Service
-            String url = String.format("%s/api/v1/internal/job-posts/%s/applications?page=0&size=1",
-                    baseUrl, jobPostId);
-
-            ResponseEntity<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>> response =
-                    restTemplate.exchange(
-                            url,
-                            HttpMethod.GET,
-                            null,
-                            new ParameterizedTypeReference<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>>() {}
-                    );
-
-            long totalCount = 0;
-            if (response.getBody() != null && response.getBody().isSuccess()) {
-                totalCount = response.getBody().getData().getTotalElements();
-            }
-
-            // Get archived count from our database
-            long archivedCount = archiveRepository.countByJobPostIdAndCompanyId(jobPostId, companyId);
-            long pendingCount = totalCount - archivedCount;
+    @Override
+    public Map<UUID, long[]> getApplicationCounts(List<UUID> jobPostIds, UUID companyId) {
+        log.info("Getting application counts for {} job posts, companyId: {}", jobPostIds.size(), companyId);
 
-            return new long[]{pendingCount, archivedCount};
-        } catch (Exception e) {
-            log.error("Error getting application counts: ", e);
-            return new long[]{0, 0};
-        }
+        Map<UUID, long[]> result = new LinkedHashMap<>();
+        applicationCounterService.getCounts(jobPostIds, companyId, this::fetchUpstreamTotal)
+                .forEach((id, counts) -> result.put(id, new long[]{counts.pending(), counts.archived()}));
+        return result;
     }
 
-    // Helper method to filter and paginate applications based on archive status
-    private PageableResponseDto<ApplicationResponseDto> filterAndPaginateApplications(
-            PageableResponseDto<ApplicationResponseDto> pageData,
+    /**
+     * Streams upstream pages in order and keeps the applications matching the archive filter until the requested
+     * page is filled (plus one match to know whether another page follows).
+     * Scanning starts at the closest cursor checkpoint, and the position of the next page is recorded for the
+     * following request. The total is exact once the upstream list has been exhausted, and derived from the upstream
+     * total and the archived count otherwise.
+     */
+    private PageableResponseDto<ApplicationResponseDto> streamFilteredPage(
             UUID jobPostId,
             UUID companyId,
+            Set<UUID> archivedIds,
             boolean archived,
             int page,
             int size) {
 
-        List<UUID> archivedIds = archiveRepository
-                .findArchivedApplicationIdsByJobPostAndCompany(jobPostId, companyId);
+        int targetOffset = page * size;
+        ApplicationPageCursorCache.Checkpoint checkpoint =
+                cursorCache.floor(jobPostId, companyId, archived, targetOffset).orElse(null);
+
+        int row = checkpoint != null ? checkpoint.upstreamRow() : 0;
+        int matched = checkpoint != null ? checkpoint.filteredOffset() : 0;
+        long upstreamTotal = -1;
+        boolean hasNext = false;
+        boolean exhausted = false;
+        int upstreamCalls = 0;
+        List<ApplicationResponseDto> content = new ArrayList<>(size);
+
+        while (true) {
+            PageableResponseDto<ApplicationResponseDto> chunk =
+                    fetchUpstreamPage(jobPostId, row / upstreamPageSize, upstreamPageSize);
+            upstreamCalls++;
+            if (chunk == null) {
+                if (upstreamTotal < 0) {
+                    return createEmptyPage(page, size);
+                }
+                exhausted = true;
+                break;
+            }
 
-        List<ApplicationResponseDto> filtered = pageData.getContent().stream()
-                .filter(app -> archived == archivedIds.contains(app.getId()))
-                .collect(Collectors.toList());
+            // Applications were added upstream or archive state changed elsewhere: the checkpoint no longer lines up
+            if (upstreamTotal < 0 && checkpoint != null
+                    && (chunk.getTotalElements() != checkpoint.upstreamTotal()
+                    || archivedIds.size() != checkpoint.archivedCount())) {
+                log.debug("Discarding stale application page cursor for jobPostId: {}", jobPostId);
+                cursorCache.invalidate(jobPostId, companyId, archived);
+                checkpoint = null;
+                row = 0;
+                matched = 0;
+                continue;
+            }
+            upstreamTotal = chunk.getTotalElements();
 
-        // Manual pagination
-        int start = page * size;
-        int end = Math.min(start + size, filtered.size());
-        List<ApplicationResponseDto> paginatedContent = filtered.subList(
-                Math.min(start, filtered.size()),
-                Math.min(end, filtered.size())
-        );
+            List<ApplicationResponseDto> rows = chunk.getContent() != null ? chunk.getContent() : List.of();
+            for (int i = row % upstreamPageSize; i < rows.size(); i++, row++) {
+                ApplicationResponseDto application = rows.get(i);
+                if (archived != archivedIds.contains(application.getId())) {
+                    continue;
+                }
+                if (matched == targetOffset + size) {
+                    hasNext = true;
+                    break;
+                }
+                if (matched >= targetOffset) {
+                    content.add(application);
+                }
+                matched++;
+            }
+
+            if (hasNext) {
+                break;
+            }
+            if (chunk.isLast() || rows.size() < upstreamPageSize || (archived && matched >= archivedIds.size())) {
+                exhausted = true;
+                break;
+            }
+        }
+
+        if (hasNext) {
+            cursorCache.record(jobPostId, companyId, archived, new ApplicationPageCursorCache.Checkpoint(
+                    targetOffset + size, row, upstreamTotal, archivedIds.size()));
+        }
+
+        long totalElements;
+        if (exhausted) {
+            totalElements = matched;
+        } else if (archived) {
+            totalElements = archivedIds.size();
+        } else {
+            totalElements = Math.max(matched + 1, upstreamTotal - archivedIds.size());
+        }
+
+        log.debug("Filtered application page for jobPostId: {} built from {} upstream calls (resumed: {})",
+                jobPostId, upstreamCalls, checkpoint != null);
 
         PageableResponseDto<ApplicationResponseDto> result = new PageableResponseDto<>();
-        result.setContent(paginatedContent);
+        result.setContent(content);
         result.setPageNumber(page);
         result.setPageSize(size);
-        result.setTotalElements(filtered.size());
-        result.setTotalPages((int) Math.ceil((double) filtered.size() / size));
+        result.setTotalElements(totalElements);
+        result.setTotalPages((int) Math.ceil((double) totalElements / size));
         result.setFirst(page == 0);
-        result.setLast(end >= filtered.size());
-
+        result.setLast(!hasNext);
         return result;
     }
 
+    /**
+     * Asks the Application Service to apply the archive filter itself.
+     * Returns null when the upstream does not offer the ID-filter endpoint, so the caller falls back to streaming.
+     */
+    private PageableResponseDto<ApplicationResponseDto> fetchIdFilteredPage(
+            UUID jobPostId,
+            Set<UUID> archivedIds,
+            boolean archived,
+            int page,
+            int size) {
+
+        String url = String.format("%s/api/v1/internal/job-posts/%s/applications/filter", baseUrl, jobPostId);
+        ApplicationIdFilterRequestDto request = ApplicationIdFilterRequestDto.builder()
+                .applicationIds(new ArrayList<>(archivedIds))
+                .exclude(!archived)
+                .page(page)
+                .size(size)
+                .build();
+
+        try {
+            ResponseEntity<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>> response =
+                    restTemplate.exchange(
+                            url,
+                            HttpMethod.POST,
+                            new HttpEntity<>(request),
+                            new ParameterizedTypeReference<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>>() {}
+                    );
+
+            if (response.getBody() != null && response.getBody().isSuccess()) {
+                return response.getBody().getData();
+            }
+            log.warn("Application ID filter failed: {}",
+                    response.getBody() != null ? response.getBody().getMessage() : "Unknown error");
+        } catch (HttpClientErrorException e) {
+            log.warn("Application Service rejected the ID filter ({}), falling back to streaming", e.getStatusCode());
+        }
+        return null;
+    }
+
+    /**
+     * Total number of applications of a job post, or null if the Application Service could not be reached
+     */
+    private Long fetchUpstreamTotal(UUID jobPostId) {
+        try {
+            PageableResponseDto<ApplicationResponseDto> pageData = fetchUpstreamPage(jobPostId, 0, 1);
+            return pageData != null ? pageData.getTotalElements() : null;
+        } catch (Exception e) {
+            log.error("Error getting application counts: ", e);
+            return null;
+        }
+    }
+
+    private PageableResponseDto<ApplicationResponseDto> fetchUpstreamPage(UUID jobPostId, int page, int size) {
+        String url = String.format("%s/api/v1/internal/job-posts/%s/applications?page=%d&size=%d",
+                baseUrl, jobPostId, page, size);
+
+        ResponseEntity<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>> response =
+                restTemplate.exchange(
+                        url,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<ApplicationServiceResponseDto<PageableResponseDto<ApplicationResponseDto>>>() {}
+                );
+
+        if (response.getBody() != null && response.getBody().isSuccess()) {
+            return response.getBody().getData();
+        }
+        log.error("Failed to fetch applications: {}",
+                response.getBody() != null ? response.getBody().getMessage() : "Unknown error");
+        return null;
+    }
+
     // Helper method to create empty page
     private PageableResponseDto<ApplicationResponseDto> createEmptyPage(int page, int size) {
         PageableResponseDto<ApplicationResponseDto> emptyPage = new PageableResponseDto<>();
@@ -5,6 +5,7 @@ import com.devision.job_manager_jobpost.dto.external.PageableResponseDto;
 import com.devision.job_manager_jobpost.model.ApplicationArchive;
 import com.devision.job_manager_jobpost.repository.ApplicationArchiveRepository;
 import com.devision.job_manager_jobpost.service.external.ApplicationService;
+import com.devision.job_manager_jobpost.service.internal.ApplicationCounterService;
 import com.devision.job_manager_jobpost.util.MockPdfGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ public class MockApplicationServiceImpl implements ApplicationService {
 
     private final ApplicationArchiveRepository archiveRepository;
     private final MockPdfGenerator mockPdfGenerator;
+    private final ApplicationCounterService applicationCounterService;
 
     // Mock data storage - simulates the Job Applicant subsystem's database
     private static final Map<UUID, List<ApplicationResponseDto>> MOCK_APPLICATIONS_BY_JOB = new ConcurrentHashMap<>();
@@ -106,8 +108,8 @@ public class MockApplicationServiceImpl implements ApplicationService {
         );
 
         // Get archived application IDs from database
-        List<UUID> archivedIds = archiveRepository
-                .findArchivedApplicationIdsByJobPostAndCompany(jobPostId, companyId);
+        Set<UUID> archivedIds = new HashSet<>(archiveRepository
+                .findArchivedApplicationIdsByJobPostAndCompany(jobPostId, companyId));
 
         // Filter based on archived status
         List<ApplicationResponseDto> filteredApplications;
@@ -174,6 +176,7 @@ public class MockApplicationServiceImpl implements ApplicationService {
                 .build();
 
         archiveRepository.save(archive);
+        applicationCounterService.recordArchived(jobPostId, companyId);
         log.info("[MOCK] Application archived successfully");
     }
 
@@ -181,6 +184,8 @@ public class MockApplicationServiceImpl implements ApplicationService {
     public void unarchiveApplication(UUID applicationId, UUID companyId) {
         log.info("[MOCK] Unarchiving application: {} for company: {}", applicationId, companyId);
 
+        archiveRepository.findByApplicationIdAndCompanyId(applicationId, companyId)
+                .ifPresent(archive -> applicationCounterService.recordUnarchived(archive.getJobPostId(), companyId));
         archiveRepository.deleteByApplicationIdAndCompanyId(applicationId, companyId);
         log.info("[MOCK] Application unarchived successfully");
     }
@@ -225,21 +230,22 @@ public class MockApplicationServiceImpl implements ApplicationService {
     public long[] getApplicationCounts(UUID jobPostId, UUID companyId) {
         log.info("[MOCK] Getting application counts for jobPostId: {}", jobPostId);
 
-        // Get all applications for this job post
-        List<ApplicationResponseDto> allApplications = MOCK_APPLICATIONS_BY_JOB.computeIfAbsent(
-                jobPostId,
-                k -> generateMockApplicationsForJob(jobPostId)
-        );
+        long[] counts = getApplicationCounts(List.of(jobPostId), companyId).get(jobPostId);
+        log.info("[MOCK] Application counts - Pending: {}, Archived: {}", counts[0], counts[1]);
 
-        long totalCount = allApplications.size();
-
-        // Get archived count from database
-        long archivedCount = archiveRepository.countByJobPostIdAndCompanyId(jobPostId, companyId);
-        long pendingCount = totalCount - archivedCount;
-
-        log.info("[MOCK] Application counts - Pending: {}, Archived: {}", pendingCount, archivedCount);
+        return counts;
+    }
 
-        return new long[]{pendingCount, archivedCount};
+    @Override
+    public Map<UUID, long[]> getApplicationCounts(List<UUID> jobPostIds, UUID companyId) {
+        log.info("[MOCK] Getting application counts for {} job posts", jobPostIds.size());
+
+        // Totals come from the mock data, archived counts from the database
+        Map<UUID, long[]> result = new LinkedHashMap<>();
+        applicationCounterService.getCounts(jobPostIds, companyId, id -> (long) MOCK_APPLICATIONS_BY_JOB
+                        .computeIfAbsent(id, k -> generateMockApplicationsForJob(id)).size())
+                .forEach((id, counts) -> result.put(id, new long[]{counts.pending(), counts.archived()}));
+        return result;
     }
 
     /**
@@ -2,29 +2,39 @@ package com.devision.job_manager_jobpost.service.impl;
 
 import com.devision.job_manager_jobpost.client.CompanyServiceClient;
 import com.devision.job_manager_jobpost.event.JobPostCountryChangedEvent;
+import com.devision.job_manager_jobpost.event.JobPostDeletedEvent;
 import com.devision.job_manager_jobpost.event.JobPostPublishedEvent;
 import com.devision.job_manager_jobpost.event.JobPostSkillsChangedEvent;
+import com.devision.job_manager_jobpost.event.JobPostUnpublishedEvent;
 import com.devision.job_manager_jobpost.event.JobPostUpdatedEvent;
 import com.devision.job_manager_jobpost.model.EmploymentType;
 import com.devision.job_manager_jobpost.model.JobPost;
 import com.devision.job_manager_jobpost.model.JobPostEmploymentType;
 import com.devision.job_manager_jobpost.model.JobPostSkill;
+import com.devision.job_manager_jobpost.model.SkillStorageMode;
 import com.devision.job_manager_jobpost.repository.JobPostRepository;
 import com.devision.job_manager_jobpost.service.JobPostService;
 import com.devision.job_manager_jobpost.service.internal.EventPublisherService;
+import com.devision.job_manager_jobpost.service.internal.JobPostFacetService;
+import com.devision.job_manager_jobpost.service.internal.JobPostSnapshotCache;
 import feign.FeignException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +44,11 @@ public class JobPostServiceImpl implements JobPostService {
     private final JobPostRepository jobPostRepository;
     private final EventPublisherService eventPublisher;
     private final CompanyServiceClient companyServiceClient;
+    private final JobPostSnapshotCache jobPostSnapshotCache;
+    private final JobPostFacetService jobPostFacetService;
+
+    @Value("${app.skills.storage-mode:DUAL}")
+    private SkillStorageMode skillStorageMode;
 
     @Override
     @Transactional
@@ -83,8 +98,9 @@ public class JobPostServiceImpl implements JobPostService {
         JobPost existing = jobPostRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Job post not found with ID: " + id));
 
-        // Remember the old country before update
+        // Remember the old country and facet values before update
         String oldCountryCode = existing.getCountryCode();
+        Set<JobPostFacetService.FacetKey> facetsBefore = jobPostFacetService.contributionsOf(existing);
 
         // Update fields
         existing.setTitle(updatedJobPost.getTitle());
@@ -98,9 +114,13 @@ public class JobPostServiceImpl implements JobPostService {
         existing.setFresher(updatedJobPost.isFresher());
         existing.setAPrivate(updatedJobPost.isAPrivate());
         existing.setExpiryAt(updatedJobPost.getExpiryAt());
+        // Moving the expiry into the future revives the post; a past expiry is applied now rather than at the next sweep
+        existing.setExpired(isPastExpiry(updatedJobPost.getExpiryAt()));
 
 
         JobPost saved = jobPostRepository.save(existing);
+        jobPostSnapshotCache.evict(id);
+        jobPostFacetService.recordChange(facetsBefore, jobPostFacetService.contributionsOf(saved));
 
         // Publish country change to Kafka
         String newCountryCode = saved.getCountryCode();
@@ -110,9 +130,7 @@ public class JobPostServiceImpl implements JobPostService {
                     oldCountryCode, newCountryCode);
 
             // Extract current skills for applicant matching
-            List<UUID> currentSkills = saved.getSkills().stream()
-                    .map(JobPostSkill::getSkillId)
-                    .toList();
+            List<UUID> currentSkills = List.copyOf(saved.getSkillIds());
 
             JobPostCountryChangedEvent event = JobPostCountryChangedEvent.builder()
                     .jobPostId(saved.getJobPostId())
@@ -160,12 +178,16 @@ public class JobPostServiceImpl implements JobPostService {
         }
 
         // Publish the job post
+        Set<JobPostFacetService.FacetKey> facetsBefore = jobPostFacetService.contributionsOf(jobPost);
         jobPost.setPublished(true);
         jobPost.setPostedAt(LocalDateTime.now());
+        jobPost.setExpired(isPastExpiry(jobPost.getExpiryAt()));
 
         JobPost savedJobPost = jobPostRepository.save(jobPost);
+        jobPostSnapshotCache.evict(id);
+        jobPostFacetService.recordChange(facetsBefore, jobPostFacetService.contributionsOf(savedJobPost));
 
-        // Publish Kafka event AFTER db commit
+        // Stored in the outbox with this transaction; sent to Kafka after commit by OutboxRelay
         log.info("Publishing Kafka event for newly published job post ID: {}", id);
 
         // Extract employment types
@@ -174,9 +196,7 @@ public class JobPostServiceImpl implements JobPostService {
                 .toList();
 
         // Extract skill IDs
-        List<UUID> skillIds = savedJobPost.getSkills().stream()
-                .map(JobPostSkill::getSkillId)
-                .toList();
+        List<UUID> skillIds = List.copyOf(savedJobPost.getSkillIds());
 
         // Build and publish event
         JobPostPublishedEvent event = JobPostPublishedEvent.builder()
@@ -201,7 +221,7 @@ public class JobPostServiceImpl implements JobPostService {
         log.info("Job post published successfully: {} with {} skills in country: {}",
                 id, skillIds.size(), savedJobPost.getCountryCode());
 
-        return jobPostRepository.save(jobPost);
+        return savedJobPost;
     }
 
     @Override
@@ -210,18 +230,37 @@ public class JobPostServiceImpl implements JobPostService {
         JobPost jobPost = jobPostRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Job post not found with ID: " + id));
 
+        Set<JobPostFacetService.FacetKey> facetsBefore = jobPostFacetService.contributionsOf(jobPost);
         jobPost.setPublished(false);
 
-        return jobPostRepository.save(jobPost);
+        JobPost saved = jobPostRepository.save(jobPost);
+        jobPostSnapshotCache.evict(id);
+        jobPostFacetService.recordChange(facetsBefore, Set.of());
+
+        eventPublisher.publishJobPostUnpublished(JobPostUnpublishedEvent.builder()
+                .jobPostId(saved.getJobPostId())
+                .companyId(saved.getCompanyId())
+                .unpublishedAt(LocalDateTime.now())
+                .build());
+
+        return saved;
     }
 
     @Override
     @Transactional
     public void deleteJobPost(UUID id) {
-        if (!jobPostRepository.existsById(id)) {
-            throw new IllegalArgumentException("Job post not found with ID: " + id);
-        }
-        jobPostRepository.deleteById(id);
+        JobPost jobPost = jobPostRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Job post not found with ID: " + id));
+        Set<JobPostFacetService.FacetKey> facetsBefore = jobPostFacetService.contributionsOf(jobPost);
+        jobPostRepository.delete(jobPost);
+        jobPostSnapshotCache.evict(id);
+        jobPostFacetService.recordChange(facetsBefore, Set.of());
+
+        eventPublisher.publishJobPostDeleted(JobPostDeletedEvent.builder()
+                .jobPostId(id)
+                .companyId(jobPost.getCompanyId())
+                .deletedAt(LocalDateTime.now())
+                .build());
     }
 
     /**
@@ -236,31 +275,36 @@ public class JobPostServiceImpl implements JobPostService {
         JobPost jobPost = jobPostRepository.findById(jobPostId)
                 .orElseThrow(() -> new IllegalArgumentException("Job post not found with ID: " + jobPostId));
 
-        // Get current skills before update
-        List<UUID> currentSkillIds = jobPost.getSkills().stream()
-                .map(JobPostSkill::getSkillId)
-                .toList();
+        // Set-based diff against the current skills (duplicates in the request are ignored)
+        Set<UUID> currentSkillIds = new LinkedHashSet<>(jobPost.getSkillIds());
+        Set<UUID> newSkillIdSet = new LinkedHashSet<>(newSkillIds);
 
-        // Calculate what changed
-        List<UUID> addedSkills = newSkillIds.stream()
+        List<UUID> addedSkills = newSkillIdSet.stream()
                 .filter(skillId -> !currentSkillIds.contains(skillId))
                 .toList();
 
-        List<UUID> removedSkills = currentSkillIds.stream()
-                .filter(skillId -> !newSkillIds.contains(skillId))
-                .toList();
-
-        // Update the database
-        jobPost.getSkills().clear();
-        newSkillIds.forEach(skillId -> {
-            JobPostSkill jobPostSkill = new JobPostSkill();
-            jobPostSkill.setId(UUID.randomUUID());
-            jobPostSkill.setJobPost(jobPost);
-            jobPostSkill.setSkillId(skillId);
-            jobPost.getSkills().add(jobPostSkill);
-        });
+        Set<UUID> removedSkillSet = currentSkillIds.stream()
+                .filter(skillId -> !newSkillIdSet.contains(skillId))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<UUID> removedSkills = List.copyOf(removedSkillSet);
+
+        // Update the database: one UPDATE of the skill_ids array (skipped by dirty checking if nothing changed)
+        jobPost.setSkillIds(new ArrayList<>(newSkillIdSet));
+
+        if (skillStorageMode == SkillStorageMode.DUAL) {
+            // Keep the job_post_skill rows in step, touching only the changed skills
+            jobPost.getSkills().removeIf(skill -> removedSkillSet.contains(skill.getSkillId()));
+            addedSkills.forEach(skillId -> {
+                JobPostSkill jobPostSkill = new JobPostSkill();
+                jobPostSkill.setId(UUID.randomUUID());
+                jobPostSkill.setJobPost(jobPost);
+                jobPostSkill.setSkillId(skillId);
+                jobPost.getSkills().add(jobPostSkill);
+            });
+        }
 
         JobPost savedJobPost = jobPostRepository.save(jobPost);
+        jobPostSnapshotCache.evict(jobPostId);
 
         // CRITICAL: Publish Kafka event AFTER database commit for Ultimo 4.3.1
         if (!addedSkills.isEmpty() || !removedSkills.isEmpty()) {
@@ -294,7 +338,7 @@ public class JobPostServiceImpl implements JobPostService {
                     // Skill change tracking
                     .addedSkills(addedSkills)
                     .removedSkills(removedSkills)
-                    .currentSkills(newSkillIds)
+                    .currentSkills(List.copyOf(newSkillIdSet))
                     .changedAt(LocalDateTime.now())
                     .build();
 
@@ -306,6 +350,10 @@ public class JobPostServiceImpl implements JobPostService {
         return savedJobPost;
     }
 
+    private boolean isPastExpiry(LocalDateTime expiryAt) {
+        return expiryAt != null && !expiryAt.isAfter(LocalDateTime.now());
+    }
+
     /**
      * Get company country code with caching (Ultimo 4.3.1 requirement).
      * Cached for 1 hour to minimize calls to Company service.
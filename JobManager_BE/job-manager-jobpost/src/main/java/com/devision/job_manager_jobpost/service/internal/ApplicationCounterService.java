@@ -0,0 +1,49 @@
+package com.devision.job_manager_jobpost.service.internal;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cached pending / archived application counts per job post.
+ *
+ * The total number of applications comes from the Application Service (through the loader passed in by the caller),
+ * the archived count from application_archive. Both are kept current from archive / unarchive writes and
+ * application-created events; a periodic reconciliation re-reads the archived counts and the total is reloaded
+ * once the entry expires.
+ */
+public interface ApplicationCounterService {
+
+    record ApplicationCounts(long pending, long archived) {
+
+        public long total() {
+            return pending + archived;
+        }
+    }
+
+    /**
+     * Counts for the given job posts of a company; missing entries are loaded with one grouped archive query
+     * and one call of totalLoader per job post (a null total is treated as unavailable and not cached)
+     */
+    Map<UUID, ApplicationCounts> getCounts(Collection<UUID> jobPostIds, UUID companyId, Function<UUID, Long> totalLoader);
+
+    /**
+     * Call in the transaction that archives an application; applied after commit
+     */
+    void recordArchived(UUID jobPostId, UUID companyId);
+
+    /**
+     * Call in the transaction that unarchives an application; applied after commit
+     */
+    void recordUnarchived(UUID jobPostId, UUID companyId);
+
+    void recordApplicationCreated(UUID jobPostId);
+
+    /**
+     * Re-read the archived counts of all cached entries from application_archive
+     *
+     * @return number of entries that had drifted
+     */
+    int reconcile();
+}
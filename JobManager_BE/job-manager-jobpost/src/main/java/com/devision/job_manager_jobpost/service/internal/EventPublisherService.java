@@ -2,6 +2,8 @@ package com.devision.job_manager_jobpost.service.internal;
 
 import com.devision.job_manager_jobpost.event.*;
 
+import java.util.List;
+
 /**
  * Service for publishing job post related events to Kafka.
  */
@@ -37,6 +39,11 @@ public interface EventPublisherService {
      */
     void publishJobPostExpired(JobPostExpiredEvent event);
 
+    /**
+     * Publish expiry events for a batch of job posts in one call.
+     */
+    void publishJobPostsExpired(List<JobPostExpiredEvent> events);
+
     /**
      * Publish event when job post skills are changed.
      * CRITICAL for Ultimo 4.3.1: Enables instant notifications to matching applicants.
@@ -0,0 +1,47 @@
+package com.devision.job_manager_jobpost.service.internal;
+
+import com.devision.job_manager_jobpost.dto.external.SearchFacetsDto;
+import com.devision.job_manager_jobpost.model.JobPost;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Incrementally maintained facet counts (country, city, employment type, salary type / band, fresher)
+ * over active job posts: published, public and not marked expired.
+ *
+ * Writers take the contributions of a job post before and after a change and pass both to
+ * {@link #recordChange} in the same transaction. A nightly reconciliation rebuilds the counters to correct drift.
+ */
+public interface JobPostFacetService {
+
+    record FacetKey(String facet, String value) {}
+
+    /**
+     * Facet values a job post currently counts towards; empty if it is not active
+     */
+    Set<FacetKey> contributionsOf(JobPost jobPost);
+
+    /**
+     * Apply the difference between two contribution sets to the counters
+     */
+    void recordChange(Set<FacetKey> before, Set<FacetKey> after);
+
+    /**
+     * Remove active posts from the counters in bulk; call in the transaction that marks them expired, before the update
+     */
+    void recordExpired(Collection<UUID> jobPostIds);
+
+    /**
+     * Current counters; cost depends on the number of facet values, not on the number of job posts
+     */
+    SearchFacetsDto getFacets();
+
+    /**
+     * Rebuild all counters from the job_post table
+     *
+     * @return number of counter rows written, or -1 if another instance is reconciling
+     */
+    int reconcile();
+}
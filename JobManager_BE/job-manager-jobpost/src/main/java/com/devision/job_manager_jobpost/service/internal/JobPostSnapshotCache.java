@@ -0,0 +1,31 @@
+package com.devision.job_manager_jobpost.service.internal;
+
+import com.devision.job_manager_jobpost.dto.JobPostSnapshot;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of job post snapshots for the high-volume external lookups.
+ * Every code path that changes a job post must evict it; other instances evict on the matching Kafka event.
+ */
+public interface JobPostSnapshotCache {
+
+    /**
+     * Cached snapshot, loaded from the database on a miss. Unknown IDs are cached briefly as well.
+     */
+    Optional<JobPostSnapshot> get(UUID jobPostId);
+
+    /**
+     * Snapshots of the given job posts; all misses are loaded with a single query. Unknown IDs are absent from the map.
+     */
+    Map<UUID, JobPostSnapshot> getAll(Collection<UUID> jobPostIds);
+
+    /**
+     * Drop the entry now and again once the current transaction has committed,
+     * so a concurrent reader cannot re-cache the pre-commit state.
+     */
+    void evict(UUID jobPostId);
+}
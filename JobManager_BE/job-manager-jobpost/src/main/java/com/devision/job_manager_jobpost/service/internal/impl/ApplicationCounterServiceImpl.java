@@ -0,0 +1,221 @@
+package com.devision.job_manager_jobpost.service.internal.impl;
+
+import com.devision.job_manager_jobpost.repository.ApplicationArchiveRepository;
+import com.devision.job_manager_jobpost.service.internal.ApplicationCounterService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caffeine-backed {@link ApplicationCounterService}, one entry per job post.
+ *
+ * Entries are updated in place, so they still expire after the configured TTL counted from the load; that bounds
+ * how long a total can drift from the Application Service (e.g. withdrawn applications, which have no event).
+ * Archive changes made on other instances are picked up by the periodic reconciliation.
+ * Hit ratio and evictions are exported as cache.* metrics with cache=applicationCounts.
+ */
+@Service
+@Slf4j
+public class ApplicationCounterServiceImpl implements ApplicationCounterService {
+
+    private static final String CACHE_NAME = "applicationCounts";
+
+    // Bound on the IN list of the grouped archive count query
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private static final class Entry {
+        private final UUID companyId;
+        private final AtomicLong total;
+        private final AtomicLong archived;
+
+        private Entry(UUID companyId, long total, long archived) {
+            this.companyId = companyId;
+            this.total = new AtomicLong(total);
+            this.archived = new AtomicLong(archived);
+        }
+
+        private ApplicationCounts toCounts() {
+            long archivedCount = Math.max(0, archived.get());
+            return new ApplicationCounts(Math.max(0, total.get() - archivedCount), archivedCount);
+        }
+    }
+
+    private final Cache<UUID, Entry> cache;
+    private final ApplicationArchiveRepository archiveRepository;
+    private final boolean enabled;
+
+    public ApplicationCounterServiceImpl(
+            ApplicationArchiveRepository archiveRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.application-counters.enabled:true}") boolean enabled,
+            @Value("${app.application-counters.maximum-size:20000}") long maximumSize,
+            @Value("${app.application-counters.ttl-seconds:900}") long ttlSeconds
+    ) {
+        this.archiveRepository = archiveRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Map<UUID, ApplicationCounts> getCounts(
+            Collection<UUID> jobPostIds,
+            UUID companyId,
+            Function<UUID, Long> totalLoader) {
+
+        Map<UUID, ApplicationCounts> result = new LinkedHashMap<>();
+        List<UUID> missing = new ArrayList<>();
+
+        for (UUID jobPostId : new LinkedHashSet<>(jobPostIds)) {
+            Entry entry = enabled ? cache.getIfPresent(jobPostId) : null;
+            if (entry != null && entry.companyId.equals(companyId)) {
+                result.put(jobPostId, entry.toCounts());
+            } else {
+                result.put(jobPostId, null);
+                missing.add(jobPostId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        log.debug("Loading application counts for {} of {} job posts", missing.size(), result.size());
+        Map<UUID, Long> archivedCounts = countArchived(missing, companyId);
+        for (UUID jobPostId : missing) {
+            long archived = archivedCounts.getOrDefault(jobPostId, 0L);
+            Long total = totalLoader.apply(jobPostId);
+            if (total == null) {
+                // Application Service unavailable: report what is known locally and retry on the next request
+                result.put(jobPostId, new ApplicationCounts(0, archived));
+                continue;
+            }
+
+            Entry entry = new Entry(companyId, total, archived);
+            if (enabled) {
+                cache.put(jobPostId, entry);
+            }
+            result.put(jobPostId, entry.toCounts());
+        }
+        return result;
+    }
+
+    @Override
+    public void recordArchived(UUID jobPostId, UUID companyId) {
+        afterCommit(() -> adjustArchived(jobPostId, companyId, 1));
+    }
+
+    @Override
+    public void recordUnarchived(UUID jobPostId, UUID companyId) {
+        afterCommit(() -> adjustArchived(jobPostId, companyId, -1));
+    }
+
+    @Override
+    public void recordApplicationCreated(UUID jobPostId) {
+        if (jobPostId == null) {
+            return;
+        }
+        Entry entry = cache.getIfPresent(jobPostId);
+        if (entry != null) {
+            entry.total.incrementAndGet();
+        }
+    }
+
+    @Override
+    public int reconcile() {
+        Map<UUID, List<UUID>> jobPostIdsByCompany = new HashMap<>();
+        cache.asMap().forEach((jobPostId, entry) ->
+                jobPostIdsByCompany.computeIfAbsent(entry.companyId, k -> new ArrayList<>()).add(jobPostId));
+
+        int drifted = 0;
+        for (Map.Entry<UUID, List<UUID>> company : jobPostIdsByCompany.entrySet()) {
+            List<UUID> jobPostIds = company.getValue();
+            for (int from = 0; from < jobPostIds.size(); from += RECONCILE_CHUNK_SIZE) {
+                List<UUID> chunk = jobPostIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, jobPostIds.size()));
+                Map<UUID, Long> archivedCounts = countArchived(chunk, company.getKey());
+
+                for (UUID jobPostId : chunk) {
+                    Entry entry = cache.getIfPresent(jobPostId);
+                    if (entry == null || !entry.companyId.equals(company.getKey())) {
+                        continue;
+                    }
+                    long actual = archivedCounts.getOrDefault(jobPostId, 0L);
+                    if (entry.archived.getAndSet(actual) != actual) {
+                        drifted++;
+                    }
+                }
+            }
+        }
+        return drifted;
+    }
+
+    @Scheduled(fixedDelayString = "${app.application-counters.reconcile-interval-ms:300000}")
+    public void reconcilePeriodically() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int drifted = reconcile();
+            if (drifted > 0) {
+                log.info("Application counters reconciled: {} entries corrected", drifted);
+            }
+        } catch (Exception e) {
+            log.error("Application counter reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void adjustArchived(UUID jobPostId, UUID companyId, long delta) {
+        if (jobPostId == null) {
+            return;
+        }
+        Entry entry = cache.getIfPresent(jobPostId);
+        if (entry != null && entry.companyId.equals(companyId)) {
+            entry.archived.addAndGet(delta);
+        }
+    }
+
+    private Map<UUID, Long> countArchived(Collection<UUID> jobPostIds, UUID companyId) {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : archiveRepository.countByJobPostIdsAndCompany(jobPostIds, companyId)) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,77 +2,92 @@ package com.devision.job_manager_jobpost.service.internal.impl;
 
 import com.devision.job_manager_jobpost.config.kafka.KafkaTopicConfig;
 import com.devision.job_manager_jobpost.event.*;
+import com.devision.job_manager_jobpost.model.OutboxEvent;
+import com.devision.job_manager_jobpost.repository.OutboxEventRepository;
 import com.devision.job_manager_jobpost.service.internal.EventPublisherService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes job post events to the transactional outbox (job_post_outbox) instead of sending them directly,
+ * so an event is stored if and only if the change it describes commits. OutboxRelay delivers them to Kafka.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional
 public class EventPublisherServiceImpl implements EventPublisherService {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     @Override
     public void publishJobPostCreated(JobPostCreatedEvent event) {
         log.info("Publishing JobPostCreatedEvent for job post ID: {}", event.getJobPostId());
-        kafkaTemplate.send(KafkaTopicConfig.JOB_POST_CREATED_TOPIC,
+        enqueue(KafkaTopicConfig.JOB_POST_CREATED_TOPIC,
                 String.valueOf(event.getJobPostId()), event);
     }
 
     @Override
     public void publishJobPostUpdated(JobPostUpdatedEvent event) {
         log.info("Publishing JobPostUpdatedEvent for job post ID: {}", event.getJobPostId());
-        kafkaTemplate.send(KafkaTopicConfig.JOB_POST_UPDATED_TOPIC,
+        enqueue(KafkaTopicConfig.JOB_POST_UPDATED_TOPIC,
                 String.valueOf(event.getJobPostId()), event);
     }
 
     @Override
     public void publishJobPostPublished(JobPostPublishedEvent event) {
-        try {
-            log.info("Publishing JobPostPublishedEvent for job post ID: {} ({})",
-                    event.getJobPostId(), event.getTitle());
-
-            kafkaTemplate.send("jobpost.published", event.getJobPostId().toString(), event);
-
-            log.info("Successfully published JobPostPublishedEvent for job post ID: {}",
-                    event.getJobPostId());
-        } catch (Exception e) {
-            log.error("Failed to publish JobPostPublishedEvent for job post ID: {}. Error: {}",
-                    event.getJobPostId(), e.getMessage(), e);
-        }
+        log.info("Publishing JobPostPublishedEvent for job post ID: {} ({})",
+                event.getJobPostId(), event.getTitle());
+        enqueue(KafkaTopicConfig.JOB_POST_PUBLISHED_TOPIC, event.getJobPostId().toString(), event);
     }
 
     @Override
     public void publishJobPostUnpublished(JobPostUnpublishedEvent event) {
         log.info("Publishing JobPostUnpublishedEvent for job post ID: {}", event.getJobPostId());
-        kafkaTemplate.send(KafkaTopicConfig.JOB_POST_UNPUBLISHED_TOPIC,
+        enqueue(KafkaTopicConfig.JOB_POST_UNPUBLISHED_TOPIC,
                 String.valueOf(event.getJobPostId()), event);
     }
 
     @Override
     public void publishJobPostDeleted(JobPostDeletedEvent event) {
         log.info("Publishing JobPostDeletedEvent for job post ID: {}", event.getJobPostId());
-        kafkaTemplate.send(KafkaTopicConfig.JOB_POST_DELETED_TOPIC,
+        enqueue(KafkaTopicConfig.JOB_POST_DELETED_TOPIC,
                 String.valueOf(event.getJobPostId()), event);
     }
 
     @Override
     public void publishJobPostExpired(JobPostExpiredEvent event) {
         log.info("Publishing JobPostExpiredEvent for job post ID: {}", event.getJobPostId());
-        kafkaTemplate.send(KafkaTopicConfig.JOB_POST_EXPIRED_TOPIC,
+        enqueue(KafkaTopicConfig.JOB_POST_EXPIRED_TOPIC,
                 String.valueOf(event.getJobPostId()), event);
     }
 
+    @Override
+    public void publishJobPostsExpired(List<JobPostExpiredEvent> events) {
+        log.info("Publishing {} JobPostExpiredEvents", events.size());
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (JobPostExpiredEvent event : events) {
+            outboxEvents.add(toOutboxEvent(KafkaTopicConfig.JOB_POST_EXPIRED_TOPIC,
+                    String.valueOf(event.getJobPostId()), event));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
     @Override
     public void publishJobPostSkillsChanged(JobPostSkillsChangedEvent event) {
         log.info("Publishing JobPostSkillsChangedEvent for job post ID: {}. Added: {}, Removed: {}",
                 event.getJobPostId(),
                 event.getAddedSkills() != null ? event.getAddedSkills().size() : 0,
                 event.getRemovedSkills() != null ? event.getRemovedSkills().size() : 0);
-        kafkaTemplate.send(KafkaTopicConfig.JOB_POST_SKILLS_CHANGED_TOPIC,
+        enqueue(KafkaTopicConfig.JOB_POST_SKILLS_CHANGED_TOPIC,
                 String.valueOf(event.getJobPostId()), event);
     }
 
@@ -82,7 +97,28 @@ public class EventPublisherServiceImpl implements EventPublisherService {
                 event.getJobPostId(),
                 event.getPreviousCountryCode(),
                 event.getNewCountryCode());
-        kafkaTemplate.send(KafkaTopicConfig.JOB_POST_COUNTRY_CHANGED_TOPIC,
+        enqueue(KafkaTopicConfig.JOB_POST_COUNTRY_CHANGED_TOPIC,
                 String.valueOf(event.getJobPostId()), event);
     }
+
+    /**
+     * Store the event in the outbox as part of the caller's transaction; OutboxRelay sends it after commit.
+     * A serialization failure rolls the business change back with it instead of losing the event.
+     */
+    private void enqueue(String topic, String key, Object event) {
+        outboxEventRepository.save(toOutboxEvent(topic, key, event));
+    }
+
+    private OutboxEvent toOutboxEvent(String topic, String key, Object event) {
+        try {
+            return OutboxEvent.builder()
+                    .topic(topic)
+                    .messageKey(key)
+                    .eventType(event.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.devision.job_manager_jobpost.service.internal.impl;
+
+import com.devision.job_manager_jobpost.event.JobPostExpiredEvent;
+import com.devision.job_manager_jobpost.repository.JobPostExpiryRepository;
+import com.devision.job_manager_jobpost.service.internal.EventPublisherService;
+import com.devision.job_manager_jobpost.service.internal.JobPostFacetService;
+import com.devision.job_manager_jobpost.service.internal.JobPostSnapshotCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Marks published job posts as expired once their expiry time has passed and emits JobPostExpiredEvent for them.
+ *
+ * Works through the expired posts in keyset batches; each batch is one transaction that takes the sweep advisory
+ * lock (so instances never sweep concurrently), adjusts the facet counters, flips is_expired with one UPDATE and
+ * writes all expiry events to the outbox, from where the relay sends them to Kafka in batches.
+ */
+@Component
+@Slf4j
+public class JobPostExpirySweeper {
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    private static final long SWEEP_LOCK_KEY = 0x4A4F4245585059L;
+
+    private final JobPostExpiryRepository expiryRepository;
+    private final JobPostFacetService jobPostFacetService;
+    private final EventPublisherService eventPublisher;
+    private final JobPostSnapshotCache jobPostSnapshotCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final Counter expiredCounter;
+
+    private record BatchResult(int size, JobPostExpiryRepository.ExpiringPost last) {}
+
+    public JobPostExpirySweeper(
+            JobPostExpiryRepository expiryRepository,
+            JobPostFacetService jobPostFacetService,
+            EventPublisherService eventPublisher,
+            JobPostSnapshotCache jobPostSnapshotCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.expiry-sweeper.enabled:true}") boolean enabled,
+            @Value("${app.expiry-sweeper.batch-size:500}") int batchSize
+    ) {
+        this.expiryRepository = expiryRepository;
+        this.jobPostFacetService = jobPostFacetService;
+        this.eventPublisher = eventPublisher;
+        this.jobPostSnapshotCache = jobPostSnapshotCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        this.expiredCounter = Counter.builder("jobpost.expiry.expired")
+                .description("Job posts marked expired by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry-sweeper.interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime afterExpiryAt = null;
+            UUID afterId = null;
+            int total = 0;
+
+            BatchResult batch;
+            do {
+                LocalDateTime cursorExpiryAt = afterExpiryAt;
+                UUID cursorId = afterId;
+                batch = transactionTemplate.execute(status -> expireBatch(now, cursorExpiryAt, cursorId));
+                if (batch == null || batch.last() == null) {
+                    break;
+                }
+                total += batch.size();
+                afterExpiryAt = batch.last().expiryAt();
+                afterId = batch.last().jobPostId();
+            } while (batch.size() == batchSize);
+
+            if (total > 0) {
+                log.info("Expiry sweep marked {} job posts as expired", total);
+            }
+        } catch (Exception e) {
+            log.error("Expiry sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private BatchResult expireBatch(LocalDateTime now, LocalDateTime afterExpiryAt, UUID afterId) {
+        if (!expiryRepository.tryAdvisoryXactLock(SWEEP_LOCK_KEY)) {
+            log.debug("Expiry sweep running on another instance");
+            return new BatchResult(0, null);
+        }
+
+        List<JobPostExpiryRepository.ExpiringPost> posts =
+                expiryRepository.lockNextBatch(now, afterExpiryAt, afterId, batchSize);
+        if (posts.isEmpty()) {
+            return new BatchResult(0, null);
+        }
+        List<UUID> ids = posts.stream().map(JobPostExpiryRepository.ExpiringPost::jobPostId).toList();
+
+        // Counters first: they only subtract posts that are still active
+        jobPostFacetService.recordExpired(ids);
+        int updated = expiryRepository.markExpired(ids);
+
+        eventPublisher.publishJobPostsExpired(posts.stream()
+                .map(post -> JobPostExpiredEvent.builder()
+                        .jobPostId(post.jobPostId())
+                        .companyId(post.companyId())
+                        .expiredAt(post.expiryAt())
+                        .build())
+                .toList());
+        ids.forEach(jobPostSnapshotCache::evict);
+
+        expiredCounter.increment(updated);
+        return new BatchResult(posts.size(), posts.get(posts.size() - 1));
+    }
+}
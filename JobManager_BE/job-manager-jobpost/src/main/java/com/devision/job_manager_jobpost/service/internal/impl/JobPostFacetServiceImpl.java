@@ -0,0 +1,198 @@
+package com.devision.job_manager_jobpost.service.internal.impl;
+
+import com.devision.job_manager_jobpost.dto.external.SearchFacetsDto;
+import com.devision.job_manager_jobpost.model.JobPost;
+import com.devision.job_manager_jobpost.model.JobPostEmploymentType;
+import com.devision.job_manager_jobpost.model.SalaryType;
+import com.devision.job_manager_jobpost.repository.JobPostFacetCountRepository;
+import com.devision.job_manager_jobpost.service.internal.JobPostFacetService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class JobPostFacetServiceImpl implements JobPostFacetService {
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    private static final long RECONCILE_LOCK_KEY = 0x4A4F4246414345L;
+
+    private static final BigDecimal BAND_1000 = BigDecimal.valueOf(1000);
+    private static final BigDecimal BAND_2000 = BigDecimal.valueOf(2000);
+    private static final BigDecimal BAND_5000 = BigDecimal.valueOf(5000);
+
+    private static final Comparator<JobPostFacetCountRepository.Delta> LOCK_ORDER =
+            Comparator.comparing(JobPostFacetCountRepository.Delta::facet)
+                    .thenComparing(JobPostFacetCountRepository.Delta::value);
+
+    private final JobPostFacetCountRepository facetCountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int stripes;
+
+    public JobPostFacetServiceImpl(
+            JobPostFacetCountRepository facetCountRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.facets.enabled:true}") boolean enabled,
+            @Value("${app.facets.stripes:8}") int stripes
+    ) {
+        this.facetCountRepository = facetCountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.stripes = Math.max(1, stripes);
+    }
+
+    @Override
+    public Set<FacetKey> contributionsOf(JobPost jobPost) {
+        Set<FacetKey> keys = new HashSet<>();
+        if (jobPost == null || !isActive(jobPost)) {
+            return keys;
+        }
+
+        keys.add(new FacetKey("total", "all"));
+        if (jobPost.getCountryCode() != null && !jobPost.getCountryCode().isBlank()) {
+            keys.add(new FacetKey("countryCode", jobPost.getCountryCode().trim().toUpperCase(Locale.ROOT)));
+        }
+        if (jobPost.getLocationCity() != null && !jobPost.getLocationCity().isBlank()) {
+            keys.add(new FacetKey("city", jobPost.getLocationCity().trim().toLowerCase(Locale.ROOT)));
+        }
+        if (jobPost.getSalaryType() != null) {
+            keys.add(new FacetKey("salaryType", jobPost.getSalaryType().name()));
+        }
+        keys.add(new FacetKey("salaryBand", salaryBand(jobPost)));
+        keys.add(new FacetKey("fresher", String.valueOf(jobPost.isFresher())));
+        for (JobPostEmploymentType employmentType : jobPost.getEmploymentTypes()) {
+            if (employmentType.getType() != null) {
+                keys.add(new FacetKey("employmentType", employmentType.getType().name()));
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public void recordChange(Set<FacetKey> before, Set<FacetKey> after) {
+        if (!enabled) {
+            return;
+        }
+        List<JobPostFacetCountRepository.Delta> deltas = Stream.concat(
+                        before.stream().filter(key -> !after.contains(key))
+                                .map(key -> new JobPostFacetCountRepository.Delta(key.facet(), key.value(), -1)),
+                        after.stream().filter(key -> !before.contains(key))
+                                .map(key -> new JobPostFacetCountRepository.Delta(key.facet(), key.value(), 1)))
+                .sorted(LOCK_ORDER)
+                .toList();
+
+        facetCountRepository.applyDeltas(deltas, randomStripe());
+    }
+
+    @Override
+    public SearchFacetsDto getFacets() {
+        Map<String, Map<String, Long>> counts = facetCountRepository.findAll();
+        return SearchFacetsDto.builder()
+                .total(counts.getOrDefault("total", Map.of()).getOrDefault("all", 0L))
+                .countryCode(counts.getOrDefault("countryCode", Map.of()))
+                .city(counts.getOrDefault("city", Map.of()))
+                .employmentType(counts.getOrDefault("employmentType", Map.of()))
+                .salaryType(counts.getOrDefault("salaryType", Map.of()))
+                .salaryBand(counts.getOrDefault("salaryBand", Map.of()))
+                .fresher(counts.getOrDefault("fresher", Map.of()))
+                .build();
+    }
+
+    @Override
+    public int reconcile() {
+        Integer rows = transactionTemplate.execute(status -> {
+            if (!facetCountRepository.tryAdvisoryXactLock(RECONCILE_LOCK_KEY)) {
+                return -1;
+            }
+            return facetCountRepository.rebuild();
+        });
+        return rows != null ? rows : -1;
+    }
+
+    @Scheduled(cron = "${app.facets.reconcile-cron:0 30 3 * * *}")
+    public void reconcileNightly() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            int rows = reconcile();
+            if (rows < 0) {
+                log.info("Facet reconciliation skipped, running on another instance");
+            } else {
+                log.info("Facet counters reconciled: {} rows in {} ms", rows, System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.error("Facet reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Populate the counters on first start; afterwards incremental updates and the nightly run keep them current
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        if (enabled && facetCountRepository.findAll().isEmpty()) {
+            log.info("Facet counters are empty, running initial reconciliation");
+            reconcileNightly();
+        }
+    }
+
+    @Override
+    public void recordExpired(Collection<UUID> jobPostIds) {
+        if (enabled) {
+            facetCountRepository.subtractPosts(jobPostIds, randomStripe());
+        }
+    }
+
+    // Concurrent writers mostly land on different counter rows; all deltas of one call share a stripe (lock order)
+    private int randomStripe() {
+        return ThreadLocalRandom.current().nextInt(stripes);
+    }
+
+    // Same definition as the reconciliation query: expiry counts once the sweeper has flagged the post
+    private boolean isActive(JobPost jobPost) {
+        return jobPost.isPublished() && !jobPost.isAPrivate() && !jobPost.isExpired();
+    }
+
+    /**
+     * Same bands as JobPostFacetCountRepository#SALARY_BAND_SQL, based on the upper end of the salary
+     */
+    private String salaryBand(JobPost jobPost) {
+        if (jobPost.getSalaryType() == SalaryType.NEGOTIABLE) {
+            return "NEGOTIABLE";
+        }
+        BigDecimal amount = jobPost.getSalaryMax() != null ? jobPost.getSalaryMax() : jobPost.getSalaryMin();
+        if (amount == null) {
+            return "UNSPECIFIED";
+        }
+        if (amount.compareTo(BAND_1000) < 0) {
+            return "0-1000";
+        }
+        if (amount.compareTo(BAND_2000) < 0) {
+            return "1000-2000";
+        }
+        if (amount.compareTo(BAND_5000) < 0) {
+            return "2000-5000";
+        }
+        return "5000+";
+    }
+}
@@ -0,0 +1,165 @@
+package com.devision.job_manager_jobpost.service.internal.impl;
+
+import com.devision.job_manager_jobpost.dto.JobPostSnapshot;
+import com.devision.job_manager_jobpost.repository.JobPostRepository;
+import com.devision.job_manager_jobpost.service.internal.JobPostSnapshotCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed {@link JobPostSnapshotCache}.
+ *
+ * Entries live for the configured TTL, but never past the expiry time of the job post itself, so a post that
+ * has just expired is re-read instead of being served from a long-lived entry. Missing job posts are cached
+ * with a short TTL to absorb repeated lookups of unknown IDs.
+ * Hit ratio, evictions and load times are exported as cache.* metrics with cache=jobPostSnapshot.
+ */
+@Service
+@Slf4j
+public class JobPostSnapshotCacheImpl implements JobPostSnapshotCache {
+
+    private static final String CACHE_NAME = "jobPostSnapshot";
+
+    private final LoadingCache<UUID, Optional<JobPostSnapshot>> cache;
+    private final boolean enabled;
+    private final JobPostRepository jobPostRepository;
+
+    public JobPostSnapshotCacheImpl(
+            JobPostRepository jobPostRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.job-post-cache.enabled:true}") boolean enabled,
+            @Value("${app.job-post-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.job-post-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.job-post-cache.negative-ttl-seconds:30}") long negativeTtlSeconds
+    ) {
+        this.jobPostRepository = jobPostRepository;
+        this.enabled = enabled;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new SnapshotExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Optional<JobPostSnapshot> load(UUID jobPostId) {
+                        return JobPostSnapshotCacheImpl.this.load(jobPostId);
+                    }
+
+                    @Override
+                    public Map<UUID, Optional<JobPostSnapshot>> loadAll(Set<? extends UUID> jobPostIds) {
+                        return JobPostSnapshotCacheImpl.this.loadAll(jobPostIds);
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<JobPostSnapshot> get(UUID jobPostId) {
+        if (!enabled) {
+            return load(jobPostId);
+        }
+        return cache.get(jobPostId);
+    }
+
+    @Override
+    public Map<UUID, JobPostSnapshot> getAll(Collection<UUID> jobPostIds) {
+        Map<UUID, Optional<JobPostSnapshot>> entries = enabled
+                ? cache.getAll(jobPostIds)
+                : loadAll(new LinkedHashSet<>(jobPostIds));
+
+        Map<UUID, JobPostSnapshot> result = new LinkedHashMap<>();
+        entries.forEach((id, snapshot) -> snapshot.ifPresent(value -> result.put(id, value)));
+        return result;
+    }
+
+    @Override
+    public void evict(UUID jobPostId) {
+        if (jobPostId == null) {
+            return;
+        }
+        cache.invalidate(jobPostId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(jobPostId);
+                }
+            });
+        }
+    }
+
+    private Optional<JobPostSnapshot> load(UUID jobPostId) {
+        log.debug("Loading job post snapshot for ID: {}", jobPostId);
+        return jobPostRepository.findById(jobPostId).map(JobPostSnapshot::of);
+    }
+
+    /**
+     * One IN query for all misses; IDs that do not exist are returned as empty so they are negatively cached too
+     */
+    private Map<UUID, Optional<JobPostSnapshot>> loadAll(Set<? extends UUID> jobPostIds) {
+        log.debug("Loading {} job post snapshots", jobPostIds.size());
+        Map<UUID, Optional<JobPostSnapshot>> loaded = new HashMap<>();
+        jobPostIds.forEach(id -> loaded.put(id, Optional.empty()));
+        jobPostRepository.findAllById(List.copyOf(jobPostIds))
+                .forEach(jobPost -> loaded.put(jobPost.getJobPostId(), Optional.of(JobPostSnapshot.of(jobPost))));
+        return loaded;
+    }
+
+    /**
+     * TTL per entry: the configured TTL, capped at the time left until the job post expires
+     */
+    private record SnapshotExpiry(Duration ttl, Duration negativeTtl) implements Expiry<UUID, Optional<JobPostSnapshot>> {
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<JobPostSnapshot> value, long currentTime) {
+            if (value.isEmpty()) {
+                return negativeTtl.toNanos();
+            }
+
+            LocalDateTime expiryAt = value.get().expiryAt();
+            if (expiryAt != null) {
+                Duration untilExpiry = Duration.between(LocalDateTime.now(), expiryAt);
+                if (untilExpiry.compareTo(ttl) < 0) {
+                    // Already expired posts no longer change state; keep them for the full TTL
+                    return untilExpiry.isNegative() ? ttl.toNanos() : Math.max(untilExpiry.toNanos(), 1);
+                }
+            }
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<JobPostSnapshot> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Optional<JobPostSnapshot> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.devision.job_manager_jobpost.service.internal.impl;
+
+import com.devision.job_manager_jobpost.model.OutboxEvent;
+import com.devision.job_manager_jobpost.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains job_post_outbox to Kafka.
+ *
+ * A run works in three steps so that no connection or transaction is held while talking to the broker:
+ * <ol>
+ *     <li>claim: a short transaction takes an advisory lock, checks that no other run holds a lease and marks the
+ *     oldest events (by id) as claimed until now + lease-ms</li>
+ *     <li>send: outside any transaction, all events are handed to the producer and the acknowledgements are awaited
+ *     against one overall deadline (send-timeout-ms)</li>
+ *     <li>finish: a second short transaction deletes the acknowledged events, records failures and releases the
+ *     claim on the rest</li>
+ * </ol>
+ * Only one run can hold a lease at a time, so events never overtake each other across instances; if an instance
+ * dies mid-run its lease expires and the events are sent again (delivery is at-least-once).
+ *
+ * Ids are taken from the sequence at insert, not at commit, so id order is not global commit order: a transaction
+ * can commit after one holding a higher id, and its event is simply picked up by a later run (events are deleted by
+ * id, never by range). Events of one job post still come out in order, because every transaction that writes them
+ * writes the job post row first and therefore commits after the previous one.
+ *
+ * A failed event stays in the outbox together with every later event of the same message key, so those cannot
+ * overtake it; other keys carry on. A failure counts against the event (attempts, last_error) only when it is the
+ * event's own fault, i.e. its payload cannot be restored or the broker accepted something else from the same batch;
+ * an outage therefore costs no attempts. After max-attempts the event moves to job_post_outbox_dead_letter so it no
+ * longer holds back its key.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    private static final long RELAY_LOCK_KEY = 0x4A4F42504F5354L;
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long leaseMs;
+    private final int maxAttempts;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+    private final AtomicLong pending = new AtomicLong();
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.enabled:true}") boolean enabled,
+            @Value("${app.outbox.batch-size:200}") int batchSize,
+            @Value("${app.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${app.outbox.lease-ms:60000}") long leaseMs,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+
+        this.sentCounter = Counter.builder("jobpost.outbox.sent")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("jobpost.outbox.failed")
+                .description("Outbox event sends that failed and will be retried")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("jobpost.outbox.dead_lettered")
+                .description("Outbox events moved to the dead letter table after max-attempts failed sends")
+                .register(meterRegistry);
+        Gauge.builder("jobpost.outbox.pending", pending, AtomicLong::get)
+                .description("Events waiting in the outbox after the last relay run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Keep draining while full batches go out, so a burst does not wait one interval per batch
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return number of events acknowledged and removed, 0 if another run holds the lease
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        SendResult result = sendAll(batch);
+        transactionTemplate.executeWithoutResult(status -> finish(batch, result));
+        log.debug("Relayed {}/{} outbox events", result.acknowledged().size(), batch.size());
+        return result.acknowledged().size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        if (!outboxEventRepository.tryAdvisoryXactLock(RELAY_LOCK_KEY) || outboxEventRepository.existsActiveClaim()) {
+            return List.of();
+        }
+        List<OutboxEvent> batch = outboxEventRepository.findNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            pending.set(0);
+            return batch;
+        }
+        outboxEventRepository.claim(batch.stream().map(OutboxEvent::getId).toList(), leaseMs);
+        return batch;
+    }
+
+    private record SendResult(List<Long> acknowledged, List<OutboxEvent> failed, List<Exception> failures,
+                              boolean anySent) {
+    }
+
+    // Runs outside any transaction; every wait is bounded by one deadline for the whole batch
+    private SendResult sendAll(List<OutboxEvent> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            // send() itself may block up to max.block.ms (e.g. no metadata); leave the rest for the next run
+            sends.add(System.nanoTime() < deadline
+                    ? send(event)
+                    : CompletableFuture.failedFuture(new TimeoutException("Relay deadline passed before sending")));
+        }
+
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        Set<String> blockedKeys = new HashSet<>();
+        boolean anySent = false;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                long remainingNanos = Math.max(0, deadline - System.nanoTime());
+                sends.get(i).get(remainingNanos, TimeUnit.NANOSECONDS);
+                anySent = true;
+                // Sent, but an earlier event of the same key failed: keep it so it goes out again after that one
+                if (!blockedKeys.contains(Objects.toString(event.getMessageKey()))) {
+                    acknowledged.add(event.getId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                failedCounter.increment();
+                blockedKeys.add(Objects.toString(event.getMessageKey()));
+                failed.add(event);
+                failures.add(e);
+                log.warn("Failed to relay outbox event {} ({} to {}): {}. Will retry",
+                        event.getId(), event.getEventType(), event.getTopic(), e.getMessage());
+            }
+        }
+        return new SendResult(acknowledged, failed, failures, anySent);
+    }
+
+    private void finish(List<OutboxEvent> batch, SendResult result) {
+        if (!result.acknowledged().isEmpty()) {
+            outboxEventRepository.deleteByIdIn(result.acknowledged());
+            sentCounter.increment(result.acknowledged().size());
+        }
+        for (int i = 0; i < result.failed().size(); i++) {
+            Exception failure = result.failures().get(i);
+            // Timed out, or nothing went through (the broker is down): not the event's fault
+            if (isTimeout(failure) || (!result.anySent() && !isPayloadFailure(failure))) {
+                continue;
+            }
+            recordFailure(result.failed().get(i), failure);
+        }
+
+        // Whatever is still there (failed, held back or not awaited) is free for the next run
+        outboxEventRepository.releaseClaims(batch.stream().map(OutboxEvent::getId).toList());
+        pending.set(outboxEventRepository.countPending());
+    }
+
+    private void recordFailure(OutboxEvent event, Exception failure) {
+        String error = String.valueOf(rootCause(failure).getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        outboxEventRepository.recordFailure(event.getId(), error);
+
+        if (event.getAttempts() + 1 >= maxAttempts) {
+            outboxEventRepository.copyToDeadLetter(event.getId());
+            outboxEventRepository.deleteByIdIn(List.of(event.getId()));
+            deadLetteredCounter.increment();
+            log.error("Outbox event {} ({} to {}) failed {} times, moved to job_post_outbox_dead_letter: {}",
+                    event.getId(), event.getEventType(), event.getTopic(), event.getAttempts() + 1, error);
+        }
+    }
+
+    private static boolean isPayloadFailure(Exception failure) {
+        Throwable cause = rootCause(failure);
+        return cause instanceof ClassNotFoundException || cause instanceof java.io.IOException;
+    }
+
+    private static boolean isTimeout(Exception failure) {
+        Throwable cause = rootCause(failure);
+        return cause instanceof TimeoutException || cause instanceof org.apache.kafka.common.errors.TimeoutException;
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            // Restore the original event object so the JSON serializer writes the same payload and type header as before
+            Object payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+            return kafkaTemplate.send(event.getTopic(), event.getMessageKey(), payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
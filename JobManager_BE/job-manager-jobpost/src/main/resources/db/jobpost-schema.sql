@@ -0,0 +1,153 @@
+-- Schema additions applied at startup (spring.sql.init), before Hibernate validates the mapping.
+-- Every statement must be idempotent: the script runs on every boot of every instance, and any failure stops the boot.
+--
+-- ALTER TABLE takes an ACCESS EXCLUSIVE lock even when IF NOT EXISTS makes it a no-op, so changes to the hot job_post
+-- table are wrapped in DO blocks that check the catalog first. The DO bodies are single-quoted (not $$) because the
+-- script splitter of spring.sql.init only understands single and double quotes.
+
+-- ----------------------------------------------------------------------------
+-- Job search (two-phase keyset search, see JobPostSearchRepository)
+-- ----------------------------------------------------------------------------
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Set by JobPostExpirySweeper once expiry_at has passed, so searches filter on a flag instead of the clock
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = ''job_post'' AND column_name = ''is_expired'') THEN
+        ALTER TABLE job_post ADD COLUMN is_expired boolean NOT NULL DEFAULT false;
+    END IF;
+END';
+
+-- Seek order of the search (posted_at DESC, job_post_id DESC) over active posts only
+DROP INDEX IF EXISTS idx_job_post_search_recent;
+DROP INDEX IF EXISTS idx_job_post_search_country;
+DROP INDEX IF EXISTS idx_job_post_search_city;
+
+CREATE INDEX IF NOT EXISTS idx_job_post_active_recent
+    ON job_post (posted_at DESC, job_post_id DESC)
+    WHERE is_published AND NOT is_private AND NOT is_expired;
+
+CREATE INDEX IF NOT EXISTS idx_job_post_active_country
+    ON job_post (lower(country_code), posted_at DESC, job_post_id DESC)
+    WHERE is_published AND NOT is_private AND NOT is_expired;
+
+CREATE INDEX IF NOT EXISTS idx_job_post_active_city
+    ON job_post (lower(location_city), posted_at DESC, job_post_id DESC)
+    WHERE is_published AND NOT is_private AND NOT is_expired;
+
+-- Expiry sweep: published posts not yet marked expired, in (expiry_at, job_post_id) keyset order
+CREATE INDEX IF NOT EXISTS idx_job_post_published_expiry
+    ON job_post (is_published, expiry_at, job_post_id)
+    WHERE NOT is_expired AND expiry_at IS NOT NULL;
+
+-- Substring title match (lower(title) LIKE '%term%')
+CREATE INDEX IF NOT EXISTS idx_job_post_title_trgm
+    ON job_post USING gin (lower(title) gin_trgm_ops);
+
+-- Batched collection fetch and employment type filter by job post
+CREATE INDEX IF NOT EXISTS idx_job_post_skill_job_post
+    ON job_post_skill (job_post_id);
+
+CREATE INDEX IF NOT EXISTS idx_job_post_employment_type_job_post
+    ON job_post_employment_type (job_post_id, type);
+
+-- ----------------------------------------------------------------------------
+-- Full-text search (title weighted above description), maintained by Postgres itself
+-- ----------------------------------------------------------------------------
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = ''job_post'' AND column_name = ''search_vector'') THEN
+        ALTER TABLE job_post ADD COLUMN search_vector tsvector
+            GENERATED ALWAYS AS (
+                setweight(to_tsvector(''english'', coalesce(title, '''')), ''A'') ||
+                setweight(to_tsvector(''english'', coalesce(description, '''')), ''B'')
+            ) STORED;
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS idx_job_post_search_vector
+    ON job_post USING gin (search_vector);
+
+-- ----------------------------------------------------------------------------
+-- Transactional outbox for Kafka events, drained in id order by OutboxRelay
+-- ----------------------------------------------------------------------------
+-- attempts / last_error: failed sends, the event moves to the dead letter table after app.outbox.max-attempts
+-- claimed_until: lease of the relay run currently sending the event
+CREATE TABLE IF NOT EXISTS job_post_outbox (
+    id            bigserial    PRIMARY KEY,
+    topic         varchar(128) NOT NULL,
+    message_key   varchar(64),
+    event_type    varchar(255) NOT NULL,
+    payload       text         NOT NULL,
+    created_at    timestamp    NOT NULL DEFAULT now(),
+    attempts      int          NOT NULL DEFAULT 0,
+    last_error    text,
+    claimed_until timestamp
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_post_outbox_claimed
+    ON job_post_outbox (claimed_until)
+    WHERE claimed_until IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS job_post_outbox_dead_letter (
+    id               bigint       PRIMARY KEY,
+    topic            varchar(128) NOT NULL,
+    message_key      varchar(64),
+    event_type       varchar(255) NOT NULL,
+    payload          text         NOT NULL,
+    created_at       timestamp    NOT NULL,
+    attempts         int          NOT NULL,
+    last_error       text,
+    dead_lettered_at timestamp    NOT NULL DEFAULT now()
+);
+
+-- ----------------------------------------------------------------------------
+-- Facet counters over active job posts (published, public, not marked expired), see JobPostFacetService
+-- ----------------------------------------------------------------------------
+-- Each counter is split over stripes (app.facets.stripes) summed on read, so concurrent job post writes update
+-- different rows instead of queueing on ("total", "all")
+CREATE TABLE IF NOT EXISTS job_post_facet_count (
+    facet  varchar(32)  NOT NULL,
+    value  varchar(128) NOT NULL,
+    stripe smallint     NOT NULL DEFAULT 0,
+    count  bigint       NOT NULL DEFAULT 0,
+    PRIMARY KEY (facet, value, stripe)
+);
+
+-- ----------------------------------------------------------------------------
+-- Skill IDs as an array on the job post (app.skills.storage-mode), GIN indexed for @> / && containment
+-- ----------------------------------------------------------------------------
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = ''job_post'' AND column_name = ''skill_ids'') THEN
+        ALTER TABLE job_post ADD COLUMN skill_ids uuid[];
+    END IF;
+END';
+
+-- NULL means "not migrated yet"; backfill those from job_post_skill (cheap no-op once every row is migrated)
+CREATE INDEX IF NOT EXISTS idx_job_post_skill_ids_unmigrated
+    ON job_post (job_post_id)
+    WHERE skill_ids IS NULL;
+
+UPDATE job_post j
+SET skill_ids = COALESCE(
+        (SELECT array_agg(s.skill_id ORDER BY s.created_at, s.id) FROM job_post_skill s WHERE s.job_post_id = j.job_post_id),
+        '{}')
+WHERE j.skill_ids IS NULL;
+
+-- Once backfilled the column is never NULL again (skipped on later boots)
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''job_post'' AND column_name = ''skill_ids''
+                 AND is_nullable = ''YES'') THEN
+        ALTER TABLE job_post ALTER COLUMN skill_ids SET DEFAULT ''{}'';
+        ALTER TABLE job_post ALTER COLUMN skill_ids SET NOT NULL;
+    END IF;
+END';
+
+CREATE INDEX IF NOT EXISTS idx_job_post_skill_ids
+    ON job_post USING gin (skill_ids);
@@ -0,0 +1,196 @@
+package com.devision.job_manager_jobpost.service.external.impl;
+
+import com.devision.job_manager_jobpost.dto.external.ApplicationResponseDto;
+import com.devision.job_manager_jobpost.dto.external.ApplicationServiceResponseDto;
+import com.devision.job_manager_jobpost.dto.external.PageableResponseDto;
+import com.devision.job_manager_jobpost.repository.ApplicationArchiveRepository;
+import com.devision.job_manager_jobpost.service.internal.ApplicationCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Filtered (archived / pending) application paging against a stubbed Application Service:
+ * pages must match a plain in-memory filter of the upstream list, resume from the cursor checkpoint
+ * of the previous page, and restart from the first upstream row once a checkpoint no longer lines up.
+ */
+class ApplicationServiceImplPagingTest {
+
+	private static final UUID JOB_POST_ID = UUID.randomUUID();
+	private static final UUID COMPANY_ID = UUID.randomUUID();
+	private static final int UPSTREAM_PAGE_SIZE = 10;
+	private static final int APPLICATIONS = 25;
+
+	private StubApplicationService upstream;
+	private List<UUID> archivedIds;
+	private ApplicationServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		upstream = new StubApplicationService();
+		archivedIds = new ArrayList<>();
+		for (int i = 0; i < APPLICATIONS; i++) {
+			ApplicationResponseDto application = application();
+			upstream.applications.add(application);
+			// Every fifth application is archived: 5 archived, 20 pending
+			if (i % 5 == 0) {
+				archivedIds.add(application.getId());
+			}
+		}
+
+		ApplicationArchiveRepository archiveRepository = mock(ApplicationArchiveRepository.class);
+		when(archiveRepository.findArchivedApplicationIdsByJobPostAndCompany(JOB_POST_ID, COMPANY_ID))
+				.thenAnswer(invocation -> List.copyOf(archivedIds));
+
+		service = new ApplicationServiceImpl(
+				upstream,
+				"http://application-service",
+				archiveRepository,
+				new ApplicationPageCursorCache(120, 100),
+				mock(ApplicationCounterService.class),
+				UPSTREAM_PAGE_SIZE,
+				false);
+	}
+
+	@Test
+	void pendingPagesSplitAtPageBoundariesAcrossUpstreamPages() {
+		List<ApplicationResponseDto> pending = filter(false);
+
+		for (int page = 0; page < 4; page++) {
+			PageableResponseDto<ApplicationResponseDto> result = fetch(false, page, 6);
+
+			assertThat(result.getContent()).isEqualTo(pending.subList(page * 6, Math.min(page * 6 + 6, pending.size())));
+			assertThat(result.getTotalElements()).isEqualTo(pending.size());
+			assertThat(result.getTotalPages()).isEqualTo(4);
+			assertThat(result.isFirst()).isEqualTo(page == 0);
+			assertThat(result.isLast()).isEqualTo(page == 3);
+		}
+	}
+
+	@Test
+	void pageEndingOnTheLastMatchIsTheLastPage() {
+		// 20 pending applications, 2 pages of exactly 10
+		PageableResponseDto<ApplicationResponseDto> result = fetch(false, 1, 10);
+
+		assertThat(result.getContent()).isEqualTo(filter(false).subList(10, 20));
+		assertThat(result.isLast()).isTrue();
+		assertThat(result.getTotalElements()).isEqualTo(20);
+	}
+
+	@Test
+	void archivedScanStopsOnceEveryArchivedIdWasSeen() {
+		PageableResponseDto<ApplicationResponseDto> result = fetch(true, 0, 10);
+
+		assertThat(result.getContent()).isEqualTo(filter(true));
+		assertThat(result.getTotalElements()).isEqualTo(5);
+		assertThat(result.isLast()).isTrue();
+		// The last archived application is upstream row 20, so upstream page 2 is the last one read
+		assertThat(upstream.requestedPages).containsExactly(0, 1, 2);
+	}
+
+	@Test
+	void nextPageResumesFromTheCheckpointOfThePreviousPage() {
+		fetch(false, 0, 12);
+		upstream.requestedPages.clear();
+
+		PageableResponseDto<ApplicationResponseDto> result = fetch(false, 1, 12);
+
+		assertThat(result.getContent()).isEqualTo(filter(false).subList(12, 20));
+		assertThat(result.isLast()).isTrue();
+		// Page 0 ended at upstream row 16, so upstream page 0 is skipped
+		assertThat(upstream.requestedPages).containsExactly(1, 2);
+	}
+
+	@Test
+	void checkpointIsDiscardedWhenTheUpstreamTotalChanged() {
+		fetch(false, 0, 12);
+		upstream.requestedPages.clear();
+		upstream.applications.add(0, application());
+
+		PageableResponseDto<ApplicationResponseDto> result = fetch(false, 1, 12);
+
+		// The new application shifts every row: page 1 restarts from the first upstream row
+		assertThat(result.getContent()).isEqualTo(filter(false).subList(12, 21));
+		assertThat(result.getTotalElements()).isEqualTo(21);
+		assertThat(upstream.requestedPages).containsExactly(1, 0, 1, 2);
+	}
+
+	@Test
+	void checkpointIsDiscardedWhenTheArchivedCountChanged() {
+		fetch(false, 0, 12);
+		upstream.requestedPages.clear();
+		// Archived on another instance: the local cursor cache was not told
+		archivedIds.add(upstream.applications.get(1).getId());
+
+		PageableResponseDto<ApplicationResponseDto> result = fetch(false, 1, 12);
+
+		assertThat(result.getContent()).isEqualTo(filter(false).subList(12, 19));
+		assertThat(upstream.requestedPages).containsExactly(1, 0, 1, 2);
+	}
+
+	private PageableResponseDto<ApplicationResponseDto> fetch(boolean archived, int page, int size) {
+		return service.getApplicationsByJobPost(JOB_POST_ID, COMPANY_ID, page, size, archived);
+	}
+
+	private List<ApplicationResponseDto> filter(boolean archived) {
+		return upstream.applications.stream()
+				.filter(application -> archivedIds.contains(application.getId()) == archived)
+				.toList();
+	}
+
+	private static ApplicationResponseDto application() {
+		ApplicationResponseDto application = new ApplicationResponseDto();
+		application.setId(UUID.randomUUID());
+		application.setJobPostId(JOB_POST_ID);
+		application.setStatus("PENDING");
+		return application;
+	}
+
+	/**
+	 * Serves the application list page by page, like the Application Service, and records the requested pages
+	 */
+	private static class StubApplicationService extends RestTemplate {
+
+		private static final Pattern PAGE_QUERY = Pattern.compile("page=(\\d+)&size=(\\d+)");
+
+		private final List<ApplicationResponseDto> applications = new ArrayList<>();
+		private final List<Integer> requestedPages = new ArrayList<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity,
+											  ParameterizedTypeReference<T> responseType, Object... uriVariables) {
+			Matcher matcher = PAGE_QUERY.matcher(url);
+			if (!matcher.find()) {
+				throw new IllegalArgumentException("Unexpected upstream call: " + url);
+			}
+			int page = Integer.parseInt(matcher.group(1));
+			int size = Integer.parseInt(matcher.group(2));
+			requestedPages.add(page);
+
+			int from = Math.min(page * size, applications.size());
+			int to = Math.min(from + size, applications.size());
+			int totalPages = (applications.size() + size - 1) / size;
+
+			PageableResponseDto<ApplicationResponseDto> data = new PageableResponseDto<>(
+					new ArrayList<>(applications.subList(from, to)), page, size, applications.size(),
+					totalPages, page == 0, page >= totalPages - 1);
+			return (ResponseEntity<T>) ResponseEntity.ok(
+					new ApplicationServiceResponseDto<>(true, null, data, null, null));
+		}
+	}
+}
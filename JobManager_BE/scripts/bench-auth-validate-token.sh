@@ -0,0 +1,79 @@
+#!/bin/bash
+# ========================================
+# Auth Service Token Validation Throughput Benchmark
+# Measures validations/sec and p50/p99 latency of /api/auth/validate-token,
+# which is dominated by RSA decryption of the JWE access token.
+#
+# Usage:
+#   TOKEN=<access token> ./bench-auth-validate-token.sh [requests] [concurrency]
+#
+# Before / after: run once against the Auth Service built from the commit
+# before the decrypt-once token pipeline (BASELINE_REF, checked out in a
+# separate worktree) and once against the current tree, with the same
+# token, request count and concurrency:
+#
+#   git worktree add /tmp/auth-baseline "$BASELINE_REF"
+#   (cd /tmp/auth-baseline/JobManager_BE/job-manager-auth && mvn -q spring-boot:run)
+#
+# Environment:
+#   TOKEN         Access token obtained from /api/auth/login (required)
+#   AUTH_URL      Auth Service base URL (default: http://localhost:8081)
+#   BASELINE_REF  Commit to compare against, only printed for reference
+#                 (default: 6dd74c3^)
+# ========================================
+
+set -e
+
+# Colors for output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+REQUESTS="${1:-5000}"
+CONCURRENCY="${2:-16}"
+AUTH_URL="${AUTH_URL:-http://localhost:8081}"
+BASELINE_REF="${BASELINE_REF:-6dd74c3^}"
+ENDPOINT="/api/auth/validate-token"
+
+if [ -z "$TOKEN" ]; then
+    echo -e "${RED}❌ TOKEN is not set${NC}"
+    exit 1
+fi
+
+STATUS=$(curl -s -o /dev/null -w "%{http_code}" -X POST -H "Authorization: Bearer $TOKEN" "$AUTH_URL$ENDPOINT")
+if [ "$STATUS" != "200" ]; then
+    echo -e "${RED}❌ $ENDPOINT returned $STATUS, the token must be a valid, unrevoked access token${NC}"
+    exit 1
+fi
+
+RESULTS_FILE="$(mktemp)"
+trap 'rm -f "$RESULTS_FILE"' EXIT
+
+# Enough calls for the JIT to compile the decryption path
+echo -e "${YELLOW}🔥 Warming up...${NC}"
+seq 1 500 | xargs -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -X POST -H "Authorization: Bearer $TOKEN" "$AUTH_URL$ENDPOINT" || true
+
+echo -e "${YELLOW}⏱  Sending $REQUESTS validations with concurrency $CONCURRENCY (compare with $BASELINE_REF)${NC}"
+START_NS=$(date +%s%N)
+seq 1 "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -w "%{http_code} %{time_total}\n" \
+    -X POST -H "Authorization: Bearer $TOKEN" "$AUTH_URL$ENDPOINT" >> "$RESULTS_FILE"
+END_NS=$(date +%s%N)
+
+FAILED=$(awk '$1 != 200 { n++ } END { print n + 0 }' "$RESULTS_FILE")
+ELAPSED_MS=$(( (END_NS - START_NS) / 1000000 ))
+
+# time_total is in seconds; report milliseconds
+sort -k2 -n "$RESULTS_FILE" | awk -v failed="$FAILED" -v elapsed="$ELAPSED_MS" '
+    { t[NR] = $2 * 1000 }
+    END {
+        p50 = t[int(NR * 0.50) > 0 ? int(NR * 0.50) : 1]
+        p99 = t[int(NR * 0.99) > 0 ? int(NR * 0.99) : 1]
+        printf "validations: %d  failed: %d  elapsed: %.2f s\n", NR, failed, elapsed / 1000
+        printf "throughput: %.0f validations/sec\n", (NR - failed) * 1000 / elapsed
+        printf "p50: %.2f ms  p99: %.2f ms  max: %.2f ms\n", p50, p99, t[NR]
+    }'
+
+echo -e "${GREEN}✅ Done${NC}"
@@ -0,0 +1,63 @@
+#!/bin/bash
+# ========================================
+# Gateway Token Validation Latency Benchmark
+# Compares p50/p99 latency of an authenticated route with the gateway
+# in remote (Auth Service) and local (in-gateway JWE) validation mode.
+#
+# Usage:
+#   TOKEN=<access token> ./bench-gateway-auth.sh [requests] [concurrency]
+#
+# Start the gateway once with GATEWAY_AUTH_MODE=remote and once with
+# GATEWAY_AUTH_MODE=local (and GATEWAY_AUTH_CACHE_ENABLED=false to measure
+# the raw validation path), running the script against each.
+#
+# Environment:
+#   TOKEN        Access token obtained from /api/auth/login (required)
+#   GATEWAY_URL  Gateway base URL (default: http://localhost:8080)
+#   TARGET_PATH  Authenticated route to hit (default: /api/companies/health)
+# ========================================
+
+set -e
+
+# Colors for output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+REQUESTS="${1:-2000}"
+CONCURRENCY="${2:-16}"
+GATEWAY_URL="${GATEWAY_URL:-http://localhost:8080}"
+TARGET_PATH="${TARGET_PATH:-/api/companies/health}"
+
+if [ -z "$TOKEN" ]; then
+    echo -e "${RED}❌ TOKEN is not set${NC}"
+    exit 1
+fi
+
+RESULTS_FILE="$(mktemp)"
+trap 'rm -f "$RESULTS_FILE"' EXIT
+
+echo -e "${YELLOW}🔥 Warming up...${NC}"
+for _ in $(seq 1 50); do
+    curl -s -o /dev/null -H "Authorization: Bearer $TOKEN" "$GATEWAY_URL$TARGET_PATH" || true
+done
+
+echo -e "${YELLOW}⏱  Sending $REQUESTS requests with concurrency $CONCURRENCY to $TARGET_PATH${NC}"
+seq 1 "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -w "%{http_code} %{time_total}\n" \
+    -H "Authorization: Bearer $TOKEN" "$GATEWAY_URL$TARGET_PATH" >> "$RESULTS_FILE"
+
+FAILED=$(awk '$1 >= 400 { n++ } END { print n + 0 }' "$RESULTS_FILE")
+
+# time_total is in seconds; report milliseconds
+sort -k2 -n "$RESULTS_FILE" | awk -v failed="$FAILED" '
+    { t[NR] = $2 * 1000 }
+    END {
+        p50 = t[int(NR * 0.50) > 0 ? int(NR * 0.50) : 1]
+        p99 = t[int(NR * 0.99) > 0 ? int(NR * 0.99) : 1]
+        printf "requests: %d  failed: %d\n", NR, failed
+        printf "p50: %.2f ms  p99: %.2f ms  max: %.2f ms\n", p50, p99, t[NR]
+    }'
+
+echo -e "${GREEN}✅ Done${NC}"